@@ -6,7 +6,6 @@ import sammish93.tbage.exceptions.InventoryFullException;
 import sammish93.tbage.interfaces.Useable;
 import sammish93.tbage.models.*;
 import sammish93.tbage.tools.EncounterController;
-import sammish93.tbage.tools.EncounterTraversalController;
 
 public class Main {
     public static void main(String[] args) throws InventoryFullException, InvalidValueException {
@@ -36,8 +35,8 @@ public class Main {
         // Note that this lambda can be as simple or as complex as the developer requires. It doesn't even have to
         // be present at all.
         Useable onUseJavelin = (gameEngine) -> {
-            // Retrieves the current encounter from the static .getCurrentEncounter() method.
-            var encounterthing = EncounterTraversalController.getCurrentEncounter();
+            // Retrieves the current encounter from the game session's context.
+            var encounterthing = gameEngine.getContext().getCurrentEncounter();
             // If conditional that handles behaviour if there are no enemies present.
             if (encounterthing.getClass() == NonCombatEncounter.class ||
                     ((CombatEncounter) encounterthing).getEnemies().isEmpty()) {
@@ -88,7 +87,7 @@ public class Main {
             // non combat encounters will have to have behaviour present that directly calls the .setDefeated() method.
             // This can be implemented in a Prop object, or an allies .setOnInteractionBehaviour(), or even an
             // encounter's .setOnInitialBehaviour() (both shown as examples below).
-            var encounterthing = EncounterTraversalController.getCurrentEncounter();
+            var encounterthing = gameEngine.getContext().getCurrentEncounter();
             encounterthing.setDefeated(true);
         };
         prop2.setOnUseBehaviour(onUseBarrel);
@@ -191,7 +190,7 @@ public class Main {
         var hintItem = Item.create("Hint Scroll");
         hintItem.setNumberOfUses(3);
         Useable onUseHint = (gameEngine) -> {
-            var encounterthing = EncounterTraversalController.getCurrentEncounter();
+            var encounterthing = gameEngine.getContext().getCurrentEncounter();
             if (!encounterthing.getHint().isEmpty()) {
                 gameEngine.printMessage(encounterthing.getHint());
             } else {
@@ -0,0 +1,185 @@
+package sammish93.tbage;
+
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.interfaces.Prompt;
+import sammish93.tbage.models.Encounter;
+import sammish93.tbage.tools.CommandRegistry;
+import sammish93.tbage.tools.EncounterTraversalController;
+import sammish93.tbage.tools.StringParser;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+
+/**
+ * A class intended to hold all runtime state that belongs to a single game session, such as the parser vocabulary
+ * and the encounter that the player currently is in. Each GameEngine instance has its own GameContext, which means
+ * that several games can run in the same process without interfering with each other.
+ *
+ * The context is reachable from everywhere a GameEngine is passed, including the generic Useable interface.
+ * Example:
+ * Useable onUseSwitch = (gameEngine) -> {
+ *   var encounter = gameEngine.getContext().getCurrentEncounter();
+ *   encounter.setDefeated(true);
+ * };
+ */
+public class GameContext implements Serializable {
+
+    private StringParser stringParser;
+    private final CommandRegistry commandRegistry = CommandRegistry.create();
+    private EncounterTraversalController encounterTraversalController;
+    private String lastInput = "";
+    private ArrayDeque<Prompt> prompts = new ArrayDeque<>();
+    private String encounterOutcome;
+
+
+    private GameContext() {
+        stringParser = StringParser.create();
+    }
+
+    /**
+     *
+     * @return Returns a new instance of GameContext with an empty parser vocabulary.
+     */
+    public static GameContext create() {
+        return new GameContext();
+    }
+
+    /**
+     *
+     * @return Returns the StringParser that holds the commands, verbs, and nouns recognised in this session.
+     */
+    public StringParser getStringParser() {
+        return stringParser;
+    }
+
+    /**
+     *
+     * @param stringParser Sets the StringParser that holds the commands, verbs, and nouns recognised in this session.
+     */
+    public void setStringParser(StringParser stringParser) {
+        this.stringParser = stringParser;
+    }
+
+    /**
+     *
+     * @return Returns the CommandRegistry that holds the handlers of the commands entered in this session.
+     */
+    public CommandRegistry getCommandRegistry() {
+        return commandRegistry;
+    }
+
+    /**
+     *
+     * @return Returns the EncounterTraversalController that handles traversal between encounters in this session.
+     * Returns null if the game has not yet been run.
+     */
+    public EncounterTraversalController getEncounterTraversalController() {
+        return encounterTraversalController;
+    }
+
+    /**
+     * Used by the game interface when the game is run. The StringParser of this session is no longer scoped to an
+     * encounter of any previous EncounterTraversalController.
+     * @param encounterTraversalController The EncounterTraversalController that handles traversal between
+     *                                     encounters in this session.
+     */
+    public void setEncounterTraversalController(EncounterTraversalController encounterTraversalController) {
+        this.encounterTraversalController = encounterTraversalController;
+        stringParser.setCurrentEncounter(null);
+    }
+
+    /**
+     *
+     * @return Returns the Encounter object that the player currently is in, or null if the game has not yet been
+     * run or has finished.
+     */
+    public Encounter getCurrentEncounter() {
+        if (encounterTraversalController == null) {
+            return null;
+        }
+        return encounterTraversalController.getCurrentEncounter();
+    }
+
+    /**
+     *
+     * @return Returns the most recent line of input received by the game loop.
+     */
+    public String getLastInput() {
+        return lastInput;
+    }
+
+    /**
+     *
+     * @param lastInput Sets the most recent line of input received by the game loop.
+     */
+    public void setLastInput(String lastInput) {
+        this.lastInput = lastInput;
+    }
+
+    /**
+     * Places a prompt on top of the prompt stack. The next line of input is handed to this prompt.
+     * @param prompt The prompt that is waiting for input.
+     */
+    public void pushPrompt(Prompt prompt) {
+        prompts.push(prompt);
+    }
+
+    /**
+     * Removes the prompt on top of the prompt stack.
+     * @return Returns the prompt that was removed, or null if the stack is empty.
+     */
+    public Prompt popPrompt() {
+        return prompts.poll();
+    }
+
+    /**
+     *
+     * @return Returns the prompt on top of the prompt stack, or null if no prompt is waiting for input.
+     */
+    public Prompt getPrompt() {
+        return prompts.peek();
+    }
+
+    /**
+     *
+     * @return Returns the number of prompts on the prompt stack.
+     */
+    public int getPromptCount() {
+        return prompts.size();
+    }
+
+    /**
+     * Removes every prompt from the prompt stack.
+     */
+    public void clearPrompts() {
+        prompts.clear();
+    }
+
+    /**
+     *
+     * @return Returns the kind of input that the prompt on top of the prompt stack is waiting for, or NONE if no
+     * prompt is waiting for input.
+     */
+    public InputKind getExpectedInputKind() {
+        var prompt = prompts.peek();
+        return prompt == null ? InputKind.NONE : prompt.getInputKind();
+    }
+
+    /**
+     * Used by an encounter to record how it finished (e.g. 'exit', 'defeated', or a navigational noun).
+     * @param encounterOutcome A string used by the EncounterTraversalController to find the next encounter.
+     */
+    public void setEncounterOutcome(String encounterOutcome) {
+        this.encounterOutcome = encounterOutcome;
+    }
+
+    /**
+     * Retrieves and clears the outcome of the encounter that finished most recently.
+     * @return Returns how the encounter finished, or null if the current encounter has not finished.
+     */
+    public String takeEncounterOutcome() {
+        String outcome = encounterOutcome;
+        encounterOutcome = null;
+        return outcome;
+    }
+}
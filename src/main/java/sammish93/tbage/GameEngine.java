@@ -3,20 +3,37 @@ package sammish93.tbage;
 import sammish93.tbage.enums.GamePlatform;
 import sammish93.tbage.exceptions.InvalidValueException;
 import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.events.GameEvent;
+import sammish93.tbage.events.Message;
+import sammish93.tbage.events.TextRenderer;
 import sammish93.tbage.gui.GameInterface;
+import sammish93.tbage.gui.Headless;
+import sammish93.tbage.gui.Stepper;
 import sammish93.tbage.gui.Swing;
 import sammish93.tbage.gui.Terminal;
+import sammish93.tbage.interfaces.CommandHandler;
+import sammish93.tbage.interfaces.GameEventListener;
+import sammish93.tbage.interfaces.InputSource;
+import sammish93.tbage.interfaces.OutputSink;
+import sammish93.tbage.models.Encounter;
 import sammish93.tbage.models.Encounters;
 import sammish93.tbage.models.FixedEncounters;
 import sammish93.tbage.models.RandomEncounters;
 import sammish93.tbage.models.Player;
+import sammish93.tbage.tools.AnimatedOutputSink;
+import sammish93.tbage.tools.BufferedOutputSink;
+import sammish93.tbage.tools.CommandRegistry;
+import sammish93.tbage.tools.SpectatorFeed;
 import sammish93.tbage.tools.StringParser;
 
 import java.io.*;
 import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * A class intended to hold all required elements of an executable game. The GameEngine class is comprised of three
@@ -37,10 +54,14 @@ public class GameEngine implements Serializable {
     private GameSettings gameSettings;
     private Player player;
     private Encounters encounters;
-    /**
-     * A singleton Scanner object that is used to parse text entered via user input at runtime.
-     */
-    public static Scanner scanner  = new Scanner(System.in);
+    private GameContext context;
+    private transient InputSource inputSource;
+    private transient OutputSink outputSink;
+    private transient AnimatedOutputSink animatedOutputSink;
+    private transient List<GameEventListener> eventListeners;
+    private transient TextRenderer textRenderer;
+    private transient volatile Set<SpectatorFeed> spectators;
+    private boolean isTextRendered = true;
 
 
     private GameEngine(GameSettings gameSettings, Player player, Encounters encounters)
@@ -64,6 +85,7 @@ public class GameEngine implements Serializable {
             this.encounters = null;
         }
 
+        context = GameContext.create();
         addDefaultParserParameters();
     }
 
@@ -174,6 +196,8 @@ public class GameEngine implements Serializable {
                 return new Terminal(this);
             } else if (platform.equals(GamePlatform.SWING)) {
                 return new Swing(this);
+            } else if (platform.equals(GamePlatform.HEADLESS)) {
+                return new Headless(this);
             }
         } catch (Exception ex) {
             ex.printStackTrace();
@@ -182,6 +206,31 @@ public class GameEngine implements Serializable {
         return null;
     }
 
+    /**
+     * Prepares the game to be advanced one line of input at a time, rather than on a thread that waits for input.
+     * Font animation is skipped in the same way as the 'HEADLESS' platform.
+     * @return Returns a new instance of a Stepper object. The game begins once its start() method is called.
+     * @see Stepper#step(String)
+     */
+    public Stepper runStepped() {
+        platform = GamePlatform.HEADLESS;
+
+        return new Stepper(this);
+    }
+
+    /**
+     * Prepares a game that was serialised while being advanced by a Stepper to be advanced again. Unlike
+     * runStepped(), the game continues from the encounter and prompt that it was in when it was serialised.
+     * @return Returns a new instance of a Stepper object, which accepts input straight away.
+     * @throws IllegalStateException Thrown if the game was never started by a Stepper.
+     * @see GameEngine#runStepped()
+     */
+    public Stepper resumeStepped() {
+        platform = GamePlatform.HEADLESS;
+
+        return new Stepper(this, true);
+    }
+
     /**
      * Sets the interface to a Java Swing window.
      */
@@ -196,6 +245,29 @@ public class GameEngine implements Serializable {
         platform = GamePlatform.TERMINAL;
     }
 
+    /**
+     * Sets the interface to none at all. Input is read from the InputSource and output is written to the
+     * OutputSink provided to this GameEngine instance, and font animation is skipped so that a game can run
+     * from scripted input at full speed.
+     * @see GameEngine#setInputSource(InputSource)
+     * @see GameEngine#setOutputSink(OutputSink)
+     */
+    public void setPlatformToHeadless() {
+        platform = GamePlatform.HEADLESS;
+    }
+
+    /**
+     * Sets the interface to none at all, together with the source of input and the destination of output.
+     * @param inputSource Supplies each line of player input.
+     * @param outputSink Receives all text that the game prints.
+     * @see GameEngine#setPlatformToHeadless()
+     */
+    public void setPlatformToHeadless(InputSource inputSource, OutputSink outputSink) {
+        platform = GamePlatform.HEADLESS;
+        this.inputSource = inputSource;
+        this.outputSink = outputSink;
+    }
+
     /**
      *
      * @return Returns a GamePlatform of enum type.
@@ -253,35 +325,250 @@ public class GameEngine implements Serializable {
     }
 
     /**
-     * Prints a formatted String to the game interface.
+     *
+     * @return Returns the GameContext that holds the runtime state of this game session, such as the parser
+     * vocabulary and the encounter that the player currently is in.
+     */
+    public GameContext getContext() {
+        return context;
+    }
+
+    /**
+     *
+     * @return Returns the InputSource that player input is read from. Unless one has been provided, input is read
+     * from the terminal.
+     */
+    public InputSource getInputSource() {
+        if (inputSource == null) {
+            Scanner scanner = new Scanner(System.in);
+            inputSource = () -> scanner.hasNextLine() ? scanner.nextLine() : null;
+        }
+        return inputSource;
+    }
+
+    /**
+     *
+     * @param inputSource Sets the InputSource that player input is read from.
+     */
+    public void setInputSource(InputSource inputSource) {
+        this.inputSource = inputSource;
+    }
+
+    /**
+     *
+     * @return Returns the OutputSink that all text printed by the game is written to. Unless one has been provided,
+     * text is written to System.out.
+     */
+    public OutputSink getOutputSink() {
+        if (outputSink == null) {
+            // System.out is looked up on every write, in case it has been redirected. A turn's output is collected
+            // and written at once when the game waits for input.
+            outputSink = BufferedOutputSink.create(new OutputSink() {
+                @Override
+                public void write(String text) {
+                    System.out.print(text);
+                }
+
+                @Override
+                public void flush() {
+                    System.out.flush();
+                }
+            });
+        }
+        return outputSink;
+    }
+
+    /**
+     *
+     * @param outputSink Sets the OutputSink that all text printed by the game is written to.
+     */
+    public void setOutputSink(OutputSink outputSink) {
+        skipAnimation();
+        this.outputSink = outputSink;
+    }
+
+    /**
+     * Writes any text that is still being animated to the OutputSink at once. This is called whenever new input
+     * arrives, so that the player does not wait for text that they have already moved past.
+     * @see AnimatedOutputSink#skipToEnd()
+     */
+    public void skipAnimation() {
+        if (animatedOutputSink != null) {
+            animatedOutputSink.skipToEnd();
+        }
+    }
+
+    /**
+     * Blocks until any text that is still being animated has been written to the OutputSink. Used before a game
+     * exits, so that the last messages are shown in full.
+     */
+    public void awaitAnimation() throws InterruptedException {
+        if (animatedOutputSink != null) {
+            animatedOutputSink.awaitIdle();
+        }
+    }
+
+    /**
+     * Font animation is played on a separate rendering thread, so that the game carries on while text is shown.
+     * Text that is printed without animation is passed through the same AnimatedOutputSink, so that it is not
+     * shown ahead of the animated text printed before it.
+     * @return Returns the OutputSink that printed text is written to, or null if font animation is skipped.
+     */
+    private AnimatedOutputSink getAnimatedOutputSink() {
+        if (!gameSettings.isFontAnimated() || platform == GamePlatform.HEADLESS) {
+            return null;
+        }
+
+        var sink = getOutputSink();
+        if (animatedOutputSink == null || animatedOutputSink.getTarget() != sink) {
+            animatedOutputSink = AnimatedOutputSink.create(sink, gameSettings.getFontAnimationSpeed());
+        } else {
+            animatedOutputSink.setDelay(gameSettings.getFontAnimationSpeed());
+        }
+        return animatedOutputSink;
+    }
+
+    /**
+     * Adds a spectator that receives a copy of all text printed by the game from now on, as it is printed and
+     * without font animation. This method may be called from any thread. Writing to a spectator never blocks, so a
+     * spectator that falls behind does not slow down the game - it loses the oldest text instead.
+     * @param spectator The feed that the text is copied to. It is removed once it has been closed.
+     * @see SpectatorFeed
+     */
+    public void addSpectator(SpectatorFeed spectator) {
+        getSpectators().add(spectator);
+    }
+
+    /**
+     *
+     * @param spectator The feed to be removed. It is not closed.
+     */
+    public void removeSpectator(SpectatorFeed spectator) {
+        getSpectators().remove(spectator);
+    }
+
+    private synchronized Set<SpectatorFeed> getSpectators() {
+        if (spectators == null) {
+            spectators = new CopyOnWriteArraySet<>();
+        }
+        return spectators;
+    }
+
+    private void writeToSpectators(String text) {
+        var currentSpectators = spectators;
+
+        if (currentSpectators == null || currentSpectators.isEmpty()) {
+            return;
+        }
+
+        for (SpectatorFeed spectator : currentSpectators) {
+            if (spectator.isClosed()) {
+                currentSpectators.remove(spectator);
+            } else {
+                spectator.write(text);
+            }
+        }
+    }
+
+    /**
+     * Adds a listener that receives every event emitted by the game from now on.
+     * @param listener The listener to be added.
+     * @see GameEngine#emit(GameEvent)
+     */
+    public void addEventListener(GameEventListener listener) {
+        getEventListeners().add(listener);
+    }
+
+    /**
+     *
+     * @param listener The listener to be removed.
+     */
+    public void removeEventListener(GameEventListener listener) {
+        getEventListeners().remove(listener);
+    }
+
+    /**
+     *
+     * @return Returns a boolean value representing if the events emitted by the game are rendered as text to the
+     * OutputSink.
+     */
+    public boolean isTextRendered() {
+        return isTextRendered;
+    }
+
+    /**
+     *
+     * @param textRendered Sets the boolean value to represent if the events emitted by the game are rendered as
+     *                     text to the OutputSink. A client that only reads events via a GameEventListener can turn
+     *                     this off, so that no time is spent writing text that is never shown.
+     */
+    public void setTextRendered(boolean textRendered) {
+        isTextRendered = textRendered;
+    }
+
+    /**
+     * Hands an event to the TextRenderer, unless text rendering is turned off, and then to every listener added
+     * via addEventListener().
      * Example:
-     *   gameEngine.printMessageFormatted("%-15s %s\n", "Help",
-     *                                    "Prints a list of commands that the player can enter.");
-     *   gameEngine.printMessageFormatted("%-15s %s\n", "Inventory",
-     *                                    "Lists the items and gold a player currently has in their inventory.");
-     *   will print a message that looks like this:
-     *   Help           Prints a list of commands that the player can enter.
-     *   Inventory      Lists the items and gold a player currently has in their inventory.
+     *   gameEngine.emit(new DamageDealt(null, enemy.getName(), 5));
+     *
+     * @param event The event to be emitted.
+     */
+    public void emit(GameEvent event) {
+        if (isTextRendered) {
+            if (textRenderer == null) {
+                textRenderer = new TextRenderer(this);
+            }
+            textRenderer.onEvent(event);
+        }
+
+        if (eventListeners != null) {
+            for (GameEventListener listener : eventListeners) {
+                listener.onEvent(event);
+            }
+        }
+    }
+
+    private List<GameEventListener> getEventListeners() {
+        if (eventListeners == null) {
+            eventListeners = new ArrayList<>();
+        }
+        return eventListeners;
+    }
+
+    /**
+     * Prints a String to the game interface, followed by a new line. The String is emitted as a Message event, and
+     * is rendered like any other event.
+     * Example:
+     *   gameEngine.printMessage("You have taken 5 damage!");
      *
      * @see PrintStream#println(String)
+     * @see Message
      * @param string The String to be printed.
      */
     public void printMessage(String string) throws InterruptedException {
-        if (gameSettings.isFontAnimated()) {
-            int delay = gameSettings.getFontAnimationSpeed();
-            for (char c : string.toCharArray()) {
-                System.out.print(c);
-                Thread.sleep(delay);
-            }
-            System.out.print("\n");
-        } else {
-            System.out.println(string);
-        }
+        emit(new Message(string, true));
+    }
+
+    /**
+     * Writes a line of text straight to the OutputSink, without emitting an event. This is used by the
+     * TextRenderer, and is not intended to be called by game code, which should use printMessage() instead.
+     * If font animation is turned on then the line is played one character at a time by a rendering thread, and
+     * this method returns without waiting for it. Font animation is skipped on the 'HEADLESS' platform.
+     * @param string The line to be written, which is followed by a new line.
+     */
+    public void writeLine(String string) {
+        String lineBreaks = gameSettings.isOutputSeparatedByNewLine() ? "\n\n" : "\n";
+        var animatedSink = getAnimatedOutputSink();
 
-        if (gameSettings.isOutputSeparatedByNewLine()) {
-            System.out.println();
+        if (animatedSink != null) {
+            animatedSink.writeAnimated(string);
+            animatedSink.write(lineBreaks);
+        } else {
+            getOutputSink().write(string + lineBreaks);
         }
 
+        writeToSpectators(string + lineBreaks);
     }
 
     /**
@@ -304,7 +591,29 @@ public class GameEngine implements Serializable {
      *             depends on the conversion.
      */
     public void printMessageFormatted(String string, Object ... args) {
-        System.out.printf(string, args);
+        emit(new Message(String.format(string, args), false));
+    }
+
+    /**
+     * Writes text straight to the OutputSink as it is, without emitting an event or animating it. This is used by
+     * the TextRenderer, and is not intended to be called by game code.
+     * @param text The text to be written.
+     */
+    public void writeText(String text) {
+        writeControlSequence(text);
+        writeToSpectators(text);
+    }
+
+    /**
+     * Writes text straight to the OutputSink, in order with any text that is still being animated, without copying
+     * it to spectators. This is used to write terminal control sequences (e.g. ANSI escape codes), which only make
+     * sense to the interface that the game is played in.
+     * @param sequence The text to be written.
+     * @see sammish93.tbage.gui.StatusLine
+     */
+    public void writeControlSequence(String sequence) {
+        var animatedSink = getAnimatedOutputSink();
+        (animatedSink != null ? animatedSink : getOutputSink()).write(sequence);
     }
 
     /**
@@ -315,7 +624,7 @@ public class GameEngine implements Serializable {
      * framework.
      * @throws InvalidValueException
      */
-    private static void addDefaultParserParameters() throws InvalidValueException {
+    private void addDefaultParserParameters() throws InvalidValueException {
         ArrayList<String> defaultCommands = new ArrayList<String>();
         defaultCommands.add("exit");
         defaultCommands.add("options");
@@ -340,14 +649,37 @@ public class GameEngine implements Serializable {
         defaultNouns.add("self");
 
 
-        StringParser.setCommands(defaultCommands);
+        context.getStringParser().setCommands(defaultCommands);
+        Encounter.addDefaultCommands(context.getCommandRegistry());
+    }
+
+    /**
+     * Adds a command that the player can enter in a type of encounter, together with the handler that carries it
+     * out. The command is added to the StringParser of this game, and replaces any handler that the command already
+     * has for that type of encounter, including those of the default commands.
+     * Example:
+     * gameEngine.addCommand(CombatEncounter.class, "flee", (engine, encounter) -> {
+     *             engine.printMessage("You can't escape from " + encounter.getName() + "!");
+     *         });
+     * @param encounterType The type of encounter that the command can be entered in (e.g. CombatEncounter.class).
+     *                      Encounter.class adds the command to every type of encounter.
+     * @param command A string comprised of a single word.
+     * @param handler The handler that carries out the command.
+     * @throws InvalidValueException Is thrown in an example such as if the command is either empty or is comprised
+     * of more than one word.
+     * @see CommandRegistry
+     */
+    public <T extends Encounter> void addCommand(Class<T> encounterType, String command,
+                                                 CommandHandler<? super T> handler) throws InvalidValueException {
+        context.getCommandRegistry().register(encounterType, command, handler);
+        context.getStringParser().addCommand(command);
     }
 
     /**
      * Clears the library of commands, verbs, and nouns. Should be used with caution, especially as it removes
      * commands such as 'exit' and 'defeated' that are crucial to the running of the game.
-     * It may be more prudent to remove individual commands, nouns, or verbs using the static
-     * StringParser.removeCommand() method.
+     * It may be more prudent to remove individual commands, nouns, or verbs using the
+     * StringParser.removeCommand() method of this game's GameContext.
      *
      * @see StringParser#removeCommand(String)
      * @see StringParser#removeNoun(String)
@@ -355,9 +687,10 @@ public class GameEngine implements Serializable {
      * @throws InvalidValueException
      */
     public void removeAllDefaultParsingParameters() throws InvalidValueException {
-        StringParser.setCommands(new ArrayList<>());
-        StringParser.setNouns(new ArrayList<>());
-        StringParser.setVerbs(new ArrayList<>());
+        var stringParser = context.getStringParser();
+        stringParser.setCommands(new ArrayList<>());
+        stringParser.setNouns(new ArrayList<>());
+        stringParser.setVerbs(new ArrayList<>());
     }
 
     /**
@@ -373,10 +706,9 @@ public class GameEngine implements Serializable {
         boolean isOnlyAlphaNumericAndUnderscores = path.matches("^[a-zA-Z0-9_/]*$");
 
         if (isOnlyAlphaNumericAndUnderscores) {
-            FileOutputStream fileOutputStream = new FileOutputStream(path + ".ser");
-            ObjectOutputStream objectOutputStream = new ObjectOutputStream(fileOutputStream);
-
-            objectOutputStream.writeObject(this);
+            try (FileOutputStream fileOutputStream = new FileOutputStream(path + ".ser")) {
+                save(fileOutputStream);
+            }
         } else {
             throw new InvalidPathException(path, "The path isn't recognised as a valid file path.");
         }
@@ -397,16 +729,33 @@ public class GameEngine implements Serializable {
         boolean isOnlyAlphaNumericAndUnderscores = path.matches("^[a-zA-Z0-9_/]*$");
 
         if (isOnlyAlphaNumericAndUnderscores) {
-            FileOutputStream fileOutputStream = new FileOutputStream(path + "." + fileExtension);
-            ObjectOutputStream objectOutputStream = new ObjectOutputStream(fileOutputStream);
-
-            objectOutputStream.writeObject(this);
+            try (FileOutputStream fileOutputStream = new FileOutputStream(path + "." + fileExtension)) {
+                save(fileOutputStream);
+            }
         } else {
             throw new InvalidPathException(path, "The path isn't recognised as a valid file path.");
         }
 
     }
 
+    /**
+     * Serialises to an OutputStream, such as a file chosen by the developer or a buffer in memory. The stream is
+     * flushed, but not closed.
+     * @param outputStream The stream that the game is written to.
+     *                     Example:
+     *                     try (var outputStream = Files.newOutputStream(Path.of("saves", "player-1.ser"))) {
+     *                         gameEngine.save(outputStream);
+     *                     }
+     * @throws IOException Arises if the stream cannot be written to.
+     * @see GameEngine#load(InputStream)
+     */
+    public void save(OutputStream outputStream) throws IOException {
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(new BufferedOutputStream(outputStream));
+
+        objectOutputStream.writeObject(this);
+        objectOutputStream.flush();
+    }
+
     /**
      * Serialises to a local path. The file type extension is only required when the extension is something other
      * than '.ser'.
@@ -428,8 +777,21 @@ public class GameEngine implements Serializable {
             mergedPath = splitPath[0] + ".ser";
         }
 
-        FileInputStream fileInputStream = new FileInputStream(mergedPath);
-        ObjectInputStream objectInputStream = new ObjectInputStream(fileInputStream);
+        try (FileInputStream fileInputStream = new FileInputStream(mergedPath)) {
+            return load(fileInputStream);
+        }
+    }
+
+    /**
+     * Deserialises a game written by save(OutputStream). The stream is not closed.
+     * @param inputStream The stream that the game is read from.
+     * @return Returns the GameEngine read from the stream.
+     * @throws IOException Arises if the stream cannot be read from.
+     * @throws ClassNotFoundException Arises if the stream cannot be deserialised to this class.
+     * @see GameEngine#save(OutputStream)
+     */
+    public static GameEngine load(InputStream inputStream) throws IOException, ClassNotFoundException {
+        ObjectInputStream objectInputStream = new ObjectInputStream(new BufferedInputStream(inputStream));
 
         return (GameEngine) objectInputStream.readObject();
     }
@@ -24,6 +24,9 @@ public class GameSettings implements Serializable {
     private int windowHeight;
     private boolean isFullscreen;
     private String windowTitle;
+    private int scrollbackLimit;
+    private String scrollbackTranscriptPath;
+    private boolean isStatusLineShown;
 
 
     private GameSettings() {
@@ -37,6 +40,8 @@ public class GameSettings implements Serializable {
         isFontAnimated = true;
         fontAnimationSpeed = 10;
         isOutputSeparatedByNewLine = true;
+        scrollbackLimit = 5000;
+        isStatusLineShown = false;
     }
 
     /**
@@ -249,6 +254,73 @@ public class GameSettings implements Serializable {
         this.windowTitle = windowTitle;
     }
 
+    /**
+     *
+     * @return Returns the number of lines kept in the output text area when the game is run in a Java Swing
+     * window, or 0 if every line is kept.
+     */
+    public int getScrollbackLimit() {
+        return scrollbackLimit;
+    }
+
+    /**
+     *
+     * @param scrollbackLimit Sets the number of lines kept in the output text area when the game is run in a Java
+     *                        Swing window. Once the limit is reached, the oldest lines are removed as new lines
+     *                        are printed, so that a long play session doesn't keep growing in memory.
+     *                        NOTE: In the case that a value of 0 is provided then every line is kept.
+     * @throws InvalidValueException Thrown when a negative integer value is provided.
+     */
+    public void setScrollbackLimit(int scrollbackLimit) throws InvalidValueException {
+        if (scrollbackLimit >= 0) {
+            this.scrollbackLimit = scrollbackLimit;
+        } else {
+            throw new InvalidValueException("Value " + scrollbackLimit + " must be a positive integer value");
+        }
+    }
+
+    /**
+     *
+     * @return Returns the path of the file that lines removed from the output text area are appended to, or null
+     * if removed lines are discarded.
+     */
+    public String getScrollbackTranscriptPath() {
+        return scrollbackTranscriptPath;
+    }
+
+    /**
+     *
+     * @param scrollbackTranscriptPath Sets the path of a file that lines removed from the output text area are
+     *                                 appended to, so that the whole play session can still be read. The file is
+     *                                 created if it doesn't exist. A value of null discards removed lines.
+     *                                 Example:
+     *                                 gameSettings.setScrollbackTranscriptPath("transcripts/session.txt");
+     * @see GameSettings#setScrollbackLimit(int)
+     */
+    public void setScrollbackTranscriptPath(String scrollbackTranscriptPath) {
+        this.scrollbackTranscriptPath = scrollbackTranscriptPath;
+    }
+
+    /**
+     *
+     * @return Returns a boolean value representing if a status line is kept at the top of the terminal window.
+     */
+    public boolean isStatusLineShown() {
+        return isStatusLineShown;
+    }
+
+    /**
+     *
+     * @param statusLineShown Sets the boolean value to represent if a status line showing the player's health and
+     *                        gold, the current encounter, and the enemies still alive is kept at the top of the
+     *                        terminal window. The status line is drawn with ANSI escape codes, so it should only be
+     *                        turned on for terminals that support them.
+     * @see sammish93.tbage.gui.StatusLine
+     */
+    public void setStatusLineShown(boolean statusLineShown) {
+        isStatusLineShown = statusLineShown;
+    }
+
     /**
      * Serialises to a local path. The file type extension is '.ser'.
      * @param path The location that the .ser file will be saved to, along with the file name.
@@ -4,8 +4,11 @@ package sammish93.tbage.enums;
  * These are the current interfaces that the game can be played in.
  * The 'TERMINAL' enum relates to a terminal window, with the game being purely text based.
  * The 'SWING' enum relates to the Java Swing framework, and incorporates images and animations into the game.
+ * The 'HEADLESS' enum relates to a game without any window at all. Input and output are supplied by the developer
+ * via an InputSource and an OutputSink (e.g. for test rigs and services).
  */
 public enum GamePlatform {
     TERMINAL,
-    SWING
+    SWING,
+    HEADLESS
 }
@@ -0,0 +1,17 @@
+package sammish93.tbage.enums;
+
+/**
+ * These are the kinds of input that a game can be waiting for.
+ * The 'COMMAND' enum relates to a command or a combination of a verb and a noun (e.g. 'help', or 'go north').
+ * The 'CHOICE' enum relates to a number picked from a numbered list (e.g. which enemy to attack), or 'back'.
+ * The 'CONFIRMATION' enum relates to a yes or no answer (e.g. 'y', or 'no').
+ * The 'EXIT' enum relates to a game that has finished, and only accepts 'exit'.
+ * The 'NONE' enum relates to a game that has exited, and accepts no further input.
+ */
+public enum InputKind {
+    COMMAND,
+    CHOICE,
+    CONFIRMATION,
+    EXIT,
+    NONE
+}
@@ -0,0 +1,16 @@
+package sammish93.tbage.enums;
+
+/**
+ * These are the ways that a game session hosted by a GameHost can handle input once its input queue is full, or
+ * once the player has entered commands faster than the session's rate limit allows.
+ * The 'DROP' enum relates to discarding the oldest queued input to make room for the new input. Input that
+ * exceeds the rate limit is discarded.
+ * The 'REJECT' enum relates to refusing the new input.
+ * The 'BLOCK' enum relates to making the caller wait until there is room for the new input. This should only be
+ * used when each player's input is submitted on a thread of its own.
+ */
+public enum OverflowPolicy {
+    DROP,
+    REJECT,
+    BLOCK
+}
@@ -0,0 +1,13 @@
+package sammish93.tbage.enums;
+
+/**
+ * These are the states that a game session hosted by a GameHost can be in.
+ * The 'ACTIVE' enum relates to a session that accepts input.
+ * The 'FINISHED' enum relates to a session where the player has exited the game.
+ * The 'TERMINATED' enum relates to a session that has been ended by the host.
+ */
+public enum SessionStatus {
+    ACTIVE,
+    FINISHED,
+    TERMINATED
+}
@@ -0,0 +1,26 @@
+package sammish93.tbage.events;
+
+/**
+ * An event emitted when the player receives gold after defeating an encounter.
+ */
+public class CurrencyReceived extends GameEvent {
+
+    private final int amount;
+
+
+    /**
+     *
+     * @param amount The amount of gold received.
+     */
+    public CurrencyReceived(int amount) {
+        this.amount = amount;
+    }
+
+    /**
+     *
+     * @return Returns the amount of gold received.
+     */
+    public int getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,57 @@
+package sammish93.tbage.events;
+
+/**
+ * An event emitted when damage is dealt during combat, either by the player to an enemy or by an enemy to the
+ * player.
+ */
+public class DamageDealt extends GameEvent {
+
+    private final String attackerName;
+    private final String targetName;
+    private final int amount;
+
+
+    /**
+     *
+     * @param attackerName The name of the enemy that dealt the damage, or null if it was dealt by the player.
+     * @param targetName The name of the enemy that took the damage, or null if it was taken by the player.
+     * @param amount The amount of damage dealt.
+     */
+    public DamageDealt(String attackerName, String targetName, int amount) {
+        this.attackerName = attackerName;
+        this.targetName = targetName;
+        this.amount = amount;
+    }
+
+    /**
+     *
+     * @return Returns the name of the enemy that dealt the damage, or null if it was dealt by the player.
+     */
+    public String getAttackerName() {
+        return attackerName;
+    }
+
+    /**
+     *
+     * @return Returns the name of the enemy that took the damage, or null if it was taken by the player.
+     */
+    public String getTargetName() {
+        return targetName;
+    }
+
+    /**
+     *
+     * @return Returns the amount of damage dealt.
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     *
+     * @return Returns true if the damage was dealt by the player.
+     */
+    public boolean isDealtByPlayer() {
+        return attackerName == null;
+    }
+}
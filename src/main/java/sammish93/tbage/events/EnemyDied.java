@@ -0,0 +1,26 @@
+package sammish93.tbage.events;
+
+/**
+ * An event emitted when an enemy's health reaches 0 during combat.
+ */
+public class EnemyDied extends GameEvent {
+
+    private final String enemyName;
+
+
+    /**
+     *
+     * @param enemyName The name of the enemy that died.
+     */
+    public EnemyDied(String enemyName) {
+        this.enemyName = enemyName;
+    }
+
+    /**
+     *
+     * @return Returns the name of the enemy that died.
+     */
+    public String getEnemyName() {
+        return enemyName;
+    }
+}
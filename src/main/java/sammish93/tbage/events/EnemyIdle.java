@@ -0,0 +1,26 @@
+package sammish93.tbage.events;
+
+/**
+ * An event emitted when an enemy does nothing during its turn.
+ */
+public class EnemyIdle extends GameEvent {
+
+    private final String enemyName;
+
+
+    /**
+     *
+     * @param enemyName The name of the enemy.
+     */
+    public EnemyIdle(String enemyName) {
+        this.enemyName = enemyName;
+    }
+
+    /**
+     *
+     * @return Returns the name of the enemy.
+     */
+    public String getEnemyName() {
+        return enemyName;
+    }
+}
@@ -0,0 +1,49 @@
+package sammish93.tbage.events;
+
+/**
+ * An event emitted for each enemy when the player enters the 'status' command during a combat encounter.
+ */
+public class EnemyStatus extends GameEvent {
+
+    private final int number;
+    private final String enemyName;
+    private final String healthStatus;
+
+
+    /**
+     *
+     * @param number The position of the enemy in the encounter, starting at 1.
+     * @param enemyName The name of the enemy.
+     * @param healthStatus A description of the enemy's health (e.g. 'Full Health', 'Dead').
+     * @see sammish93.tbage.models.Enemy#getEnemyHealthStatus()
+     */
+    public EnemyStatus(int number, String enemyName, String healthStatus) {
+        this.number = number;
+        this.enemyName = enemyName;
+        this.healthStatus = healthStatus;
+    }
+
+    /**
+     *
+     * @return Returns the position of the enemy in the encounter, starting at 1.
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     *
+     * @return Returns the name of the enemy.
+     */
+    public String getEnemyName() {
+        return enemyName;
+    }
+
+    /**
+     *
+     * @return Returns a description of the enemy's health (e.g. 'Full Health', 'Dead').
+     */
+    public String getHealthStatus() {
+        return healthStatus;
+    }
+}
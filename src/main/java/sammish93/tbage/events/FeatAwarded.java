@@ -0,0 +1,26 @@
+package sammish93.tbage.events;
+
+/**
+ * An event emitted when the player is awarded a feat that is not secret.
+ */
+public class FeatAwarded extends GameEvent {
+
+    private final String featName;
+
+
+    /**
+     *
+     * @param featName The name of the feat.
+     */
+    public FeatAwarded(String featName) {
+        this.featName = featName;
+    }
+
+    /**
+     *
+     * @return Returns the name of the feat.
+     */
+    public String getFeatName() {
+        return featName;
+    }
+}
@@ -0,0 +1,19 @@
+package sammish93.tbage.events;
+
+/**
+ * The base class of everything that a game emits while it is played. Each subclass holds the values of a single
+ * kind of event, rather than a sentence describing it, so that clients do not have to parse text. Events are
+ * rendered as text by the TextRenderer.
+ * @see TextRenderer
+ * @see sammish93.tbage.interfaces.GameEventListener
+ */
+public abstract class GameEvent {
+
+    /**
+     *
+     * @return Returns the name of the kind of event (e.g. 'DamageDealt'), which is the simple name of its class.
+     */
+    public String getType() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,37 @@
+package sammish93.tbage.events;
+
+/**
+ * An event emitted when an item is added to the player's inventory as a drop from a defeated enemy.
+ */
+public class ItemReceived extends GameEvent {
+
+    private final String itemName;
+    private final String sourceName;
+
+
+    /**
+     *
+     * @param itemName The name of the item received.
+     * @param sourceName The name of the enemy that dropped the item.
+     */
+    public ItemReceived(String itemName, String sourceName) {
+        this.itemName = itemName;
+        this.sourceName = sourceName;
+    }
+
+    /**
+     *
+     * @return Returns the name of the item received.
+     */
+    public String getItemName() {
+        return itemName;
+    }
+
+    /**
+     *
+     * @return Returns the name of the enemy that dropped the item.
+     */
+    public String getSourceName() {
+        return sourceName;
+    }
+}
@@ -0,0 +1,40 @@
+package sammish93.tbage.events;
+
+/**
+ * An event holding text that has no event of its own, such as the introductory message of an encounter or text
+ * printed by a developer's own Useable behaviour.
+ * @see sammish93.tbage.GameEngine#printMessage(String)
+ */
+public class Message extends GameEvent {
+
+    private final String text;
+    private final boolean isLine;
+
+
+    /**
+     *
+     * @param text The text of the message.
+     * @param isLine If true, the message is a line of its own and is followed by a line break when rendered.
+     */
+    public Message(String text, boolean isLine) {
+        this.text = text;
+        this.isLine = isLine;
+    }
+
+    /**
+     *
+     * @return Returns the text of the message.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     *
+     * @return Returns true if the message is a line of its own, or false if it is already formatted with its own
+     * line breaks.
+     */
+    public boolean isLine() {
+        return isLine;
+    }
+}
@@ -0,0 +1,38 @@
+package sammish93.tbage.events;
+
+/**
+ * An event emitted when the player's health is shown, such as at the end of a combat turn or when the player
+ * enters the 'status' command.
+ */
+public class PlayerHealth extends GameEvent {
+
+    private final int currentHealth;
+    private final int maxHealth;
+
+
+    /**
+     *
+     * @param currentHealth The player's current health.
+     * @param maxHealth The player's maximum health.
+     */
+    public PlayerHealth(int currentHealth, int maxHealth) {
+        this.currentHealth = currentHealth;
+        this.maxHealth = maxHealth;
+    }
+
+    /**
+     *
+     * @return Returns the player's current health.
+     */
+    public int getCurrentHealth() {
+        return currentHealth;
+    }
+
+    /**
+     *
+     * @return Returns the player's maximum health.
+     */
+    public int getMaxHealth() {
+        return maxHealth;
+    }
+}
@@ -0,0 +1,44 @@
+package sammish93.tbage.events;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * An event emitted when the player is asked to choose from a numbered list (e.g. a target to attack, or an item to
+ * use). The player answers by entering the number of a choice.
+ */
+public class PromptChoices extends GameEvent {
+
+    private final String question;
+    private final SortedMap<Integer, String> choices;
+
+
+    /**
+     *
+     * @param question The question asked, or null if the choices are listed without one.
+     * @param choices The name of each choice, by the number that the player enters to choose it.
+     */
+    public PromptChoices(String question, Map<Integer, String> choices) {
+        this.question = question;
+        this.choices = Collections.unmodifiableSortedMap(new TreeMap<>(choices));
+    }
+
+    /**
+     *
+     * @return Returns the question asked, or null if the choices are listed without one.
+     */
+    public String getQuestion() {
+        return question;
+    }
+
+    /**
+     *
+     * @return Returns an unmodifiable map of the name of each choice, by the number that the player enters to
+     * choose it.
+     */
+    public SortedMap<Integer, String> getChoices() {
+        return choices;
+    }
+}
@@ -0,0 +1,74 @@
+package sammish93.tbage.events;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.interfaces.GameEventListener;
+
+import java.util.Map;
+
+/**
+ * A class intended to render the events emitted by a game as the English text shown in the game interface. Every
+ * GameEngine renders its events with a TextRenderer unless text rendering has been turned off.
+ * @see GameEngine#setTextRendered(boolean)
+ */
+public class TextRenderer implements GameEventListener {
+
+    private final GameEngine gameEngine;
+
+
+    /**
+     *
+     * @param gameEngine The GameEngine that the rendered text is written to.
+     */
+    public TextRenderer(GameEngine gameEngine) {
+        this.gameEngine = gameEngine;
+    }
+
+    /**
+     * Writes an event to the output of the GameEngine as one or more lines of text.
+     * @param event The event emitted by the game.
+     */
+    @Override
+    public void onEvent(GameEvent event) {
+        if (event instanceof Message message) {
+            if (message.isLine()) {
+                gameEngine.writeLine(message.getText());
+            } else {
+                gameEngine.writeText(message.getText());
+            }
+        } else if (event instanceof TurnStarted turnStarted) {
+            gameEngine.writeLine("Turn " + turnStarted.getTurnNumber());
+        } else if (event instanceof PromptChoices promptChoices) {
+            if (promptChoices.getQuestion() != null) {
+                gameEngine.writeLine(promptChoices.getQuestion());
+            }
+            for (Map.Entry<Integer, String> entry : promptChoices.getChoices().entrySet()) {
+                gameEngine.writeLine("\t" + entry.getKey() + ". " + entry.getValue());
+            }
+        } else if (event instanceof DamageDealt damageDealt) {
+            if (damageDealt.isDealtByPlayer()) {
+                gameEngine.writeLine("You did " + damageDealt.getAmount() + " damage to " +
+                        damageDealt.getTargetName() + ".");
+            } else {
+                gameEngine.writeLine(damageDealt.getAttackerName() + " did " + damageDealt.getAmount() +
+                        " damage to you.");
+            }
+        } else if (event instanceof EnemyDied enemyDied) {
+            gameEngine.writeLine(enemyDied.getEnemyName() + " has died!");
+        } else if (event instanceof EnemyIdle enemyIdle) {
+            gameEngine.writeLine(enemyIdle.getEnemyName() + " does nothing this turn.");
+        } else if (event instanceof ItemReceived itemReceived) {
+            gameEngine.writeLine("You received " + itemReceived.getItemName() + " from " +
+                    itemReceived.getSourceName() + ".");
+        } else if (event instanceof CurrencyReceived currencyReceived) {
+            gameEngine.writeLine("You received " + currencyReceived.getAmount() + " gold.");
+        } else if (event instanceof FeatAwarded featAwarded) {
+            gameEngine.writeLine("You received the feat '" + featAwarded.getFeatName() + "'.");
+        } else if (event instanceof PlayerHealth playerHealth) {
+            gameEngine.writeLine("Your current health is " + playerHealth.getCurrentHealth() + "/" +
+                    playerHealth.getMaxHealth());
+        } else if (event instanceof EnemyStatus enemyStatus) {
+            gameEngine.writeLine("Enemy " + enemyStatus.getNumber() + ": " + enemyStatus.getEnemyName() +
+                    ", Status: " + enemyStatus.getHealthStatus());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package sammish93.tbage.events;
+
+/**
+ * An event emitted when a new turn of combat begins.
+ */
+public class TurnStarted extends GameEvent {
+
+    private final int turnNumber;
+
+
+    /**
+     *
+     * @param turnNumber The number of the turn within the current combat encounter, starting at 1.
+     */
+    public TurnStarted(int turnNumber) {
+        this.turnNumber = turnNumber;
+    }
+
+    /**
+     *
+     * @return Returns the number of the turn within the current combat encounter, starting at 1.
+     */
+    public int getTurnNumber() {
+        return turnNumber;
+    }
+}
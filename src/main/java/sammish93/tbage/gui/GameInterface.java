@@ -18,12 +18,31 @@ public abstract class GameInterface {
     private EncounterTraversalController encounterTraversalController;
 
     GameInterface(GameEngine gameEngine) {
+        this(gameEngine, false);
+    }
+
+    /**
+     *
+     * @param gameEngine A specific GameEngine instance.
+     * @param isResumed If true, the encounter traversal of the GameEngine's context is continued rather than
+     *                  started over from the first encounter.
+     */
+    GameInterface(GameEngine gameEngine, boolean isResumed) {
         gameSettings = gameEngine.getGameSettings();
         player = gameEngine.getPlayer();
         encounters = gameEngine.getEncounters();
         this.gameEngine = gameEngine;
 
-        encounterTraversalController = new EncounterTraversalController(encounters);
+        if (isResumed) {
+            encounterTraversalController = gameEngine.getContext().getEncounterTraversalController();
+
+            if (encounterTraversalController == null) {
+                throw new IllegalStateException("The game cannot be resumed, as it has never been started.");
+            }
+        } else {
+            encounterTraversalController = new EncounterTraversalController(encounters);
+            gameEngine.getContext().setEncounterTraversalController(encounterTraversalController);
+        }
     }
 
 
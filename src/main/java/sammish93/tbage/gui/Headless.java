@@ -0,0 +1,87 @@
+package sammish93.tbage.gui;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.interfaces.Closeable;
+import sammish93.tbage.models.FixedEncounters;
+import sammish93.tbage.models.RandomEncounters;
+import sammish93.tbage.tools.EncounterController;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An class intended to be used to run the game without any window at all. Input is read from the InputSource and
+ * output is written to the OutputSink of the GameEngine, which makes it suitable for test rigs and services.
+ * The game ends when the player enters 'exit', or when the InputSource runs out of input.
+ * @see GameEngine#setPlatformToHeadless(sammish93.tbage.interfaces.InputSource,
+ * sammish93.tbage.interfaces.OutputSink)
+ */
+public class Headless extends GameInterface implements Closeable<String> {
+
+    private boolean exitBool = false;
+
+    /**
+     *
+     * @param gameEngine A specific GameEngine instance is required to be able to retrieve other dependencies
+     *                   such as Player, Encounter, GameSettings, etc.
+     */
+    public Headless(GameEngine gameEngine) throws InventoryFullException, InvalidValueException, InterruptedException {
+        super(gameEngine);
+
+        run();
+    }
+
+    /**
+     * Stops the game.
+     * @param exitString When 'exit' is passed as a command during runtime the game stops.
+     */
+    public void close(String exitString) {
+        if (exitString.equalsIgnoreCase("exit")) {
+            exitBool = true;
+        }
+    }
+
+    private void run() throws InventoryFullException, InvalidValueException, InterruptedException {
+        var controller = getEncounterController();
+        var gameEngine = getGameEngine();
+        var encounters = getEncounters();
+
+        if (!controller.checkEncounterPaths(gameEngine)) {
+            close("exit");
+        }
+
+        if (encounters == null ||
+                (encounters instanceof FixedEncounters) && ((FixedEncounters)encounters)
+                        .getEncounters().isEmpty() ||
+                (encounters instanceof RandomEncounters) && ((RandomEncounters) encounters)
+                        .getEncounterOrder().isEmpty()) {
+            gameEngine.printMessage("There are no encounters present.");
+        }
+
+        try {
+            while (!exitBool) {
+                String output;
+
+                if (controller.getCurrentEncounter() != null) {
+                    output = controller.getCurrentEncounter().run(gameEngine);
+                } else {
+                    gameEngine.printMessage("Game has finished. Please type 'exit'.");
+
+                    output = EncounterController.awaitInput(gameEngine);
+                }
+
+                close(output);
+
+                if (controller.getCurrentEncounter() != null) {
+                    controller.progressToNextEncounter(output);
+                }
+            }
+        } catch (NoSuchElementException ex) {
+            // The InputSource has run out of input, which ends the game in the same way as 'exit'.
+        }
+
+        gameEngine.printMessage("Game is exiting...");
+        gameEngine.getOutputSink().flush();
+    }
+}
@@ -0,0 +1,59 @@
+package sammish93.tbage.gui;
+
+/**
+ * Keeps track of the length of each line shown in an output text area, so that the oldest lines can be removed
+ * once there are more than a given number of them, without searching the text for line breaks. The lengths are
+ * held in a fixed-size ring buffer, so adding a line and removing the oldest line both take constant time.
+ */
+class ScrollbackBuffer {
+
+    private final int[] lineLengths;
+    private int head = 0;
+    private int lineCount = 0;
+    private int currentLineLength = 0;
+
+
+    /**
+     *
+     * @param lineLimit The number of complete lines kept.
+     */
+    ScrollbackBuffer(int lineLimit) {
+        lineLengths = new int[lineLimit];
+    }
+
+    /**
+     * Records text that has been appended to the end of the text area.
+     * @param text The appended text.
+     * @return Returns the number of characters that should be removed from the start of the text area to keep the
+     * number of lines within the limit.
+     */
+    int append(String text) {
+        int trimLength = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            currentLineLength++;
+
+            if (text.charAt(i) == '\n') {
+                if (lineCount == lineLengths.length) {
+                    trimLength += lineLengths[head];
+                    head = (head + 1) % lineLengths.length;
+                    lineCount--;
+                }
+
+                lineLengths[(head + lineCount) % lineLengths.length] = currentLineLength;
+                lineCount++;
+                currentLineLength = 0;
+            }
+        }
+
+        return trimLength;
+    }
+
+    /**
+     *
+     * @return Returns the number of complete lines currently kept.
+     */
+    int getLineCount() {
+        return lineCount;
+    }
+}
@@ -0,0 +1,187 @@
+package sammish93.tbage.gui;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.models.CombatEncounter;
+import sammish93.tbage.models.Encounter;
+import sammish93.tbage.models.Enemy;
+
+import java.util.Arrays;
+
+/**
+ * A class intended to keep a status region at the top of an ANSI-capable terminal window, showing the player's
+ * health and gold, the current encounter, and the enemies that are still alive. The rest of the window scrolls
+ * beneath it as usual, so the player no longer has to type 'status' to see how a fight is going.
+ *
+ * The region is held as a grid of characters. Each time it is redrawn only the characters that have changed since
+ * the last redraw are written, so nothing at all is written while the status stays the same.
+ *
+ * Example:
+ * var statusLine = StatusLine.create(gameEngine);
+ * statusLine.open();
+ * ...
+ * statusLine.redraw();
+ * ...
+ * statusLine.close();
+ * @see sammish93.tbage.GameSettings#setStatusLineShown(boolean)
+ */
+public class StatusLine {
+
+    private static final String CSI = "\u001b[";
+    private static final String SAVE_CURSOR = "\u001b7";
+    private static final String RESTORE_CURSOR = "\u001b8";
+    private static final int ROWS = 3;
+    private static final int DEFAULT_WIDTH = 80;
+    // Unchanged characters shorter than this are rewritten rather than skipped, as moving the cursor past them
+    // would take more characters than writing them.
+    private static final int MIN_SKIPPED_CHARACTERS = 6;
+
+    private final GameEngine gameEngine;
+    private final int width;
+    private final char[][] frame;
+    private boolean isOpen = false;
+
+
+    private StatusLine(GameEngine gameEngine, int width) {
+        this.gameEngine = gameEngine;
+        this.width = width;
+        frame = new char[ROWS][width];
+    }
+
+    /**
+     *
+     * @param gameEngine The game that the status is read from, and written to the OutputSink of.
+     * @return Returns a new instance of StatusLine that is 80 characters wide.
+     */
+    public static StatusLine create(GameEngine gameEngine) {
+        return create(gameEngine, DEFAULT_WIDTH);
+    }
+
+    /**
+     *
+     * @param gameEngine The game that the status is read from, and written to the OutputSink of.
+     * @param width The number of characters in each row of the status region. Longer text is cut off.
+     * @return Returns a new instance of StatusLine.
+     */
+    public static StatusLine create(GameEngine gameEngine, int width) {
+        return new StatusLine(gameEngine, Math.max(width, 1));
+    }
+
+    /**
+     * Clears the window, keeps the top rows for the status region, and draws the status.
+     */
+    public void open() {
+        for (char[] row : frame) {
+            Arrays.fill(row, ' ');
+        }
+
+        isOpen = true;
+        // Clears the window, and limits scrolling to the rows beneath the status region.
+        gameEngine.writeControlSequence(CSI + "2J" + CSI + (ROWS + 1) + ";r" + CSI + (ROWS + 1) + ";1H");
+        redraw();
+    }
+
+    /**
+     * Writes the characters of the status region that have changed since it was last drawn, and flushes the
+     * OutputSink. Nothing is written if the status has not changed.
+     */
+    public void redraw() {
+        if (!isOpen) {
+            return;
+        }
+
+        String changes = diff(render());
+
+        if (!changes.isEmpty()) {
+            gameEngine.writeControlSequence(SAVE_CURSOR + changes + RESTORE_CURSOR);
+            gameEngine.getOutputSink().flush();
+        }
+    }
+
+    /**
+     * Lets the whole window scroll again. The status region is left as it was last drawn.
+     */
+    public void close() {
+        if (!isOpen) {
+            return;
+        }
+
+        isOpen = false;
+        gameEngine.writeControlSequence(SAVE_CURSOR + CSI + "r" + RESTORE_CURSOR);
+        gameEngine.getOutputSink().flush();
+    }
+
+    private char[][] render() {
+        var player = gameEngine.getPlayer();
+        Encounter encounter = gameEngine.getContext().getCurrentEncounter();
+        var next = new char[ROWS][];
+
+        next[0] = toRow("HP " + (int) player.getCurrentHealth() + "/" + (int) player.getMaxHealth() +
+                " | Gold " + (int) player.getCurrencyAmount() +
+                " | " + (encounter != null ? encounter.getName() : "-"));
+
+        var enemies = new StringBuilder();
+        if (encounter instanceof CombatEncounter combatEncounter) {
+            for (Enemy enemy : combatEncounter.getEnemies().values()) {
+                if (enemy.getCurrentHealth() > 0) {
+                    enemies.append(enemies.length() == 0 ? "Enemies: " : ", ")
+                            .append(enemy.getName()).append(" (").append(enemy.getEnemyHealthStatus()).append(')');
+                }
+            }
+        }
+        next[1] = toRow(enemies);
+
+        next[2] = new char[width];
+        Arrays.fill(next[2], '-');
+
+        return next;
+    }
+
+    private char[] toRow(CharSequence text) {
+        var row = new char[width];
+        Arrays.fill(row, ' ');
+
+        for (int i = 0; i < Math.min(text.length(), width); i++) {
+            char c = text.charAt(i);
+            row[i] = Character.isISOControl(c) ? ' ' : c;
+        }
+
+        return row;
+    }
+
+    /**
+     * Compares a newly rendered status region with the one on screen, and updates the one on screen to match.
+     * @return Returns the escape codes and characters that redraw each run of changed characters.
+     */
+    private String diff(char[][] next) {
+        var sb = new StringBuilder();
+
+        for (int row = 0; row < ROWS; row++) {
+            char[] current = frame[row];
+            char[] updated = next[row];
+            int column = 0;
+
+            while (column < width) {
+                if (current[column] == updated[column]) {
+                    column++;
+                    continue;
+                }
+
+                int start = column;
+                int end = column + 1;
+                for (int i = end; i < width && i - end < MIN_SKIPPED_CHARACTERS; i++) {
+                    if (current[i] != updated[i]) {
+                        end = i + 1;
+                    }
+                }
+
+                sb.append(CSI).append(row + 1).append(';').append(start + 1).append('H')
+                        .append(updated, start, end - start);
+                column = end;
+            }
+
+            frame[row] = updated;
+        }
+
+        return sb.toString();
+    }
+}
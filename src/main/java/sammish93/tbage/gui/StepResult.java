@@ -0,0 +1,71 @@
+package sammish93.tbage.gui;
+
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.events.GameEvent;
+
+import java.util.List;
+
+/**
+ * A class intended to hold what a game produced while handling a single line of input via Stepper.step().
+ */
+public class StepResult {
+
+    private final String output;
+    private final InputKind expectedInputKind;
+    private final List<GameEvent> events;
+
+
+    /**
+     *
+     * @param output All text that the game printed while handling the input.
+     * @param expectedInputKind The kind of input that the game is now waiting for.
+     */
+    public StepResult(String output, InputKind expectedInputKind) {
+        this(output, expectedInputKind, List.of());
+    }
+
+    /**
+     *
+     * @param output All text that the game printed while handling the input.
+     * @param expectedInputKind The kind of input that the game is now waiting for.
+     * @param events All events that the game emitted while handling the input, in the order they were emitted.
+     */
+    public StepResult(String output, InputKind expectedInputKind, List<GameEvent> events) {
+        this.output = output;
+        this.expectedInputKind = expectedInputKind;
+        this.events = events;
+    }
+
+    /**
+     *
+     * @return Returns all text that the game printed while handling the input.
+     */
+    public String getOutput() {
+        return output;
+    }
+
+    /**
+     *
+     * @return Returns all events that the game emitted while handling the input, in the order they were emitted.
+     * Text printed via printMessage() is included as Message events.
+     */
+    public List<GameEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     *
+     * @return Returns the kind of input that the game is now waiting for.
+     */
+    public InputKind getExpectedInputKind() {
+        return expectedInputKind;
+    }
+
+    /**
+     *
+     * @return Returns true if the game has exited and accepts no further input.
+     */
+    public boolean isFinished() {
+        return expectedInputKind == InputKind.NONE;
+    }
+}
@@ -0,0 +1,207 @@
+package sammish93.tbage.gui;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.events.GameEvent;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.interfaces.Closeable;
+import sammish93.tbage.interfaces.GameEventListener;
+import sammish93.tbage.interfaces.OutputSink;
+import sammish93.tbage.models.FixedEncounters;
+import sammish93.tbage.models.RandomEncounters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class intended to run a game without a window, and without a thread of its own. Instead of waiting for input,
+ * the game is advanced one line of input at a time via the step() method, which returns the text printed in
+ * response. This allows a server to run a large number of games on a small pool of threads.
+ *
+ * Example:
+ * Stepper stepper = gameEngine.runStepped();
+ * StepResult result = stepper.start();
+ * result = stepper.step("attack");
+ *
+ * NOTE: Blocking methods such as EncounterController.chooseNpc(GameEngine, Encounter) cannot be used by Useable
+ * behaviours in a game that is advanced in this way, and throw an IllegalStateException. The variants of these
+ * methods that take a PromptCallback work in every interface.
+ */
+public class Stepper extends GameInterface implements Closeable<String> {
+
+    private final StringBuilder output = new StringBuilder();
+    private final List<GameEvent> events = new ArrayList<>();
+    private final Collector collector = new Collector();
+    private boolean isStarted = false;
+    private boolean exitBool = false;
+
+    /**
+     *
+     * @param gameEngine A specific GameEngine instance is required to be able to retrieve other dependencies
+     *                   such as Player, Encounter, GameSettings, etc.
+     */
+    public Stepper(GameEngine gameEngine) {
+        this(gameEngine, false);
+    }
+
+    /**
+     *
+     * @param gameEngine A specific GameEngine instance is required to be able to retrieve other dependencies
+     *                   such as Player, Encounter, GameSettings, etc.
+     * @param isResumed If true, the game continues from the encounter and prompt that it was in when it was
+     *                  serialised, and accepts input without start() being called. This requires the game to have
+     *                  been started by a Stepper before it was serialised.
+     */
+    public Stepper(GameEngine gameEngine, boolean isResumed) {
+        super(gameEngine, isResumed);
+        isStarted = isResumed;
+
+        // Only the most recent Stepper of a game collects its output, so the listener of an earlier Stepper is removed
+        // rather than left collecting every event.
+        if (gameEngine.getOutputSink() instanceof Collector previousCollector) {
+            gameEngine.removeEventListener(previousCollector);
+        }
+        gameEngine.setOutputSink(collector);
+        gameEngine.addEventListener(collector);
+        gameEngine.setInputSource(() -> {
+            throw new IllegalStateException("A game advanced via Stepper.step() cannot wait for input. Use the " +
+                    "variant of the method that takes a PromptCallback instead.");
+        });
+    }
+
+    /**
+     * Stops the game.
+     * @param exitString When 'exit' is passed as a command during runtime the game stops.
+     */
+    public void close(String exitString) {
+        if (exitString.equalsIgnoreCase("exit")) {
+            exitBool = true;
+        }
+    }
+
+    /**
+     * Starts the game, and prints the introduction of the first encounter.
+     * @return Returns the text printed, together with the kind of input that the game is waiting for.
+     * @throws IllegalStateException Thrown if the game has already started.
+     */
+    public StepResult start() throws InventoryFullException, InvalidValueException, InterruptedException {
+        if (isStarted) {
+            throw new IllegalStateException("The game has already started.");
+        }
+
+        var controller = getEncounterController();
+        var gameEngine = getGameEngine();
+        var encounters = getEncounters();
+        isStarted = true;
+
+        if (!controller.checkEncounterPaths(gameEngine)) {
+            close("exit");
+        }
+
+        if (encounters == null ||
+                (encounters instanceof FixedEncounters) && ((FixedEncounters)encounters)
+                        .getEncounters().isEmpty() ||
+                (encounters instanceof RandomEncounters) && ((RandomEncounters) encounters)
+                        .getEncounterOrder().isEmpty()) {
+            gameEngine.printMessage("There are no encounters present.");
+        }
+
+        beginEncounter();
+
+        return takeResult();
+    }
+
+    /**
+     * Handles a single line of input without waiting for any further input.
+     * @param input A line of input entered by the player.
+     * @return Returns the text printed in response, together with the kind of input that the game is now
+     * waiting for.
+     * @throws IllegalStateException Thrown if the game has not started, or has already exited.
+     */
+    public StepResult step(String input) throws InventoryFullException, InvalidValueException, InterruptedException {
+        if (!isStarted || exitBool) {
+            throw new IllegalStateException("The game is not accepting input.");
+        }
+
+        var controller = getEncounterController();
+        var gameEngine = getGameEngine();
+        gameEngine.getContext().setLastInput(input);
+
+        String outcome;
+
+        if (controller.getCurrentEncounter() != null) {
+            outcome = controller.getCurrentEncounter().step(gameEngine, input);
+        } else {
+            outcome = input;
+        }
+
+        if (outcome != null) {
+            close(outcome);
+
+            if (!exitBool && controller.getCurrentEncounter() != null) {
+                controller.progressToNextEncounter(outcome);
+            }
+
+            beginEncounter();
+        }
+
+        return takeResult();
+    }
+
+    /**
+     *
+     * @return Returns the kind of input that the game is waiting for.
+     */
+    public InputKind getExpectedInputKind() {
+        if (!isStarted || exitBool) {
+            return InputKind.NONE;
+        } else if (getEncounterController().getCurrentEncounter() == null) {
+            return InputKind.EXIT;
+        }
+
+        return getGameEngine().getContext().getExpectedInputKind();
+    }
+
+    private void beginEncounter() throws InventoryFullException, InvalidValueException, InterruptedException {
+        var controller = getEncounterController();
+        var gameEngine = getGameEngine();
+
+        if (exitBool) {
+            gameEngine.getContext().clearPrompts();
+            gameEngine.printMessage("Game is exiting...");
+        } else if (controller.getCurrentEncounter() != null) {
+            controller.getCurrentEncounter().begin(gameEngine);
+        } else {
+            gameEngine.printMessage("Game has finished. Please type 'exit'.");
+        }
+    }
+
+    private StepResult takeResult() {
+        var result = new StepResult(output.toString(), getExpectedInputKind(), List.copyOf(events));
+        output.setLength(0);
+        events.clear();
+
+        if (exitBool) {
+            getGameEngine().removeEventListener(collector);
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the text and events of the current line of input.
+     */
+    private class Collector implements OutputSink, GameEventListener {
+
+        @Override
+        public void write(String text) {
+            output.append(text);
+        }
+
+        @Override
+        public void onEvent(GameEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -9,8 +9,9 @@ import sammish93.tbage.models.Encounter;
 import sammish93.tbage.models.FixedEncounters;
 import sammish93.tbage.models.NonCombatEncounter;
 import sammish93.tbage.models.RandomEncounters;
+import sammish93.tbage.tools.BufferedOutputSink;
 import sammish93.tbage.tools.EncounterController;
-import sammish93.tbage.tools.EncounterTraversalController;
+import sammish93.tbage.tools.InputChannel;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
@@ -20,16 +21,18 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Random;
 
-import static sammish93.tbage.GameEngine.scanner;
-
 /**
  * An class intended to be used to render the game in a Java Swing window.
  */
 public class Swing extends GameInterface implements Closeable<JFrame> {
 
-
+    private final InputChannel inputChannel = new InputChannel();
 
 
     public Swing(GameEngine gameEngine) throws InvalidValueException, InventoryFullException, InterruptedException {
@@ -95,8 +98,12 @@ public class Swing extends GameInterface implements Closeable<JFrame> {
         });
         mainFrame.add(sendUserInputButton, constraints);
 
-        PrintStream printStream = new PrintStream(new SwingOutputStream(gameOutput));
-        System.setOut(printStream);
+        // The game writes straight to the output pane, while anything else printed to System.out is redirected to it.
+        var textAppender = new SwingTextAppender(gameOutput, getGameSettings().getScrollbackLimit(),
+                openScrollbackTranscript());
+        System.setOut(new PrintStream(new SwingOutputStream(textAppender), true, StandardCharsets.UTF_8));
+        getGameEngine().setOutputSink(BufferedOutputSink.create(textAppender));
+        getGameEngine().setInputSource(inputChannel);
         baseFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         gameOutput.setEditable(false);
 
@@ -145,16 +152,16 @@ public class Swing extends GameInterface implements Closeable<JFrame> {
         while (true) {
             String output;
 
-            if (EncounterTraversalController.getCurrentEncounter() != null) {
+            if (controller.getCurrentEncounter() != null) {
                 try {
-                    String imgPath = EncounterTraversalController.getCurrentEncounter().getImagePath();
+                    String imgPath = controller.getCurrentEncounter().getImagePath();
                     if (imgPath != null) {
                         BufferedImage image = ImageIO.read(new File(imgPath));
                         Image imageScaled = image.getScaledInstance(baseFrame.getWidth(), baseFrame.getHeight()/3, Image.SCALE_DEFAULT);
                         label.setIcon(new ImageIcon(imageScaled));
                     } else {
                         String chosenRandomImage = chooseDefaultImage(
-                                EncounterTraversalController.getCurrentEncounter());
+                                controller.getCurrentEncounter());
                         try (InputStream in = getClass().getResourceAsStream(chosenRandomImage)) {
                             BufferedImage image = ImageIO.read(in);
                             Image imageScaled = image.getScaledInstance(baseFrame.getWidth(), baseFrame.getHeight()/3, Image.SCALE_DEFAULT);
@@ -164,14 +171,14 @@ public class Swing extends GameInterface implements Closeable<JFrame> {
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
-                output = EncounterTraversalController.getCurrentEncounter().run(gameEngine);
+                output = controller.getCurrentEncounter().run(gameEngine);
             } else {
-                if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
+                if (gameEngine.getPlatform() != GamePlatform.SWING) {
                     gameEngine.printMessage("Game has finished. Please type 'exit'.");
                 } else {
                     gameEngine.printMessage("Game has finished. Please press the 'Escape' key.");
                 }
-                output = scanner.nextLine();
+                output = EncounterController.awaitInput(gameEngine);
             }
 
             //close(output);
@@ -182,6 +189,23 @@ public class Swing extends GameInterface implements Closeable<JFrame> {
         }
     }
 
+    private Writer openScrollbackTranscript() {
+        String path = getGameSettings().getScrollbackTranscriptPath();
+
+        if (path == null) {
+            return null;
+        }
+
+        try {
+            return Files.newBufferedWriter(Path.of(path), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            // The game can still be played, but lines removed from the output are discarded.
+            ex.printStackTrace();
+            return null;
+        }
+    }
+
     private String chooseDefaultImage(Encounter encounter) {
         String[] defaultNonCombatEncounterImages = new String[] {
                 "/images/non_combat_environment_1.png",
@@ -260,7 +284,7 @@ public class Swing extends GameInterface implements Closeable<JFrame> {
             } else {
                 getGameEngine().printMessageFormatted("> " + textField.getText() + "\n\n");
             }
-            EncounterController.setInput(textField.getText());
+            inputChannel.offer(textField.getText());
         }
         textField.setText("");
     }
@@ -1,26 +1,45 @@
 package sammish93.tbage.gui;
 
-import javax.swing.*;
-import java.io.IOException;
+import sammish93.tbage.interfaces.OutputSink;
+
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 // Used a modified version of code found here
 // https://www.codejava.net/java-se/swing/redirect-standard-output-streams-to-jtextarea on 03/05/2023 at 14:51.
 
-class SwingOutputStream extends OutputStream{
+/**
+ * Redirects anything printed to System.out to the output pane of the Swing interface. Bytes are collected until
+ * the stream is flushed, which a PrintStream with automatic flushing does after every line, and are then passed on
+ * as text in a single write.
+ */
+class SwingOutputStream extends OutputStream {
 
-    private JTextArea textArea;
+    private final OutputSink outputSink;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
 
 
-    protected SwingOutputStream(JTextArea textArea) {
-        this.textArea = textArea;
+    protected SwingOutputStream(OutputSink outputSink) {
+        this.outputSink = outputSink;
     }
 
 
     @Override
-    public void write(int b) throws IOException {
-        textArea.append(String.valueOf((char)b));
+    public synchronized void write(int b) {
+        bytes.write(b);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        bytes.write(b, off, len);
+    }
 
-        textArea.setCaretPosition(textArea.getDocument().getLength());
+    @Override
+    public synchronized void flush() {
+        if (bytes.size() > 0) {
+            outputSink.write(bytes.toString(StandardCharsets.UTF_8));
+            bytes.reset();
+        }
     }
 }
@@ -0,0 +1,111 @@
+package sammish93.tbage.gui;
+
+import sammish93.tbage.interfaces.OutputSink;
+
+import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An OutputSink that appends text to the output pane of the Swing interface. Text may be written from any thread,
+ * and is collected until the next refresh, when it is appended on the Event Dispatch Thread in a single update.
+ * Refreshes happen at most about 30 times a second, so that long outputs such as a list of options are rendered
+ * at once rather than as thousands of separate changes to the document. Once the text area holds more lines than
+ * the scrollback limit, the oldest lines are removed, and optionally appended to a transcript.
+ * @see sammish93.tbage.GameSettings#setScrollbackLimit(int)
+ */
+class SwingTextAppender implements OutputSink {
+
+    private static final int REFRESH_INTERVAL_MILLIS = 33;
+
+    private final JTextArea textArea;
+    private final StringBuilder pendingText = new StringBuilder();
+    private final AtomicBoolean isRefreshScheduled = new AtomicBoolean(false);
+    private final Timer refreshTimer;
+    private final ScrollbackBuffer scrollbackBuffer;
+    private final Writer transcriptWriter;
+
+
+    SwingTextAppender(JTextArea textArea) {
+        this(textArea, 0, null);
+    }
+
+    /**
+     *
+     * @param textArea The text area that text is appended to.
+     * @param scrollbackLimit The number of lines kept in the text area, or 0 to keep every line.
+     * @param transcriptWriter A Writer that lines removed from the text area are written to, or null to discard
+     *                         them.
+     */
+    SwingTextAppender(JTextArea textArea, int scrollbackLimit, Writer transcriptWriter) {
+        this.textArea = textArea;
+        this.transcriptWriter = transcriptWriter;
+        scrollbackBuffer = scrollbackLimit > 0 ? new ScrollbackBuffer(scrollbackLimit) : null;
+
+        refreshTimer = new Timer(REFRESH_INTERVAL_MILLIS, e -> refresh());
+        refreshTimer.setRepeats(false);
+    }
+
+    /**
+     * Collects text to be appended at the next refresh.
+     * @param text The text to be written.
+     */
+    @Override
+    public void write(String text) {
+        synchronized (pendingText) {
+            pendingText.append(text);
+        }
+
+        if (isRefreshScheduled.compareAndSet(false, true)) {
+            refreshTimer.start();
+        }
+    }
+
+    private void refresh() {
+        isRefreshScheduled.set(false);
+        String text;
+
+        synchronized (pendingText) {
+            text = pendingText.toString();
+            pendingText.setLength(0);
+        }
+
+        if (text.isEmpty()) {
+            return;
+        }
+
+        textArea.append(text);
+
+        if (scrollbackBuffer != null) {
+            trim(scrollbackBuffer.append(text));
+        }
+
+        textArea.setCaretPosition(textArea.getDocument().getLength());
+    }
+
+    private void trim(int trimLength) {
+        if (trimLength == 0) {
+            return;
+        }
+
+        Document document = textArea.getDocument();
+
+        try {
+            if (transcriptWriter != null) {
+                try {
+                    transcriptWriter.write(document.getText(0, trimLength));
+                    transcriptWriter.flush();
+                } catch (IOException ex) {
+                    ex.printStackTrace();
+                }
+            }
+
+            document.remove(0, trimLength);
+        } catch (BadLocationException ex) {
+            ex.printStackTrace();
+        }
+    }
+}
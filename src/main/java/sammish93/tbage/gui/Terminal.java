@@ -7,16 +7,17 @@ import sammish93.tbage.exceptions.InventoryFullException;
 import sammish93.tbage.interfaces.Closeable;
 import sammish93.tbage.models.FixedEncounters;
 import sammish93.tbage.models.RandomEncounters;
-import sammish93.tbage.tools.EncounterTraversalController;
-
-import static sammish93.tbage.GameEngine.scanner;
+import sammish93.tbage.tools.EncounterController;
 
 /**
- * An class intended to be used to render the game in a terminal window.
+ * An class intended to be used to render the game in a terminal window. If the GameSettings have the status line
+ * turned on, then a StatusLine is kept at the top of the window and redrawn whenever the game waits for input.
+ * @see StatusLine
  */
 public class Terminal extends GameInterface implements Closeable<String> {
 
     private boolean exitBool = false;
+    private StatusLine statusLine;
 
     /**
      *
@@ -26,6 +27,10 @@ public class Terminal extends GameInterface implements Closeable<String> {
     public Terminal(GameEngine gameEngine) throws InventoryFullException, InvalidValueException, InterruptedException {
         super(gameEngine);
 
+        if (gameEngine.getGameSettings().isStatusLineShown()) {
+            openStatusLine();
+        }
+
         run();
     }
 
@@ -39,6 +44,18 @@ public class Terminal extends GameInterface implements Closeable<String> {
         }
     }
 
+    private void openStatusLine() {
+        var gameEngine = getGameEngine();
+        var inputSource = gameEngine.getInputSource();
+
+        statusLine = StatusLine.create(gameEngine);
+        statusLine.open();
+        gameEngine.setInputSource(() -> {
+            statusLine.redraw();
+            return inputSource.readLine();
+        });
+    }
+
     private void run() throws InventoryFullException, InvalidValueException, InterruptedException {
         var controller = getEncounterController();
         var gameEngine = getGameEngine();
@@ -60,16 +77,16 @@ public class Terminal extends GameInterface implements Closeable<String> {
         while (!exitBool) {
             String output;
 
-            if (EncounterTraversalController.getCurrentEncounter() != null) {
-                output = EncounterTraversalController.getCurrentEncounter().run(gameEngine);
+            if (controller.getCurrentEncounter() != null) {
+                output = controller.getCurrentEncounter().run(gameEngine);
             } else {
-                if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
+                if (gameEngine.getPlatform() != GamePlatform.SWING) {
                     gameEngine.printMessage("Game has finished. Please type 'exit'.");
                 } else {
                     gameEngine.printMessage("Game has finished. Please press the 'Escape' key.");
                 }
 
-                output = scanner.nextLine();
+                output = EncounterController.awaitInput(gameEngine);
             }
 
             close(output);
@@ -81,5 +98,12 @@ public class Terminal extends GameInterface implements Closeable<String> {
         }
 
         gameEngine.printMessage("Game is exiting...");
+        gameEngine.awaitAnimation();
+
+        if (statusLine != null) {
+            statusLine.redraw();
+            statusLine.close();
+        }
+        gameEngine.getOutputSink().flush();
     }
 }
@@ -0,0 +1,565 @@
+package sammish93.tbage.host;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.enums.SessionStatus;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.interfaces.SessionListener;
+import sammish93.tbage.tools.SpectatorFeed;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.nio.file.DirectoryStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class intended to host a large number of games in a single process. Every session receives its own copy of
+ * a template GameEngine, so that players cannot affect each other's worlds. Sessions are advanced one line of
+ * input at a time on a shared executor, which means that a session waiting for input does not occupy a thread.
+ *
+ * Example:
+ * GameHost host = GameHost.create(gameEngine);
+ * GameSession session = host.createSession();
+ * host.attach(session.getId(), (sessionId, result) -> System.out.print(result.getOutput()));
+ * session.submit("help");
+ */
+public class GameHost {
+
+    private final byte[] template;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final HibernationMetrics hibernationMetrics = new HibernationMetrics();
+    private final InputMetrics inputMetrics = new InputMetrics(null);
+    private volatile SessionLimits sessionLimits = SessionLimits.create();
+    private volatile Path hibernationDirectory;
+    private volatile long hibernationIdleNanos;
+    private ScheduledExecutorService hibernationScheduler;
+    private ScheduledFuture<?> hibernationTask;
+    private volatile TranscriptRecorder transcriptRecorder;
+    private volatile boolean isShuttingDown = false;
+
+
+    private GameHost(byte[] template, ExecutorService executor) {
+        this.template = template;
+        this.executor = executor;
+    }
+
+    /**
+     *
+     * @param template A GameEngine instance that each session receives a copy of. It is copied once here, and
+     *                 later changes to it do not affect the host.
+     * @return Returns a new instance of GameHost, using an executor returned by createDefaultExecutor().
+     * @throws IOException Arises if the template cannot be serialised.
+     * @see GameHost#createDefaultExecutor()
+     */
+    public static GameHost create(GameEngine template) throws IOException {
+        return create(template, createDefaultExecutor());
+    }
+
+    /**
+     *
+     * @param template A GameEngine instance that each session receives a copy of. It is copied once here, and
+     *                 later changes to it do not affect the host.
+     * @param executor The executor that sessions are advanced on.
+     * @return Returns a new instance of GameHost.
+     * @throws IOException Arises if the template cannot be serialised.
+     */
+    public static GameHost create(GameEngine template, ExecutorService executor) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        template.save(byteArrayOutputStream);
+
+        return new GameHost(byteArrayOutputStream.toByteArray(), executor);
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task if the Java runtime supports virtual threads, and
+     * otherwise a thread pool with one thread per available processor. As sessions never wait for input on a
+     * thread, a small pool is enough to serve a large number of idle sessions.
+     * @return Returns a new ExecutorService.
+     */
+    public static ExecutorService createDefaultExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    /**
+     * Creates and starts a new session with its own copy of the template. The introduction of the first encounter
+     * is kept until a listener is attached.
+     * @return Returns the new GameSession.
+     * @throws IOException Arises if the template cannot be deserialised.
+     * @throws ClassNotFoundException Arises if the template cannot be deserialised to the GameEngine class.
+     */
+    public GameSession createSession() throws IOException, ClassNotFoundException, InventoryFullException,
+            InvalidValueException, InterruptedException {
+        if (isShuttingDown) {
+            throw new IllegalStateException("The host is shutting down, and does not accept new sessions.");
+        }
+
+        var gameEngine = GameEngine.load(new ByteArrayInputStream(template));
+        var session = new GameSession(UUID.randomUUID().toString(), gameEngine, false, this);
+        sessions.put(session.getId(), session);
+
+        try {
+            session.start();
+        } catch (Exception ex) {
+            terminate(session.getId());
+            throw ex;
+        }
+
+        return session;
+    }
+
+    /**
+     * Creates and starts a new session as with createSession(), but on the host's executor, so that the caller is
+     * not held up while the template is deserialised.
+     * @return Returns a CompletableFuture that completes with the new GameSession, or exceptionally if the session
+     * cannot be created.
+     * @see GameHost#createSession()
+     */
+    public CompletableFuture<GameSession> createSessionAsync() {
+        var future = new CompletableFuture<GameSession>();
+
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(createSession());
+                } catch (Exception ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            future.completeExceptionally(ex);
+        }
+
+        return future;
+    }
+
+    /**
+     * Restores every session saved to a directory by shutdown(Path, Duration), so that players can continue from
+     * where they were when the previous host shut down. Each session keeps its identifier, and its file is deleted
+     * once it has been restored. Files that cannot be read are left in place.
+     * @param directory The directory that the sessions were saved to.
+     * @return Returns the restored sessions.
+     * @throws IOException Arises if the directory cannot be read.
+     * @see GameHost#shutdown(Path, Duration)
+     */
+    public List<GameSession> restoreSessions(Path directory) throws IOException {
+        var restoredSessions = new ArrayList<GameSession>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.ser")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String sessionId = fileName.substring(0, fileName.length() - ".ser".length());
+
+                try {
+                    GameEngine gameEngine;
+                    try (InputStream inputStream = Files.newInputStream(file)) {
+                        gameEngine = GameEngine.load(inputStream);
+                    }
+
+                    var session = new GameSession(sessionId, gameEngine, true, this);
+                    session.start();
+                    sessions.put(sessionId, session);
+                    restoredSessions.add(session);
+                    Files.delete(file);
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+            }
+        }
+
+        return restoredSessions;
+    }
+
+    /**
+     *
+     * @return Returns a copy of the limits on the input accepted by each new session.
+     */
+    public SessionLimits getSessionLimits() {
+        return sessionLimits.copy();
+    }
+
+    /**
+     *
+     * @param sessionLimits Sets the limits on the input accepted by each session. The limits are copied, and only
+     *                      apply to sessions created after this method is called.
+     */
+    public void setSessionLimits(SessionLimits sessionLimits) {
+        this.sessionLimits = sessionLimits.copy();
+    }
+
+    /**
+     *
+     * @return Returns the metrics of the input submitted to every session on this host, including sessions that
+     * have since been removed.
+     */
+    public InputMetrics getInputMetrics() {
+        return inputMetrics;
+    }
+
+    /**
+     * Enables hibernation, so that memory use grows with the number of active players rather than the number of
+     * sessions. A session that has not received input for the given idle time is written to a file in the given
+     * directory and released from memory. It is read back the next time input is submitted to it, which the
+     * player only notices as a slightly slower response. Idle sessions are looked for on a background thread.
+     * Calling this method again replaces the directory and idle time.
+     * Example:
+     * host.enableHibernation(Path.of("hibernation"), Duration.ofMinutes(5));
+     *
+     * @param directory The directory that hibernated sessions are written to. It is created if it doesn't exist.
+     * @param idleTime The time that a session must go without input before it is hibernated.
+     * @throws IOException Arises if the directory cannot be created.
+     * @see GameHost#getHibernationMetrics()
+     */
+    public synchronized void enableHibernation(Path directory, Duration idleTime) throws IOException {
+        Files.createDirectories(directory);
+        hibernationDirectory = directory;
+        hibernationIdleNanos = idleTime.toNanos();
+
+        if (hibernationScheduler == null) {
+            hibernationScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "tbage-hibernation");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        if (hibernationTask != null) {
+            hibernationTask.cancel(false);
+        }
+
+        long periodMillis = Math.max(idleTime.toMillis() / 4, 10);
+        hibernationTask = hibernationScheduler.scheduleWithFixedDelay(this::hibernateIdleSessions, periodMillis,
+                periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Hibernates every session that has been idle for at least the idle time given to enableHibernation(). This is
+     * done periodically once hibernation has been enabled, but may also be called directly.
+     * @return Returns the number of sessions hibernated, which is always 0 if hibernation has not been enabled.
+     * @see GameHost#enableHibernation(Path, Duration)
+     */
+    public int hibernateIdleSessions() {
+        Path directory = hibernationDirectory;
+
+        if (directory == null) {
+            return 0;
+        }
+
+        int hibernated = 0;
+        long now = System.nanoTime();
+
+        for (GameSession session : sessions.values()) {
+            if (now - session.getLastActiveNanos() >= hibernationIdleNanos && session.hibernate(directory)) {
+                hibernated++;
+            }
+        }
+
+        return hibernated;
+    }
+
+    /**
+     * Enables transcripts, so that every turn of each session is recorded to a compressed file that support staff
+     * can look into later. Turns are handed over to a background thread, so recording does not slow down the game.
+     * Only sessions created or restored after this call are recorded. Transcripts can only be enabled once for each
+     * host.
+     * Example:
+     * host.enableTranscripts(Path.of("transcripts"));
+     *
+     * @param directory The directory that transcripts are written to. It is created if it doesn't exist.
+     * @throws IOException Arises if the directory cannot be created.
+     * @throws IllegalStateException Thrown if transcripts have already been enabled, as the sessions that are
+     * already being recorded keep writing to the first directory.
+     * @see TranscriptReader
+     */
+    public synchronized void enableTranscripts(Path directory) throws IOException {
+        if (transcriptRecorder != null) {
+            throw new IllegalStateException("Transcripts have already been enabled for this host.");
+        }
+
+        transcriptRecorder = TranscriptRecorder.create(directory);
+    }
+
+    TranscriptRecorder getTranscriptRecorder() {
+        return transcriptRecorder;
+    }
+
+    /**
+     *
+     * @return Returns the metrics of sessions that have been hibernated and restored by this host.
+     */
+    public HibernationMetrics getHibernationMetrics() {
+        return hibernationMetrics;
+    }
+
+    /**
+     *
+     * @param sessionId The identifier of a session.
+     * @return Returns the GameSession with the given identifier, or null if there is none.
+     */
+    public GameSession getSession(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     *
+     * @return Returns a read-only view of every session that has not been terminated.
+     */
+    public Collection<GameSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+     *
+     * @return Returns the number of sessions that have not been terminated.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Attaches a listener that receives all further output of a session, together with any output produced while
+     * no listener was attached. A listener that is already attached is replaced.
+     * @param sessionId The identifier of a session.
+     * @param listener The listener that receives the session's output.
+     * @return Returns true if the session exists.
+     */
+    public boolean attach(String sessionId, SessionListener listener) {
+        var session = sessions.get(sessionId);
+
+        if (session == null) {
+            return false;
+        }
+
+        session.attach(listener);
+        return true;
+    }
+
+    /**
+     * Adds a spectator to a session, which receives a copy of all further output of the session as it is printed.
+     * Example:
+     * var feed = host.spectate(sessionId);
+     * String text;
+     * while ((text = feed.poll(1, TimeUnit.SECONDS)) != null) {
+     *     System.out.print(text);
+     * }
+     * @param sessionId The identifier of a session.
+     * @return Returns the feed that the output is copied to, which holds up to 64K characters that have not yet
+     * been read, or null if the session does not exist.
+     * @see GameSession#spectate(SpectatorFeed)
+     */
+    public SpectatorFeed spectate(String sessionId) {
+        var session = sessions.get(sessionId);
+
+        if (session == null) {
+            return null;
+        }
+
+        var spectator = SpectatorFeed.create();
+        session.spectate(spectator);
+        return spectator;
+    }
+
+    /**
+     * Detaches the listener of a session. The session keeps running, and its output is kept until a listener is
+     * attached again.
+     * @param sessionId The identifier of a session.
+     * @return Returns true if the session exists.
+     */
+    public boolean detach(String sessionId) {
+        var session = sessions.get(sessionId);
+
+        if (session == null) {
+            return false;
+        }
+
+        session.detach();
+        return true;
+    }
+
+    /**
+     * Queues a line of input for a session.
+     * @param sessionId The identifier of a session.
+     * @param input A line of input entered by the player.
+     * @return Returns true if the input was queued, or false if the session does not exist or no longer accepts
+     * input.
+     * @see GameSession#submit(String)
+     */
+    public boolean submit(String sessionId, String input) {
+        var session = sessions.get(sessionId);
+
+        return session != null && session.submit(input);
+    }
+
+    /**
+     * Ends a session and removes it from the host. Input that has been queued but not yet handled is discarded. If
+     * the game was still being played, its listener receives a last result that accepts no further input.
+     * @param sessionId The identifier of a session.
+     * @return Returns true if the session existed.
+     */
+    public boolean terminate(String sessionId) {
+        var session = sessions.remove(sessionId);
+
+        if (session == null) {
+            return false;
+        }
+
+        session.terminate();
+        session.detach();
+        return true;
+    }
+
+    /**
+     * Removes every session where the player has exited the game.
+     * @return Returns the number of sessions removed.
+     */
+    public int removeFinishedSessions() {
+        int removed = 0;
+
+        for (GameSession session : sessions.values()) {
+            if (session.getStatus() == SessionStatus.FINISHED && sessions.remove(session.getId(), session)) {
+                removed++;
+            }
+        }
+
+        return removed;
+    }
+
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Shuts the host down without losing the progress of any player, for example before a restart. The host stops
+     * accepting new sessions and input, lets input that has already been queued be handled, and then saves every
+     * session that is still being played to the given directory in parallel. Finally, every session is terminated
+     * and the executor is stopped, as with shutdown().
+     * Example:
+     * ShutdownReport report = host.shutdown(Path.of("saves"), Duration.ofSeconds(30));
+     * and once the host has been started again:
+     * host.restoreSessions(Path.of("saves"));
+     *
+     * @param directory The directory that sessions are saved to. It is created if it doesn't exist, and must not
+     *                  be the directory used for hibernation.
+     * @param deadline The time allowed for handling queued input and saving sessions. Sessions that have not been
+     *                 saved once it has passed are listed as timed out in the report.
+     * @return Returns a report of which sessions were saved, and how long it took.
+     * @throws IOException Arises if the directory cannot be created.
+     * @see GameHost#restoreSessions(Path)
+     */
+    public ShutdownReport shutdown(Path directory, Duration deadline) throws IOException, InterruptedException {
+        Files.createDirectories(directory);
+        Path hibernationDirectory = this.hibernationDirectory;
+
+        if (hibernationDirectory != null && Files.isSameFile(directory, hibernationDirectory)) {
+            throw new IllegalArgumentException("Sessions cannot be saved to the directory used for hibernation.");
+        }
+
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + deadline.toNanos();
+        isShuttingDown = true;
+        stopHibernation();
+
+        for (GameSession session : sessions.values()) {
+            session.stopAcceptingInput();
+        }
+        for (GameSession session : sessions.values()) {
+            session.awaitIdle(deadlineNanos);
+        }
+
+        long savingNanos = System.nanoTime();
+        var savedSessionIds = new ArrayList<String>();
+        var failedSessionIds = new ArrayList<String>();
+        var timedOutSessionIds = new ArrayList<String>();
+        var sessionsToSave = new ArrayList<GameSession>();
+        var tasks = new ArrayList<Callable<Boolean>>();
+
+        for (GameSession session : sessions.values()) {
+            if (session.getStatus() == SessionStatus.ACTIVE) {
+                sessionsToSave.add(session);
+                tasks.add(() -> session.save(directory));
+            }
+        }
+
+        ExecutorService saveExecutor = createDefaultExecutor();
+        try {
+            List<Future<Boolean>> results = saveExecutor.invokeAll(tasks,
+                    Math.max(deadlineNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+
+            for (int i = 0; i < results.size(); i++) {
+                String sessionId = sessionsToSave.get(i).getId();
+
+                try {
+                    // A session is only left unsaved without an error if it was still handling input.
+                    (results.get(i).get() ? savedSessionIds : timedOutSessionIds).add(sessionId);
+                } catch (CancellationException ex) {
+                    timedOutSessionIds.add(sessionId);
+                } catch (ExecutionException ex) {
+                    ex.getCause().printStackTrace();
+                    failedSessionIds.add(sessionId);
+                }
+            }
+        } finally {
+            saveExecutor.shutdownNow();
+        }
+
+        long endNanos = System.nanoTime();
+        shutdown();
+
+        return new ShutdownReport(savedSessionIds, failedSessionIds, timedOutSessionIds,
+                TimeUnit.NANOSECONDS.toMillis(savingNanos - startNanos),
+                TimeUnit.NANOSECONDS.toMillis(endNanos - savingNanos));
+    }
+
+    /**
+     * Terminates every session and stops the executor. Hibernated sessions are deleted from disk, and any turns
+     * waiting to be recorded are written to their transcripts.
+     * @see GameHost#shutdown(Path, Duration)
+     */
+    public void shutdown() {
+        isShuttingDown = true;
+        stopHibernation();
+
+        for (String sessionId : sessions.keySet()) {
+            terminate(sessionId);
+        }
+
+        executor.shutdown();
+        stopTranscripts();
+    }
+
+    private synchronized void stopTranscripts() {
+        if (transcriptRecorder != null) {
+            transcriptRecorder.close();
+        }
+    }
+
+    private synchronized void stopHibernation() {
+        if (hibernationScheduler != null) {
+            hibernationScheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,719 @@
+package sammish93.tbage.host;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.enums.OverflowPolicy;
+import sammish93.tbage.enums.SessionStatus;
+import sammish93.tbage.events.GameEvent;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.gui.StepResult;
+import sammish93.tbage.gui.Stepper;
+import sammish93.tbage.interfaces.SessionListener;
+import sammish93.tbage.tools.SpectatorFeed;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A class intended to hold a single game hosted by a GameHost. Input submitted to a session is queued, and handled
+ * one line at a time by a task on the host's executor. A session that is waiting for input does not occupy a
+ * thread. If hibernation is enabled on the host, a session that has been idle for a while is written to disk, and
+ * read back once input is submitted to it.
+ */
+public class GameSession {
+
+    private final String id;
+    private final boolean isResumed;
+    private final GameHost host;
+    private final Executor executor;
+    private final HibernationMetrics hibernationMetrics;
+    private final InputMetrics inputMetrics;
+    private final OverflowPolicy overflowPolicy;
+    private final Semaphore queueSpace;
+    private final TokenBucket commandRate;
+    private final TranscriptRecorder transcriptRecorder;
+    private final Queue<Submission> inputs = new ConcurrentLinkedQueue<>();
+    // Reads of the game, which are handled before any queued input, and are not counted as input.
+    private final Queue<Submission> reads = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+    private final StringBuilder pendingOutput = new StringBuilder();
+    private final List<GameEvent> pendingEvents = new ArrayList<>();
+    private final CopyOnWriteArraySet<SpectatorFeed> spectators = new CopyOnWriteArraySet<>();
+    private SessionListener listener;
+    private volatile SessionStatus status = SessionStatus.ACTIVE;
+    private volatile boolean isAcceptingInput = true;
+    private volatile InputKind expectedInputKind = InputKind.NONE;
+    private volatile long lastActiveNanos = System.nanoTime();
+    // Only one of gameEngine and hibernationFile is set at a time.
+    private volatile GameEngine gameEngine;
+    private volatile Stepper stepper;
+    private final AtomicReference<Path> hibernationFile = new AtomicReference<>();
+
+
+    /**
+     *
+     * @param id The identifier of the session.
+     * @param gameEngine The game that the session runs.
+     * @param isResumed If true, the game continues from where it was saved rather than starting over.
+     * @param host The host that the session belongs to, which provides its executor, limits, and metrics.
+     */
+    GameSession(String id, GameEngine gameEngine, boolean isResumed, GameHost host) {
+        this.id = id;
+        this.gameEngine = gameEngine;
+        this.isResumed = isResumed;
+        this.host = host;
+        executor = host.getExecutor();
+        hibernationMetrics = host.getHibernationMetrics();
+        transcriptRecorder = host.getTranscriptRecorder();
+
+        SessionLimits limits = host.getSessionLimits();
+        inputMetrics = new InputMetrics(host.getInputMetrics());
+        overflowPolicy = limits.getOverflowPolicy();
+        queueSpace = new Semaphore(limits.getQueueCapacity());
+        commandRate = limits.getCommandsPerSecond() > 0 ?
+                new TokenBucket(limits.getCommandsPerSecond(), limits.getCommandBurst()) : null;
+
+        stepper = isResumed ? gameEngine.resumeStepped() : gameEngine.runStepped();
+    }
+
+    void start() throws InventoryFullException, InvalidValueException, InterruptedException {
+        if (isResumed) {
+            expectedInputKind = stepper.getExpectedInputKind();
+        } else {
+            deliver(null, stepper.start());
+        }
+    }
+
+    /**
+     *
+     * @return Returns the identifier of this session.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     *
+     * @return Returns the GameEngine instance that this session runs, or null while the session is hibernated. It
+     * should only be read once the session has finished, or from a SessionListener, as it is otherwise being
+     * changed by the host's executor.
+     * @see GameSession#submit(String, BiFunction)
+     */
+    public GameEngine getGameEngine() {
+        return gameEngine;
+    }
+
+    /**
+     *
+     * @return Returns the current state of this session.
+     */
+    public SessionStatus getStatus() {
+        return status;
+    }
+
+    /**
+     *
+     * @return Returns the kind of input that the game was waiting for after its most recent line of input.
+     */
+    public InputKind getExpectedInputKind() {
+        return expectedInputKind;
+    }
+
+    /**
+     *
+     * @return Returns true if the session is currently stored on disk rather than in memory.
+     */
+    public boolean isHibernated() {
+        return hibernationFile.get() != null;
+    }
+
+    long getLastActiveNanos() {
+        return lastActiveNanos;
+    }
+
+    /**
+     *
+     * @return Returns the metrics of the input submitted to this session.
+     */
+    public InputMetrics getInputMetrics() {
+        return inputMetrics;
+    }
+
+    /**
+     * Queues a line of input to be handled by the host's executor. This method only blocks if the host's
+     * SessionLimits use OverflowPolicy.BLOCK, and the session's input queue is full or its rate limit is exceeded.
+     * @param input A line of input entered by the player.
+     * @return Returns true if the input was queued, or false if the session no longer accepts input, or the input
+     * was refused by the host's SessionLimits.
+     * @see GameHost#setSessionLimits(SessionLimits)
+     */
+    public boolean submit(String input) {
+        if (status != SessionStatus.ACTIVE || !isAcceptingInput || input == null) {
+            return false;
+        }
+
+        return enqueue(new Submission(input, null));
+    }
+
+    /**
+     * Queues a line of input to be handled by the host's executor, and reads the game once it has been handled.
+     * The reader is called by the host's executor right after the input has been handled, so it may safely read
+     * the GameEngine. Like submit(String), this method only blocks if the host's SessionLimits use
+     * OverflowPolicy.BLOCK.
+     * Example:
+     * session.submit("status", (gameEngine, result) -> gameEngine.getPlayer().getCurrentHealth());
+     *
+     * @param input A line of input entered by the player.
+     * @param reader A function that receives the GameEngine and the output of the input.
+     * @return Returns a CompletableFuture that is completed with the value returned by the reader. It is completed
+     * exceptionally with an IllegalStateException if the session no longer accepts input, or is terminated before
+     * the input is handled, and with a RejectedExecutionException if the input is refused or dropped by the host's
+     * SessionLimits.
+     * @param <T> The type returned by the reader.
+     */
+    public <T> CompletableFuture<T> submit(String input, BiFunction<GameEngine, StepResult, T> reader) {
+        var future = new CompletableFuture<T>();
+
+        if (status != SessionStatus.ACTIVE || !isAcceptingInput || input == null) {
+            future.completeExceptionally(new IllegalStateException("The session no longer accepts input."));
+            return future;
+        }
+
+        var submission = new Submission(input, (result, ex) -> {
+            if (ex != null) {
+                future.completeExceptionally(ex);
+                return;
+            }
+
+            try {
+                future.complete(reader.apply(gameEngine, result));
+            } catch (RuntimeException readerEx) {
+                future.completeExceptionally(readerEx);
+            }
+        });
+
+        if (!enqueue(submission)) {
+            future.completeExceptionally(new RejectedExecutionException("The input was refused, as too much " +
+                    "input has been submitted. Please slow down."));
+        }
+
+        return future;
+    }
+
+    /**
+     * Reads the game on the host's executor, between two lines of input, so that it is never read while input is
+     * being handled. A hibernated session is restored first.
+     * Example:
+     * session.read(gameEngine -> gameEngine.getPlayer().getCurrencyAmount());
+     *
+     * @param reader A function that receives the GameEngine.
+     * @return Returns a CompletableFuture that is completed with the value returned by the reader. It is completed
+     * exceptionally with an IllegalStateException if the session has ended, or ends before the game is read.
+     * @param <T> The type returned by the reader.
+     */
+    public <T> CompletableFuture<T> read(Function<GameEngine, T> reader) {
+        var future = new CompletableFuture<T>();
+
+        if (status != SessionStatus.ACTIVE) {
+            future.completeExceptionally(new IllegalStateException("The session has ended."));
+            return future;
+        }
+
+        reads.offer(new Submission(null, (result, ex) -> {
+            if (ex != null) {
+                future.completeExceptionally(ex);
+                return;
+            }
+
+            try {
+                future.complete(reader.apply(gameEngine));
+            } catch (RuntimeException readerEx) {
+                future.completeExceptionally(readerEx);
+            }
+        }));
+        schedule();
+
+        return future;
+    }
+
+    private boolean enqueue(Submission submission) {
+        if (!acquireCommandToken()) {
+            inputMetrics.recordRateLimited();
+            return false;
+        }
+
+        if (!acquireQueueSpace()) {
+            return false;
+        }
+
+        lastActiveNanos = System.nanoTime();
+        inputs.offer(submission);
+        inputMetrics.recordAccepted();
+        schedule();
+
+        return true;
+    }
+
+    private boolean acquireCommandToken() {
+        if (commandRate == null || commandRate.tryAcquire()) {
+            return true;
+        } else if (overflowPolicy != OverflowPolicy.BLOCK) {
+            return false;
+        }
+
+        try {
+            while (!commandRate.tryAcquire()) {
+                if (status != SessionStatus.ACTIVE) {
+                    return false;
+                }
+
+                TimeUnit.NANOSECONDS.sleep(commandRate.nanosUntilAvailable());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean acquireQueueSpace() {
+        if (queueSpace.tryAcquire()) {
+            return true;
+        }
+
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            while (true) {
+                Submission oldest = inputs.poll();
+
+                if (oldest != null) {
+                    // The space of the oldest input is handed over to the new input.
+                    inputMetrics.recordDequeued();
+                    inputMetrics.recordDropped();
+                    oldest.complete(null, new RejectedExecutionException("The input was dropped, as newer input " +
+                            "was submitted while too much input was queued."));
+                    return true;
+                } else if (queueSpace.tryAcquire()) {
+                    return true;
+                }
+
+                // The executor has taken the last input, but not yet released its space.
+                Thread.onSpinWait();
+            }
+        } else if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                while (!queueSpace.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    if (status != SessionStatus.ACTIVE) {
+                        return false;
+                    }
+                }
+
+                return true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        inputMetrics.recordRejected();
+        return false;
+    }
+
+    private Submission pollSubmission() {
+        Submission read = reads.poll();
+
+        return read != null ? read : pollInput();
+    }
+
+    private boolean hasQueuedWork() {
+        return !inputs.isEmpty() || !reads.isEmpty();
+    }
+
+    private Submission pollInput() {
+        Submission submission = inputs.poll();
+
+        if (submission != null) {
+            queueSpace.release();
+            inputMetrics.recordDequeued();
+        }
+
+        return submission;
+    }
+
+    /**
+     * Adds a spectator that receives a copy of all further output of this session, as it is printed. The spectator
+     * is kept while the session is hibernated, and its feed is closed once the session has ended. Any number of
+     * spectators can watch a session, and a spectator that falls behind never holds up the session.
+     * Example:
+     * var feed = SpectatorFeed.create(4096);
+     * session.spectate(feed);
+     * @param spectator The feed that the output is copied to. It is closed straight away if the session has ended.
+     * @see SpectatorFeed
+     */
+    public void spectate(SpectatorFeed spectator) {
+        spectators.add(spectator);
+
+        // The game engine is read after the spectator is added, so that a session restored in the meantime adds
+        // the spectator to its restored game instead.
+        var currentGameEngine = gameEngine;
+        if (currentGameEngine != null) {
+            currentGameEngine.addSpectator(spectator);
+        }
+
+        if (status != SessionStatus.ACTIVE) {
+            closeSpectators();
+        }
+    }
+
+    private void closeSpectators() {
+        for (SpectatorFeed spectator : spectators) {
+            spectator.close();
+        }
+        spectators.clear();
+    }
+
+    synchronized void attach(SessionListener listener) {
+        this.listener = listener;
+
+        if (pendingOutput.length() > 0 || !pendingEvents.isEmpty()) {
+            var result = new StepResult(pendingOutput.toString(), expectedInputKind, List.copyOf(pendingEvents));
+            pendingOutput.setLength(0);
+            pendingEvents.clear();
+            listener.onStep(id, result);
+        }
+    }
+
+    synchronized void detach() {
+        listener = null;
+    }
+
+    void terminate() {
+        boolean wasActive = status == SessionStatus.ACTIVE;
+        status = SessionStatus.TERMINATED;
+
+        Submission submission;
+        while ((submission = pollInput()) != null) {
+            submission.discard();
+        }
+        while ((submission = reads.poll()) != null) {
+            submission.discard();
+        }
+
+        deleteHibernationFile();
+        endTranscript();
+        closeSpectators();
+
+        if (wasActive) {
+            notifyTerminated();
+        }
+    }
+
+    /**
+     * Tells the listener that the game has ended, so that a client is not left waiting for output that never comes.
+     */
+    private synchronized void notifyTerminated() {
+        if (listener != null) {
+            listener.onStep(id, new StepResult("The game has ended.\n", InputKind.NONE, List.of()));
+        }
+    }
+
+    /**
+     * Ends a session whose game has thrown, and removes it from the host so that its game can be released.
+     */
+    private void fail() {
+        if (!host.terminate(id)) {
+            terminate();
+        }
+    }
+
+    private void endTranscript() {
+        if (transcriptRecorder != null) {
+            transcriptRecorder.endSession(id);
+        }
+    }
+
+    /**
+     * Writes the game to a file in the given directory and releases it from memory, unless the session is busy
+     * handling input, has input queued, or has already ended.
+     * @param directory The directory that the file is written to.
+     * @return Returns true if the session was hibernated.
+     */
+    boolean hibernate(Path directory) {
+        if (status != SessionStatus.ACTIVE || isHibernated() || !isScheduled.compareAndSet(false, true)) {
+            return false;
+        }
+
+        try {
+            if (hasQueuedWork()) {
+                return false;
+            }
+
+            long startNanos = System.nanoTime();
+            Path file = directory.resolve(id + ".ser");
+
+            try {
+                write(file);
+            } catch (IOException ex) {
+                hibernationMetrics.recordFailure();
+                ex.printStackTrace();
+                return false;
+            }
+
+            hibernationFile.set(file);
+            gameEngine = null;
+            stepper = null;
+            hibernationMetrics.recordHibernation(System.nanoTime() - startNanos, Files.size(file));
+
+            if (status != SessionStatus.ACTIVE) {
+                // The session was terminated while it was being written.
+                deleteHibernationFile();
+            }
+
+            return true;
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            return false;
+        } finally {
+            isScheduled.set(false);
+
+            if (hasQueuedWork()) {
+                schedule();
+            }
+        }
+    }
+
+    private void restore() throws IOException, ClassNotFoundException {
+        long startNanos = System.nanoTime();
+        Path file = hibernationFile.get();
+        GameEngine restoredGameEngine;
+
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            restoredGameEngine = GameEngine.load(inputStream);
+        } catch (IOException | ClassNotFoundException ex) {
+            hibernationMetrics.recordFailure();
+            throw ex;
+        }
+
+        stepper = restoredGameEngine.resumeStepped();
+        gameEngine = restoredGameEngine;
+        for (SpectatorFeed spectator : spectators) {
+            restoredGameEngine.addSpectator(spectator);
+        }
+
+        // The session may have been terminated while it was being read, in which case the file is already deleted.
+        if (hibernationFile.compareAndSet(file, null)) {
+            hibernationMetrics.recordRestore(System.nanoTime() - startNanos);
+
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                // The game has been restored, so the file is only left behind.
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Stops the session from accepting further input. Input that has already been queued is still handled.
+     */
+    void stopAcceptingInput() {
+        isAcceptingInput = false;
+    }
+
+    /**
+     * Waits until all queued input has been handled.
+     * @param deadlineNanos The value of System.nanoTime() after which the session is no longer waited for.
+     * @return Returns true if the session became idle before the deadline.
+     */
+    boolean awaitIdle(long deadlineNanos) throws InterruptedException {
+        while (hasQueuedWork() || isScheduled.get()) {
+            if (System.nanoTime() - deadlineNanos >= 0) {
+                return false;
+            }
+
+            Thread.sleep(5);
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the game to a file named after the session in the given directory, unless the session is busy
+     * handling input. The session keeps running, and a hibernated session is copied without being restored.
+     * @param directory The directory that the file is written to.
+     * @return Returns true if the game was saved.
+     * @throws IOException Arises if the file cannot be written.
+     */
+    boolean save(Path directory) throws IOException {
+        if (!isScheduled.compareAndSet(false, true)) {
+            return false;
+        }
+
+        try {
+            Path file = directory.resolve(id + ".ser");
+            Path hibernatedFile = hibernationFile.get();
+
+            if (hibernatedFile != null) {
+                Files.copy(hibernatedFile, file, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                write(file);
+            }
+
+            return true;
+        } finally {
+            isScheduled.set(false);
+
+            if (hasQueuedWork()) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Writes the game to a temporary file that replaces the given file once it is complete, so that the given file
+     * never holds a partly written game.
+     */
+    private void write(Path file) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+            gameEngine.save(outputStream);
+        } catch (IOException ex) {
+            Files.deleteIfExists(temporaryFile);
+            throw ex;
+        }
+
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteHibernationFile() {
+        Path file = hibernationFile.getAndSet(null);
+
+        if (file == null) {
+            return;
+        }
+
+        hibernationMetrics.recordDiscard();
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private void schedule() {
+        if (isScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            Submission submission;
+
+            while ((submission = pollSubmission()) != null) {
+                if (status != SessionStatus.ACTIVE) {
+                    submission.discard();
+                    continue;
+                }
+
+                if (isHibernated()) {
+                    try {
+                        restore();
+                    } catch (IOException | ClassNotFoundException ex) {
+                        // The game stays hibernated with its file in place, so that the next line of input tries to
+                        // read it again rather than the player losing their game.
+                        ex.printStackTrace();
+                        submission.complete(null, ex);
+                        continue;
+                    }
+                }
+
+                if (submission.input == null) {
+                    submission.complete(null, null);
+                    continue;
+                }
+
+                try {
+                    StepResult result = stepper.step(submission.input);
+                    deliver(submission.input, result);
+                    submission.complete(result, null);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    fail();
+                    submission.complete(null, ex);
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                    fail();
+                    submission.complete(null, ex);
+                }
+            }
+
+            isScheduled.set(false);
+            // Input may have been queued after the loop above finished, but before the flag was cleared. It is
+            // either handled or discarded, so that no caller is left waiting for it.
+        } while (hasQueuedWork() && isScheduled.compareAndSet(false, true));
+    }
+
+    private synchronized void deliver(String input, StepResult result) {
+        expectedInputKind = result.getExpectedInputKind();
+
+        if (transcriptRecorder != null) {
+            transcriptRecorder.record(id, input, result.getOutput());
+        }
+
+        if (result.isFinished()) {
+            status = SessionStatus.FINISHED;
+            endTranscript();
+            closeSpectators();
+        }
+
+        if (listener != null) {
+            listener.onStep(id, result);
+        } else {
+            pendingOutput.append(result.getOutput());
+            pendingEvents.addAll(result.getEvents());
+        }
+    }
+
+    private static class Submission {
+
+        private final String input;
+        private final BiConsumer<StepResult, Exception> callback;
+
+
+        private Submission(String input, BiConsumer<StepResult, Exception> callback) {
+            this.input = input;
+            this.callback = callback;
+        }
+
+        private void complete(StepResult result, Exception ex) {
+            if (callback != null) {
+                callback.accept(result, ex);
+            }
+        }
+
+        private void discard() {
+            complete(null, new IllegalStateException("The session was terminated before the input was handled."));
+        }
+    }
+}
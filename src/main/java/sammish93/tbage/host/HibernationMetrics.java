@@ -0,0 +1,139 @@
+package sammish93.tbage.host;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class intended to keep track of how sessions on a GameHost are hibernated and restored. All values are
+ * counted from when the GameHost was created, and may be read at any time.
+ * @see GameHost#enableHibernation(java.nio.file.Path, java.time.Duration)
+ */
+public class HibernationMetrics {
+
+    private final LongAdder hibernationCount = new LongAdder();
+    private final LongAdder hibernationNanos = new LongAdder();
+    private final AtomicLong maxHibernationNanos = new AtomicLong();
+    private final LongAdder restoreCount = new LongAdder();
+    private final LongAdder restoreNanos = new LongAdder();
+    private final AtomicLong maxRestoreNanos = new AtomicLong();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final AtomicLong hibernatedSessionCount = new AtomicLong();
+
+
+    HibernationMetrics() {
+    }
+
+    void recordHibernation(long nanos, long bytes) {
+        hibernationCount.increment();
+        hibernationNanos.add(nanos);
+        maxHibernationNanos.accumulateAndGet(nanos, Math::max);
+        bytesWritten.add(bytes);
+        hibernatedSessionCount.incrementAndGet();
+    }
+
+    void recordRestore(long nanos) {
+        restoreCount.increment();
+        restoreNanos.add(nanos);
+        maxRestoreNanos.accumulateAndGet(nanos, Math::max);
+        hibernatedSessionCount.decrementAndGet();
+    }
+
+    void recordDiscard() {
+        hibernatedSessionCount.decrementAndGet();
+    }
+
+    void recordFailure() {
+        failureCount.increment();
+    }
+
+    /**
+     *
+     * @return Returns the number of times a session has been written to disk.
+     */
+    public long getHibernationCount() {
+        return hibernationCount.sum();
+    }
+
+    /**
+     *
+     * @return Returns the number of times a session has been read back from disk.
+     */
+    public long getRestoreCount() {
+        return restoreCount.sum();
+    }
+
+    /**
+     *
+     * @return Returns the number of times a session could not be written to or read from disk.
+     */
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     *
+     * @return Returns the number of sessions that are currently stored on disk rather than in memory.
+     */
+    public long getHibernatedSessionCount() {
+        return hibernatedSessionCount.get();
+    }
+
+    /**
+     *
+     * @return Returns the total number of bytes written to disk by hibernating sessions.
+     */
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     *
+     * @return Returns the average time taken to write a session to disk, in milliseconds.
+     */
+    public double getAverageHibernationMillis() {
+        return average(hibernationNanos.sum(), hibernationCount.sum());
+    }
+
+    /**
+     *
+     * @return Returns the longest time taken to write a session to disk, in milliseconds.
+     */
+    public double getMaxHibernationMillis() {
+        return maxHibernationNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     *
+     * @return Returns the average time taken to read a session back from disk, in milliseconds.
+     */
+    public double getAverageRestoreMillis() {
+        return average(restoreNanos.sum(), restoreCount.sum());
+    }
+
+    /**
+     *
+     * @return Returns the longest time taken to read a session back from disk, in milliseconds.
+     */
+    public double getMaxRestoreMillis() {
+        return maxRestoreNanos.get() / 1_000_000.0;
+    }
+
+    private static double average(long nanos, long count) {
+        return count == 0 ? 0 : nanos / 1_000_000.0 / count;
+    }
+
+    /**
+     *
+     * @return Returns a string representation of this object. Note that this method is overridden, and not the same
+     * as the default implementation.
+     */
+    @Override
+    public String toString() {
+        return String.format("Hibernated: %d (avg %.2f ms, max %.2f ms), Restored: %d (avg %.2f ms, max %.2f ms), " +
+                        "Currently Hibernated: %d, Bytes Written: %d, Failures: %d",
+                getHibernationCount(), getAverageHibernationMillis(), getMaxHibernationMillis(),
+                getRestoreCount(), getAverageRestoreMillis(), getMaxRestoreMillis(),
+                getHibernatedSessionCount(), getBytesWritten(), getFailureCount());
+    }
+}
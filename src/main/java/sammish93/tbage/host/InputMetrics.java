@@ -0,0 +1,118 @@
+package sammish93.tbage.host;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class intended to keep track of the input submitted to sessions hosted by a GameHost. Each session keeps its
+ * own metrics, and the host keeps metrics for all of its sessions together.
+ * @see GameSession#getInputMetrics()
+ * @see GameHost#getInputMetrics()
+ */
+public class InputMetrics {
+
+    private final InputMetrics parent;
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder rateLimitedCount = new LongAdder();
+    private final AtomicLong queuedCount = new AtomicLong();
+
+
+    InputMetrics(InputMetrics parent) {
+        this.parent = parent;
+    }
+
+    void recordAccepted() {
+        acceptedCount.increment();
+        queuedCount.incrementAndGet();
+
+        if (parent != null) {
+            parent.recordAccepted();
+        }
+    }
+
+    void recordDequeued() {
+        queuedCount.decrementAndGet();
+
+        if (parent != null) {
+            parent.recordDequeued();
+        }
+    }
+
+    void recordRejected() {
+        rejectedCount.increment();
+
+        if (parent != null) {
+            parent.recordRejected();
+        }
+    }
+
+    void recordDropped() {
+        droppedCount.increment();
+
+        if (parent != null) {
+            parent.recordDropped();
+        }
+    }
+
+    void recordRateLimited() {
+        rateLimitedCount.increment();
+
+        if (parent != null) {
+            parent.recordRateLimited();
+        }
+    }
+
+    /**
+     *
+     * @return Returns the number of lines of input that have been queued.
+     */
+    public long getAcceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    /**
+     *
+     * @return Returns the number of lines of input that were refused because the input queue was full.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     *
+     * @return Returns the number of queued lines of input that were discarded to make room for newer input.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     *
+     * @return Returns the number of lines of input that were refused or discarded because they exceeded the
+     * rate limit.
+     */
+    public long getRateLimitedCount() {
+        return rateLimitedCount.sum();
+    }
+
+    /**
+     *
+     * @return Returns the number of lines of input that are currently queued and waiting to be handled.
+     */
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     *
+     * @return Returns a string representation of this object. Note that this method is overridden, and not the same
+     * as the default implementation.
+     */
+    @Override
+    public String toString() {
+        return "Accepted: " + getAcceptedCount() + ", Queued: " + getQueuedCount() + ", Rejected: " +
+                getRejectedCount() + ", Dropped: " + getDroppedCount() + ", Rate Limited: " + getRateLimitedCount();
+    }
+}
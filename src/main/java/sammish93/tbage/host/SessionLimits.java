@@ -0,0 +1,126 @@
+package sammish93.tbage.host;
+
+import sammish93.tbage.enums.OverflowPolicy;
+import sammish93.tbage.exceptions.InvalidValueException;
+
+/**
+ * A class intended to hold the limits on how much input a single session hosted by a GameHost accepts, so that a
+ * player who floods a session with commands cannot slow down the sessions of other players. By default, input is
+ * neither queued nor rate limited without bound.
+ *
+ * Example:
+ * SessionLimits limits = SessionLimits.create();
+ * limits.setQueueCapacity(16);
+ * limits.setOverflowPolicy(OverflowPolicy.REJECT);
+ * limits.setCommandRate(10, 20);
+ * host.setSessionLimits(limits);
+ *
+ * @see GameHost#setSessionLimits(SessionLimits)
+ */
+public class SessionLimits {
+
+    private int queueCapacity = Integer.MAX_VALUE;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.REJECT;
+    private double commandsPerSecond = 0;
+    private int commandBurst = 1;
+
+
+    private SessionLimits() {
+    }
+
+    /**
+     *
+     * @return Returns a new instance of SessionLimits without any limits.
+     */
+    public static SessionLimits create() {
+        return new SessionLimits();
+    }
+
+    /**
+     *
+     * @return Returns the number of lines of input that a session can hold before they are handled.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     *
+     * @param queueCapacity Sets the number of lines of input that a session can hold before they are handled.
+     * @throws InvalidValueException Thrown if the capacity is less than 1.
+     */
+    public void setQueueCapacity(int queueCapacity) throws InvalidValueException {
+        if (queueCapacity < 1) {
+            throw new InvalidValueException("Value " + queueCapacity + " is invalid. Enter an integer " +
+                    "value greater than or equal to 1");
+        }
+
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     *
+     * @return Returns the policy used when a session's input queue is full, or its rate limit is exceeded.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     *
+     * @param overflowPolicy Sets the policy used when a session's input queue is full, or its rate limit is
+     *                       exceeded.
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     *
+     * @return Returns the number of commands per second that a session accepts over time, or 0 if there is no
+     * limit.
+     */
+    public double getCommandsPerSecond() {
+        return commandsPerSecond;
+    }
+
+    /**
+     *
+     * @return Returns the number of commands that a session accepts in quick succession before the rate limit
+     * applies.
+     */
+    public int getCommandBurst() {
+        return commandBurst;
+    }
+
+    /**
+     * Limits the rate of commands that a session accepts. A session may accept up to 'burst' commands in quick
+     * succession, after which it accepts 'commandsPerSecond' commands per second.
+     * @param commandsPerSecond The number of commands per second accepted over time, or 0 to remove the limit.
+     * @param burst The number of commands accepted in quick succession.
+     * @throws InvalidValueException Thrown if the rate is negative, or the burst is less than 1.
+     */
+    public void setCommandRate(double commandsPerSecond, int burst) throws InvalidValueException {
+        if (commandsPerSecond < 0) {
+            throw new InvalidValueException("Value " + commandsPerSecond + " is invalid. Enter a decimal " +
+                    "value greater than or equal to 0");
+        }
+        if (burst < 1) {
+            throw new InvalidValueException("Value " + burst + " is invalid. Enter an integer " +
+                    "value greater than or equal to 1");
+        }
+
+        this.commandsPerSecond = commandsPerSecond;
+        this.commandBurst = burst;
+    }
+
+    SessionLimits copy() {
+        var copy = new SessionLimits();
+        copy.queueCapacity = queueCapacity;
+        copy.overflowPolicy = overflowPolicy;
+        copy.commandsPerSecond = commandsPerSecond;
+        copy.commandBurst = commandBurst;
+
+        return copy;
+    }
+}
@@ -0,0 +1,96 @@
+package sammish93.tbage.host;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A class intended to describe the outcome of GameHost.shutdown(Path, Duration), so that an operator can tell
+ * whether any player's progress was lost.
+ * @see GameHost#shutdown(java.nio.file.Path, java.time.Duration)
+ */
+public class ShutdownReport {
+
+    private final List<String> savedSessionIds;
+    private final List<String> failedSessionIds;
+    private final List<String> timedOutSessionIds;
+    private final long drainMillis;
+    private final long saveMillis;
+
+
+    ShutdownReport(List<String> savedSessionIds, List<String> failedSessionIds, List<String> timedOutSessionIds,
+                   long drainMillis, long saveMillis) {
+        this.savedSessionIds = Collections.unmodifiableList(savedSessionIds);
+        this.failedSessionIds = Collections.unmodifiableList(failedSessionIds);
+        this.timedOutSessionIds = Collections.unmodifiableList(timedOutSessionIds);
+        this.drainMillis = drainMillis;
+        this.saveMillis = saveMillis;
+    }
+
+    /**
+     *
+     * @return Returns the identifiers of the sessions that were saved.
+     */
+    public List<String> getSavedSessionIds() {
+        return savedSessionIds;
+    }
+
+    /**
+     *
+     * @return Returns the identifiers of the sessions that could not be saved, either because they were still
+     * handling input or because their file could not be written.
+     */
+    public List<String> getFailedSessionIds() {
+        return failedSessionIds;
+    }
+
+    /**
+     *
+     * @return Returns the identifiers of the sessions that had not been saved when the deadline passed.
+     */
+    public List<String> getTimedOutSessionIds() {
+        return timedOutSessionIds;
+    }
+
+    /**
+     *
+     * @return Returns true if every session that was still being played was saved.
+     */
+    public boolean isComplete() {
+        return failedSessionIds.isEmpty() && timedOutSessionIds.isEmpty();
+    }
+
+    /**
+     *
+     * @return Returns the time taken to let queued input be handled, in milliseconds.
+     */
+    public long getDrainMillis() {
+        return drainMillis;
+    }
+
+    /**
+     *
+     * @return Returns the time taken to save every session, in milliseconds.
+     */
+    public long getSaveMillis() {
+        return saveMillis;
+    }
+
+    /**
+     *
+     * @return Returns the total time taken to shut down, in milliseconds.
+     */
+    public long getTotalMillis() {
+        return drainMillis + saveMillis;
+    }
+
+    /**
+     *
+     * @return Returns a string representation of this object. Note that this method is overridden, and not the same
+     * as the default implementation.
+     */
+    @Override
+    public String toString() {
+        return "Saved: " + savedSessionIds.size() + ", Failed: " + failedSessionIds.size() + ", Timed Out: " +
+                timedOutSessionIds.size() + ", Drained In: " + drainMillis + " ms, Saved In: " + saveMillis + " ms";
+    }
+}
@@ -0,0 +1,52 @@
+package sammish93.tbage.host;
+
+/**
+ * A token bucket used to limit the rate of commands accepted by a session. The bucket holds up to 'capacity'
+ * tokens, and is refilled at a steady rate. Each command takes a single token.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+
+    TokenBucket(double tokensPerSecond, int capacity) {
+        this.capacity = capacity;
+        tokensPerNano = tokensPerSecond / 1_000_000_000.0;
+        tokens = capacity;
+        lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     *
+     * @return Returns true if a token was taken, or false if the bucket is empty.
+     */
+    synchronized boolean tryAcquire() {
+        refill();
+
+        if (tokens >= 1) {
+            tokens--;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     *
+     * @return Returns the number of nanoseconds until a token is available.
+     */
+    synchronized long nanosUntilAvailable() {
+        refill();
+
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
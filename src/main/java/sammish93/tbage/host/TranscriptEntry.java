@@ -0,0 +1,55 @@
+package sammish93.tbage.host;
+
+/**
+ * A class intended to hold a single turn of a recorded session - the line of input entered by the player, and all
+ * output that the game printed in response.
+ * @see TranscriptReader
+ */
+public class TranscriptEntry {
+
+    private final int turn;
+    private final long timestamp;
+    private final String input;
+    private final String output;
+
+
+    TranscriptEntry(int turn, long timestamp, String input, String output) {
+        this.turn = turn;
+        this.timestamp = timestamp;
+        this.input = input;
+        this.output = output;
+    }
+
+    /**
+     *
+     * @return Returns the number of the turn within the session. Turn 0 holds the output printed when the game
+     * started.
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     *
+     * @return Returns the time that the turn was handled, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     *
+     * @return Returns the line of input entered by the player, or null for the turn printed when the game started.
+     */
+    public String getInput() {
+        return input;
+    }
+
+    /**
+     *
+     * @return Returns all output that the game printed during the turn.
+     */
+    public String getOutput() {
+        return output;
+    }
+}
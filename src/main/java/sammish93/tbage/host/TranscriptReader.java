@@ -0,0 +1,192 @@
+package sammish93.tbage.host;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A class intended to read the transcript of a single session written by a TranscriptRecorder. The index of the
+ * transcript is read when the reader is opened, and a turn is found by decompressing only the block that holds it.
+ *
+ * Example:
+ * var reader = TranscriptReader.open(Path.of("transcripts"), sessionId);
+ * for (int turn = reader.getFirstTurn(); turn <= reader.getLastTurn(); turn++) {
+ *     System.out.print(reader.readTurn(turn).getOutput());
+ * }
+ * @see TranscriptRecorder
+ */
+public class TranscriptReader {
+
+    private final Path transcriptFile;
+    private final int[] firstTurns;
+    private final int[] lastTurns;
+    private final long[] offsets;
+
+
+    private TranscriptReader(Path transcriptFile, int[] firstTurns, int[] lastTurns, long[] offsets) {
+        this.transcriptFile = transcriptFile;
+        this.firstTurns = firstTurns;
+        this.lastTurns = lastTurns;
+        this.offsets = offsets;
+    }
+
+    /**
+     *
+     * @param directory The directory that the TranscriptRecorder writes to.
+     * @param sessionId The identifier of the session.
+     * @return Returns a new instance of TranscriptReader, which holds the blocks written up until now.
+     * @throws IOException Thrown if the session has no transcript, or it cannot be read.
+     */
+    public static TranscriptReader open(Path directory, String sessionId) throws IOException {
+        Path indexFile = directory.resolve(sessionId + TranscriptRecorder.INDEX_SUFFIX);
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        int blockCount = index.remaining() / TranscriptRecorder.INDEX_RECORD_SIZE;
+
+        int[] firstTurns = new int[blockCount];
+        int[] lastTurns = new int[blockCount];
+        long[] offsets = new long[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            firstTurns[i] = index.getInt();
+            lastTurns[i] = index.getInt();
+            offsets[i] = index.getLong();
+        }
+
+        return new TranscriptReader(directory.resolve(sessionId + TranscriptRecorder.TRANSCRIPT_SUFFIX),
+                firstTurns, lastTurns, offsets);
+    }
+
+    /**
+     *
+     * @return Returns the number of compressed blocks in the transcript.
+     */
+    public int getBlockCount() {
+        return offsets.length;
+    }
+
+    /**
+     *
+     * @return Returns the number of the first turn in the transcript, or -1 if it is empty.
+     */
+    public int getFirstTurn() {
+        return offsets.length == 0 ? -1 : firstTurns[0];
+    }
+
+    /**
+     *
+     * @return Returns the number of the last turn in the transcript, or -1 if it is empty.
+     */
+    public int getLastTurn() {
+        return offsets.length == 0 ? -1 : lastTurns[offsets.length - 1];
+    }
+
+    /**
+     * Finds the block that holds a turn by a binary search of the index, and decompresses only that block.
+     * @param turn The number of the turn.
+     * @return Returns the turn, or null if the transcript does not hold it.
+     */
+    public TranscriptEntry readTurn(int turn) throws IOException {
+        int low = 0;
+        int high = offsets.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+
+            if (lastTurns[middle] < turn) {
+                low = middle + 1;
+            } else if (firstTurns[middle] > turn) {
+                high = middle - 1;
+            } else {
+                for (TranscriptEntry entry : readBlock(middle)) {
+                    if (entry.getTurn() == turn) {
+                        return entry;
+                    }
+                }
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     *
+     * @return Returns every turn in the transcript, in the order they were recorded.
+     */
+    public List<TranscriptEntry> readAll() throws IOException {
+        var entries = new ArrayList<TranscriptEntry>();
+
+        for (int i = 0; i < offsets.length; i++) {
+            entries.addAll(readBlock(i));
+        }
+
+        return entries;
+    }
+
+    private List<TranscriptEntry> readBlock(int block) throws IOException {
+        byte[] uncompressed;
+
+        try (FileChannel channel = FileChannel.open(transcriptFile, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, offsets[block], TranscriptRecorder.BLOCK_HEADER_SIZE);
+            int uncompressedLength = header.getInt();
+            int compressedLength = header.getInt();
+            ByteBuffer compressed = readFully(channel, offsets[block] + TranscriptRecorder.BLOCK_HEADER_SIZE,
+                    compressedLength);
+
+            uncompressed = new byte[uncompressedLength];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed.array(), 0, compressedLength);
+                int length = 0;
+                while (length < uncompressedLength && !inflater.finished()) {
+                    length += inflater.inflate(uncompressed, length, uncompressedLength - length);
+                }
+            } catch (DataFormatException ex) {
+                throw new IOException("Block " + block + " of " + transcriptFile + " is corrupt.", ex);
+            } finally {
+                inflater.end();
+            }
+        }
+
+        var entries = new ArrayList<TranscriptEntry>(lastTurns[block] - firstTurns[block] + 1);
+        var input = new DataInputStream(new ByteArrayInputStream(uncompressed));
+        while (input.available() > 0) {
+            entries.add(new TranscriptEntry(input.readInt(), input.readLong(), readString(input), readString(input)));
+        }
+
+        return entries;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("The transcript ended before the end of a block.");
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] encoded = new byte[length];
+        input.readFully(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,381 @@
+package sammish93.tbage.host;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.Deflater;
+
+/**
+ * A class intended to record every turn of the sessions on a GameHost to append-only transcript files, so that
+ * sessions can be looked into after they have finished. Each session is recorded to its own pair of files in a
+ * directory:
+ *   - '[session id].transcript' holds the turns in blocks, each of which is compressed on its own.
+ *   - '[session id].index' holds the first and last turn of each block together with where the block begins, so that
+ *   a single turn can be found without decompressing the whole transcript.
+ *
+ * Game threads only hand each turn over to a lock-free queue. Compression and writing are done by a single
+ * background thread, which writes a block once it has grown past the block size, or once a session has been quiet
+ * for a second. A block that cannot be written is kept, and written again a second later.
+ *
+ * Example:
+ * host.enableTranscripts(Path.of("transcripts"));
+ * ...
+ * var turn = TranscriptReader.open(Path.of("transcripts"), sessionId).readTurn(12);
+ * @see TranscriptReader
+ */
+public class TranscriptRecorder implements AutoCloseable {
+
+    static final String TRANSCRIPT_SUFFIX = ".transcript";
+    static final String INDEX_SUFFIX = ".index";
+    static final int INDEX_RECORD_SIZE = 16;
+    static final int BLOCK_HEADER_SIZE = 8;
+
+    private static final int DEFAULT_BLOCK_SIZE = 32 * 1024;
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path directory;
+    private final int blockSize;
+    private final Queue<Record> records = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isWaiting = new AtomicBoolean(false);
+    private final AtomicLong failedWriteCount = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean isClosed = false;
+
+    // Only used by the writer thread.
+    private final Map<String, Block> blocks = new HashMap<>();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private byte[] compressed = new byte[1024];
+
+
+    private TranscriptRecorder(Path directory, int blockSize) {
+        this.directory = directory;
+        this.blockSize = blockSize;
+        writer = new Thread(this::write, "tbage-transcript");
+        writer.setDaemon(true);
+    }
+
+    /**
+     *
+     * @param directory The directory that transcripts are written to. It is created if it does not exist.
+     * @return Returns a new instance of TranscriptRecorder that compresses blocks of roughly 32 KB.
+     */
+    public static TranscriptRecorder create(Path directory) throws IOException {
+        return create(directory, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     *
+     * @param directory The directory that transcripts are written to. It is created if it does not exist.
+     * @param blockSize The number of bytes of recorded turns collected before a block is compressed and written.
+     *                  Smaller blocks make single turns quicker to find, but compress less well.
+     * @return Returns a new instance of TranscriptRecorder.
+     */
+    public static TranscriptRecorder create(Path directory, int blockSize) throws IOException {
+        Files.createDirectories(directory);
+
+        var recorder = new TranscriptRecorder(directory, Math.max(blockSize, 1));
+        recorder.writer.start();
+        return recorder;
+    }
+
+    /**
+     *
+     * @return Returns the directory that transcripts are written to.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Hands a turn over to the background writer, and returns straight away. Turns are numbered in the order that
+     * they are recorded for each session, carrying on from any turns already written to the session's transcript.
+     * @param sessionId The identifier of the session that the turn belongs to.
+     * @param input The line of input entered by the player, or null for the output printed when a game starts.
+     * @param output All output that the game printed during the turn.
+     * @return Returns false if the recorder has been closed, in which case the turn is not recorded.
+     */
+    public boolean record(String sessionId, String input, String output) {
+        if (isClosed) {
+            return false;
+        }
+
+        records.add(new Record(sessionId, System.currentTimeMillis(), input,
+                Objects.requireNonNullElse(output, "")));
+        wakeWriter();
+        return true;
+    }
+
+    /**
+     * Writes the remaining turns of a session without waiting for its block to fill up. This is called once a
+     * session has finished or has been terminated.
+     * @param sessionId The identifier of the session.
+     */
+    public void endSession(String sessionId) {
+        if (!isClosed) {
+            records.add(new Record(sessionId, 0, null, null));
+            wakeWriter();
+        }
+    }
+
+    /**
+     * Stops accepting turns, and blocks until every turn that has been recorded is written. If the calling thread
+     * is interrupted while waiting, the turns are still written in the background, and the interrupt status of the
+     * thread is kept.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        LockSupport.unpark(writer);
+
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     *
+     * @return Returns the number of times that a block could not be written. Such blocks are kept and written again.
+     */
+    public long getFailedWriteCount() {
+        return failedWriteCount.get();
+    }
+
+    private void wakeWriter() {
+        if (isWaiting.compareAndSet(true, false)) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void write() {
+        while (true) {
+            Record record;
+            while ((record = records.poll()) != null) {
+                handle(record);
+            }
+
+            if (isClosed && records.isEmpty()) {
+                break;
+            }
+
+            writeQuietBlocks(System.nanoTime());
+
+            isWaiting.set(true);
+            if (records.isEmpty() && !isClosed) {
+                LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+            }
+            isWaiting.set(false);
+        }
+
+        for (Block block : blocks.values()) {
+            if (!writeBlock(block)) {
+                System.err.println("The remaining turns of session '" + block.sessionId + "' could not be " +
+                        "written to its transcript.");
+            }
+        }
+        blocks.clear();
+        deflater.end();
+    }
+
+    private void handle(Record record) {
+        Block block = blocks.get(record.sessionId);
+
+        if (record.output == null) {
+            // A block that cannot be written is kept, so that it is written again once the session is quiet.
+            if (block != null && writeBlock(block)) {
+                blocks.remove(record.sessionId);
+            }
+            return;
+        }
+
+        try {
+            if (block == null) {
+                block = new Block(record.sessionId, readNextTurn(record.sessionId));
+                blocks.put(record.sessionId, block);
+            }
+
+            block.add(record);
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            return;
+        }
+
+        if (block.bytes.size() >= blockSize) {
+            writeBlock(block);
+        }
+    }
+
+    private void writeQuietBlocks(long now) {
+        Iterator<Block> iterator = blocks.values().iterator();
+
+        while (iterator.hasNext()) {
+            Block block = iterator.next();
+
+            if (now - block.lastRecordNanos >= FLUSH_INTERVAL_NANOS) {
+                if (writeBlock(block)) {
+                    // The next turn number is read back from the index if the session records again.
+                    iterator.remove();
+                } else {
+                    // Waits another interval before trying again.
+                    block.lastRecordNanos = now;
+                }
+            }
+        }
+    }
+
+    private int readNextTurn(String sessionId) throws IOException {
+        Path indexFile = directory.resolve(sessionId + INDEX_SUFFIX);
+
+        if (!Files.exists(indexFile)) {
+            return 0;
+        }
+
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long recordCount = channel.size() / INDEX_RECORD_SIZE;
+
+            if (recordCount == 0) {
+                return 0;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(INDEX_RECORD_SIZE);
+            channel.read(buffer, (recordCount - 1) * INDEX_RECORD_SIZE);
+            return buffer.getInt(4) + 1;
+        }
+    }
+
+    /**
+     * Compresses a block and appends it to the transcript of its session. The turns in the block are only cleared
+     * once the block has been written, so a block that cannot be written can be written again later.
+     * @return Returns false if the block could not be written.
+     */
+    private boolean writeBlock(Block block) {
+        if (block.bytes.size() == 0) {
+            return true;
+        }
+
+        byte[] uncompressed = block.bytes.toByteArray();
+        deflater.reset();
+        deflater.setInput(uncompressed);
+        deflater.finish();
+
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                byte[] larger = new byte[compressed.length * 2];
+                System.arraycopy(compressed, 0, larger, 0, length);
+                compressed = larger;
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        Path transcriptFile = directory.resolve(block.sessionId + TRANSCRIPT_SUFFIX);
+        Path indexFile = directory.resolve(block.sessionId + INDEX_SUFFIX);
+
+        try (FileChannel transcript = FileChannel.open(transcriptFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+             FileChannel index = FileChannel.open(indexFile, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long offset = transcript.size();
+
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+            header.putInt(uncompressed.length).putInt(length).flip();
+            writeFully(transcript, header);
+            writeFully(transcript, ByteBuffer.wrap(compressed, 0, length));
+
+            // The index record is only written once its block is complete, so a reader never finds a partial block.
+            ByteBuffer indexRecord = ByteBuffer.allocate(INDEX_RECORD_SIZE);
+            indexRecord.putInt(block.firstTurn).putInt(block.nextTurn - 1).putLong(offset).flip();
+            writeFully(index, indexRecord);
+        } catch (IOException ex) {
+            // A block that was only partly written is never indexed, so it is skipped by readers.
+            failedWriteCount.incrementAndGet();
+            ex.printStackTrace();
+            return false;
+        }
+
+        block.clear();
+        return true;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static class Record {
+
+        private final String sessionId;
+        private final long timestamp;
+        private final String input;
+        private final String output;
+
+
+        private Record(String sessionId, long timestamp, String input, String output) {
+            this.sessionId = sessionId;
+            this.timestamp = timestamp;
+            this.input = input;
+            this.output = output;
+        }
+    }
+
+    /**
+     * The turns of a single session that have not yet been written, encoded as they are stored once decompressed.
+     */
+    private static class Block {
+
+        private final String sessionId;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream output = new DataOutputStream(bytes);
+        private int firstTurn;
+        private int nextTurn;
+        private long lastRecordNanos;
+
+
+        private Block(String sessionId, int nextTurn) {
+            this.sessionId = sessionId;
+            this.nextTurn = nextTurn;
+            firstTurn = nextTurn;
+        }
+
+        private void add(Record record) throws IOException {
+            output.writeInt(nextTurn++);
+            output.writeLong(record.timestamp);
+            writeString(record.input);
+            writeString(record.output);
+            lastRecordNanos = System.nanoTime();
+        }
+
+        private void writeString(String string) throws IOException {
+            if (string == null) {
+                output.writeInt(-1);
+            } else {
+                byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(encoded.length);
+                output.write(encoded);
+            }
+        }
+
+        private void clear() {
+            bytes.reset();
+            firstTurn = nextTurn;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package sammish93.tbage.interfaces;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.models.Encounter;
+
+import java.io.Serializable;
+
+/**
+ * A functional interface intended to carry out a single command entered at the command prompt of an encounter (e.g.
+ * 'status'). Handlers are registered with the CommandRegistry of a game session. Like the PromptCallback interface,
+ * it remains serialisable so that a game with registered commands can be saved.
+ *
+ * Example of a lambda being used for this functional interface is as follows:
+ * gameEngine.addCommand(CombatEncounter.class, "flee", (engine, encounter) -> {
+ *             engine.printMessage("You run away from " + encounter.getName() + "!");
+ *             engine.getPlayer().subtractFromCurrentHealth(1);
+ *         });
+ * @param <T> The type of encounter that the command is entered in.
+ * @see sammish93.tbage.tools.CommandRegistry
+ */
+@FunctionalInterface
+public interface CommandHandler<T extends Encounter> extends Serializable {
+
+    /**
+     *
+     * @param gameEngine The current instance of the GameEngine.
+     * @param encounter The encounter that the command was entered in.
+     */
+    void handle(GameEngine gameEngine, T encounter)
+            throws InventoryFullException, InvalidValueException, InterruptedException;
+}
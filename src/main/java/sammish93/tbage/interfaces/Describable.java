@@ -0,0 +1,50 @@
+package sammish93.tbage.interfaces;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * An interface intended to write the description of a part of a game straight to an Appendable (e.g. a
+ * StringBuilder, or a Writer to a file), instead of first building the whole description as a string. This keeps
+ * the memory used to dump a large world bounded by its largest single encounter.
+ *
+ * Example of dumping a world to a file:
+ * try (var writer = Files.newBufferedWriter(Path.of("world.txt"))) {
+ *     encounters.describeTo(writer);
+ * }
+ * @see sammish93.tbage.models.Encounters#writeJsonLines(Appendable)
+ */
+public interface Describable {
+
+    /**
+     * Writes the same human-readable description that is returned by toString().
+     * @param out The Appendable that the description is written to.
+     * @throws IOException Arises if the description cannot be written to the Appendable.
+     */
+    void describeTo(Appendable out) throws IOException;
+
+    /**
+     * Writes the description as a single JSON object, without a line break.
+     * @param out The Appendable that the description is written to.
+     * @throws IOException Arises if the description cannot be written to the Appendable.
+     */
+    void describeJsonTo(Appendable out) throws IOException;
+
+    /**
+     *
+     * @param describable The object to be described.
+     * @return Returns the human-readable description of the object as a string.
+     */
+    static String describe(Describable describable) {
+        StringBuilder sb = new StringBuilder();
+
+        try {
+            describable.describeTo(sb);
+        } catch (IOException ex) {
+            // A StringBuilder never throws an IOException.
+            throw new UncheckedIOException(ex);
+        }
+
+        return sb.toString();
+    }
+}
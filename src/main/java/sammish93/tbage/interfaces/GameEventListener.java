@@ -0,0 +1,26 @@
+package sammish93.tbage.interfaces;
+
+import sammish93.tbage.events.GameEvent;
+
+/**
+ * An interface intended to receive every event that a game emits, in the order they happen. Text is rendered by a
+ * listener of its own, so a client that only needs machine-readable events (e.g. a network client drawing its own
+ * interface) can turn text rendering off and read the events instead.
+ *
+ * Example of a listener that counts the damage dealt by the player:
+ * gameEngine.addEventListener(event -> {
+ *             if (event instanceof DamageDealt damageDealt && damageDealt.isDealtByPlayer()) {
+ *                 totalDamage += damageDealt.getAmount();
+ *             }
+ *         });
+ * @see sammish93.tbage.GameEngine#addEventListener(GameEventListener)
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+    /**
+     *
+     * @param event The event emitted by the game.
+     */
+    void onEvent(GameEvent event);
+}
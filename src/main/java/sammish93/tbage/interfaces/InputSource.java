@@ -0,0 +1,21 @@
+package sammish93.tbage.interfaces;
+
+/**
+ * An interface intended to supply the game with lines of player input. The terminal and Java Swing interfaces
+ * provide their own implementations, while a developer can supply a custom implementation (e.g. a scripted list of
+ * commands for a test rig) by using the 'HEADLESS' platform.
+ *
+ * Example of a scripted input source:
+ * Iterator<String> script = List.of("help", "attack", "1", "n", "exit").iterator();
+ * InputSource inputSource = () -> script.hasNext() ? script.next() : null;
+ */
+@FunctionalInterface
+public interface InputSource {
+
+    /**
+     * Blocks until the next line of input is available.
+     * @return Returns the next line of input, or null if no further input will ever be available.
+     * @throws InterruptedException Thrown if the waiting thread is interrupted.
+     */
+    String readLine() throws InterruptedException;
+}
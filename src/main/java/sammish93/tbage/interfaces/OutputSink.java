@@ -0,0 +1,30 @@
+package sammish93.tbage.interfaces;
+
+/**
+ * An interface intended to receive all text that the game prints. By default text is written to System.out, but a
+ * developer can supply a custom implementation (e.g. one that collects output for a test rig or a network client)
+ * by using the 'HEADLESS' platform.
+ *
+ * Example of an output sink that collects everything the game prints:
+ * StringBuilder transcript = new StringBuilder();
+ * OutputSink outputSink = transcript::append;
+ *
+ * The game calls flush() whenever it is about to wait for input, so that a sink may collect the output of a whole
+ * turn and deliver it at once.
+ * @see sammish93.tbage.tools.BufferedOutputSink
+ */
+@FunctionalInterface
+public interface OutputSink {
+
+    /**
+     * @param text The text to be written. Line breaks are included in the text, and are not added by the sink.
+     */
+    void write(String text);
+
+    /**
+     * Delivers any text that the sink has collected but not yet written. Sinks that write text straight away do not
+     * need to override this method.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,34 @@
+package sammish93.tbage.interfaces;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+
+import java.io.Serializable;
+
+/**
+ * An interface intended to represent a question that the game is waiting for the player to answer, such as the
+ * command prompt of an encounter or a numbered list of enemies to attack. Prompts are kept on a stack in the
+ * GameContext of a game session, and each line of input is handed to the prompt on top of the stack. As prompts
+ * are serialisable, a game that is waiting for input can be saved and resumed without a thread being blocked.
+ * @see sammish93.tbage.GameContext#pushPrompt(Prompt)
+ */
+public interface Prompt extends Serializable {
+
+    /**
+     *
+     * @return Returns the kind of input that this prompt is waiting for.
+     */
+    InputKind getInputKind();
+
+    /**
+     * Handles a single line of input. A prompt that has been answered removes itself from the stack before any
+     * further prompts are pushed.
+     * @param gameEngine The current instance of the GameEngine is required so that dependencies such as the
+     *                   current encounter and player can be referenced.
+     * @param input A line of input entered by the player.
+     */
+    void onInput(GameEngine gameEngine, String input)
+            throws InventoryFullException, InvalidValueException, InterruptedException;
+}
@@ -0,0 +1,32 @@
+package sammish93.tbage.interfaces;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+
+import java.io.Serializable;
+
+/**
+ * A functional interface intended to receive the result of a prompt once the player has answered it. Like the
+ * Useable interface, it remains serialisable so that a game waiting on a prompt can be saved.
+ *
+ * Example of a lambda being used for this functional interface is as follows:
+ * EncounterController.chooseNpc(gameEngine, encounter, (engine, target) -> {
+ *             if (target != null) {
+ *                 ((Enemy) target).subtractFromCurrentHealth(10);
+ *             }
+ *         });
+ * @param <T> The type of result given by the prompt (e.g. the Enemy chosen from a list of enemies). The result is
+ *           null if the player backed out of the prompt.
+ */
+@FunctionalInterface
+public interface PromptCallback<T> extends Serializable {
+
+    /**
+     *
+     * @param gameEngine The current instance of the GameEngine.
+     * @param result The result of the prompt, or null if there is none.
+     */
+    void onResult(GameEngine gameEngine, T result)
+            throws InventoryFullException, InvalidValueException, InterruptedException;
+}
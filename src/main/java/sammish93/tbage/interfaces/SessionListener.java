@@ -0,0 +1,23 @@
+package sammish93.tbage.interfaces;
+
+import sammish93.tbage.gui.StepResult;
+
+/**
+ * An interface intended to receive the output of a game session hosted by a GameHost (e.g. to forward it to a
+ * network client). Output produced while no listener is attached is kept, and handed to the next listener that
+ * attaches. A session that is ended before the game exits (e.g. because the game threw) hands its listener a last
+ * result that accepts no further input.
+ *
+ * Example of a listener that prints each session's output:
+ * SessionListener listener = (sessionId, result) -> System.out.print(result.getOutput());
+ */
+@FunctionalInterface
+public interface SessionListener {
+
+    /**
+     *
+     * @param sessionId The identifier of the session that produced the output.
+     * @param result The text printed by the session, together with the kind of input that it is waiting for.
+     */
+    void onStep(String sessionId, StepResult result);
+}
@@ -2,6 +2,7 @@ package sammish93.tbage.models;
 
 import sammish93.tbage.GameEngine;
 import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.interfaces.Describable;
 import sammish93.tbage.interfaces.Useable;
 import sammish93.tbage.tools.StringParser;
 
@@ -14,7 +15,7 @@ import java.util.UUID;
  * An enemy can have multiple abilities in its pool, and an algorithm will run, based on weighted value
  * percentages, and the enemy's isMelee boolean value, along with its melee chance per turn.
  */
-public class Ability implements Useable, Serializable {
+public class Ability implements Useable, Serializable, Describable {
 
     private String name;
     private double abilityProbabilityPerTurn;
@@ -170,9 +171,25 @@ public class Ability implements Useable, Serializable {
      */
     @Override
     public String toString() {
+        return Describable.describe(this);
+    }
+
+    @Override
+    public void describeTo(Appendable out) throws IOException {
         double i = abilityProbabilityPerTurn * 100;
-        return "Ability Name: '" + name + "', " +
-                "Probability Per Turn: " + (int) i + "%";
+        out.append("Ability Name: '").append(name)
+                .append("', Probability Per Turn: ").append(String.valueOf((int) i)).append('%');
+    }
+
+    @Override
+    public void describeJsonTo(Appendable out) throws IOException {
+        out.append('{');
+        JsonAppender.appendField(out, "name");
+        JsonAppender.appendString(out, name);
+        out.append(',');
+        JsonAppender.appendField(out, "probabilityPerTurn");
+        JsonAppender.appendNumber(out, abilityProbabilityPerTurn);
+        out.append('}');
     }
 
     /**
@@ -1,17 +1,18 @@
 package sammish93.tbage.models;
 
 import sammish93.tbage.GameEngine;
-import sammish93.tbage.enums.GamePlatform;
+import sammish93.tbage.enums.InputKind;
 import sammish93.tbage.exceptions.InvalidValueException;
 import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.interfaces.Describable;
 import sammish93.tbage.interfaces.Useable;
 import sammish93.tbage.tools.EncounterController;
+import sammish93.tbage.tools.InputPrompt;
 
+import java.io.IOException;
 import java.util.TreeMap;
 import java.util.UUID;
 
-import static sammish93.tbage.GameEngine.scanner;
-
 
 /**
  * A class to be used in a NonCombatEncounter. An ally can be interacted with, and also traded with to supply the
@@ -64,76 +65,58 @@ public class Ally extends NonPlayableCharacter {
         if (!getNpcItemTable().isEmpty()) {
             gameEngine.printMessage("Do you wish to trade?");
 
-            boolean isFinishedPurchasing = false;
-
-            String inputComparison = EncounterController.getInput();
-
-            while (!isFinishedPurchasing) {
-                if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                    Thread.sleep(100);
-                    if (EncounterController.getInput().equals(inputComparison)) {
-                        continue;
-                    }
-                } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                    EncounterController.setInput(scanner.nextLine());
-                }
-
-                String output = EncounterController.getInput();
-
-                inputComparison = "";
-                EncounterController.setInput("");
+            awaitTradeAnswer(gameEngine);
+        }
+    }
 
-                if (output.equalsIgnoreCase("yes") || output.equalsIgnoreCase("y")) {
-                    Item item = EncounterController.chooseItem(gameEngine, this);
+    private void awaitTradeAnswer(GameEngine gameEngine) {
+        gameEngine.getContext().pushPrompt(new InputPrompt(InputKind.CONFIRMATION, (engine, output) -> {
+            if (output.equalsIgnoreCase("yes") || output.equalsIgnoreCase("y")) {
+                EncounterController.chooseItem(engine, this, (e, item) -> {
                     if (item != null) {
-                        var player = gameEngine.getPlayer();
-                        try {
-                            player.addItemToInventory(item);
-                            player.subtractFromCurrencyAmount(item.getValue());
-                            gameEngine.printMessage(item.getName() + " is added to your inventory.");
-                            gameEngine.printMessage("You now have " + (int) player.getCurrencyAmount() +
-                                    " gold remaining.");
-
-                        } catch (InventoryFullException ex) {
-                            gameEngine.printMessage(ex.getMessage());
-                        } catch (InvalidValueException e) {
-                            e.printStackTrace();
-                        }
+                        purchase(e, item);
                     }
-                }
 
-                gameEngine.printMessage("Would you like to purchase another item?");
-                boolean isAnswered = false;
-
-                while (!isAnswered) {
-                    if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                        Thread.sleep(100);
-                        if (EncounterController.getInput().equals(inputComparison)) {
-                            continue;
-                        }
-                    } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                        EncounterController.setInput(scanner.nextLine());
-                    }
+                    askToPurchaseAnother(e);
+                });
+            } else {
+                askToPurchaseAnother(engine);
+            }
+        }));
+    }
 
-                    output = EncounterController.getInput();
-                    isAnswered = true;
+    private void purchase(GameEngine gameEngine, Item item) throws InterruptedException {
+        var player = gameEngine.getPlayer();
+        try {
+            player.addItemToInventory(item);
+            player.subtractFromCurrencyAmount(item.getValue());
+            gameEngine.printMessage(item.getName() + " is added to your inventory.");
+            gameEngine.printMessage("You now have " + (int) player.getCurrencyAmount() +
+                    " gold remaining.");
+
+        } catch (InventoryFullException ex) {
+            gameEngine.printMessage(ex.getMessage());
+        } catch (InvalidValueException e) {
+            e.printStackTrace();
+        }
+    }
 
-                    inputComparison = "";
-                    EncounterController.setInput("");
-                }
+    private void askToPurchaseAnother(GameEngine gameEngine) throws InterruptedException {
+        gameEngine.printMessage("Would you like to purchase another item?");
 
-                if (!(output.equalsIgnoreCase("yes") || output.equalsIgnoreCase("y"))) {
-                    isFinishedPurchasing = true;
-                }
+        gameEngine.getContext().pushPrompt(new InputPrompt(InputKind.CONFIRMATION, (engine, output) -> {
+            if (output.equalsIgnoreCase("yes") || output.equalsIgnoreCase("y")) {
+                awaitTradeAnswer(engine);
+            } else {
+                engine.printMessage("You stopped interacting.");
             }
-
-            gameEngine.printMessage("You stopped interacting.");
-        }
+        }));
     }
 
     /**
      * A method to control the behaviour of an Ally when interacted with. If an onInteractionBehaviour exists
-     * then this is executed, and then a trade is started.
+     * then this is executed, and then a trade is started. The trade does not wait for input here, but pushes its
+     * prompts onto the GameContext of the game session.
      * @param gameEngine The current instance of the GameEngine is required so that dependencies such as the
      *                   current encounter and player can be referenced.
      */
@@ -220,14 +203,31 @@ public class Ally extends NonPlayableCharacter {
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
+        return Describable.describe(this);
+    }
 
-        sb.append("Ally Name: '" + getName() + "', " +
-                "Has Custom Interaction: " + isInteractionIsUseable() + ", " +
-                "Is Interacted With: " + isInteracted);
+    @Override
+    public void describeTo(Appendable out) throws IOException {
+        out.append("Ally Name: '").append(getName())
+                .append("', Has Custom Interaction: ").append(String.valueOf(isInteractionIsUseable()))
+                .append(", Is Interacted With: ").append(String.valueOf(isInteracted));
 
-        printItemTableAndAbilityPool(sb);
+        printItemTableAndAbilityPool(out);
+    }
 
-        return sb.toString();
+    @Override
+    public void describeJsonTo(Appendable out) throws IOException {
+        out.append('{');
+        JsonAppender.appendField(out, "name");
+        JsonAppender.appendString(out, getName());
+        out.append(',');
+        JsonAppender.appendField(out, "hasCustomInteraction");
+        out.append(String.valueOf(isInteractionIsUseable()));
+        out.append(',');
+        JsonAppender.appendField(out, "isInteracted");
+        out.append(String.valueOf(isInteracted));
+
+        printItemTableAndAbilityPoolJson(out);
+        out.append('}');
     }
 }
\ No newline at end of file
@@ -1,23 +1,30 @@
 package sammish93.tbage.models;
 
 import sammish93.tbage.GameEngine;
-import sammish93.tbage.enums.GamePlatform;
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.events.EnemyStatus;
+import sammish93.tbage.events.PlayerHealth;
 import sammish93.tbage.exceptions.InvalidValueException;
 import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.tools.CommandRegistry;
 import sammish93.tbage.tools.EncounterController;
-import sammish93.tbage.tools.StringParser;
+import sammish93.tbage.tools.InputPrompt;
+import sammish93.tbage.tools.ParsedCommand;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
 import java.util.UUID;
 
-import static sammish93.tbage.GameEngine.scanner;
-
 public class CombatEncounter extends Encounter {
 
     private TreeMap<String, Enemy> enemies;
     private TreeMap<String, Integer> duplicateEnemiesInEnemies;
+    private int turnNumber = 1;
+    private transient RenderCache<List<EnemyStatus>> enemyStatusCache;
 
 
     private CombatEncounter(String name, String imagePath, TreeMap<String, Feat> featChecks,
@@ -170,18 +177,44 @@ public class CombatEncounter extends Encounter {
     }
 
     private void printEnemies(GameEngine gameEngine) throws InterruptedException {
-        int enemyIteration = 1;
         var player = gameEngine.getPlayer();
 
-        gameEngine.printMessage("Your current health is " + (int)player.getCurrentHealth() + "/" +
-                (int)player.getMaxHealth());
-        for (Map.Entry<String, Enemy> entry : enemies.entrySet()) {
-            var enemy = entry.getValue();
-            gameEngine.printMessage("Enemy " + enemyIteration++ + ": " + enemy.getName() + ", Status: " +
-                    enemy.getEnemyHealthStatus());
+        gameEngine.emit(new PlayerHealth((int) player.getCurrentHealth(), (int) player.getMaxHealth()));
+        for (EnemyStatus enemyStatus : getEnemyStatuses()) {
+            gameEngine.emit(enemyStatus);
         }
     }
 
+    /**
+     * The statuses of the enemies are only looked up again once an enemy has been added, removed, replaced, or has
+     * changed, including through the TreeMap returned by getEnemies().
+     * @return Returns the status of each enemy in this encounter.
+     */
+    private List<EnemyStatus> getEnemyStatuses() {
+        if (enemyStatusCache == null) {
+            enemyStatusCache = new RenderCache<>();
+        }
+
+        // Each enemy is part of the key together with its own version.
+        var key = new ArrayList<Object>(enemies.size() * 2);
+        for (Enemy enemy : enemies.values()) {
+            key.add(enemy);
+            key.add(enemy.getStateVersion());
+        }
+        var enemyStatuses = enemyStatusCache.get(key);
+
+        if (enemyStatuses == null) {
+            int enemyIteration = 1;
+            var statuses = new ArrayList<EnemyStatus>(enemies.size());
+            for (Enemy enemy : enemies.values()) {
+                statuses.add(new EnemyStatus(enemyIteration++, enemy.getName(), enemy.getEnemyHealthStatus()));
+            }
+            enemyStatuses = enemyStatusCache.put(key, List.copyOf(statuses));
+        }
+
+        return enemyStatuses;
+    }
+
     private boolean allEnemiesDead() {
         for (Map.Entry<String, Enemy> entry : enemies.entrySet()) {
             var enemy = entry.getValue();
@@ -196,11 +229,9 @@ public class CombatEncounter extends Encounter {
      * This method is used by the game's chosen interface.
      */
     @Override
-    public String run(GameEngine gameEngine) throws InventoryFullException, InvalidValueException, InterruptedException {
-        TreeMap<String, String> inputMap = new TreeMap<>();
-        int turnNumber = 1;
+    public void begin(GameEngine gameEngine) throws InterruptedException {
+        turnNumber = 1;
         setBacktracking(isDefeated());
-        String inputComparison = EncounterController.getInput();
 
         if (isBacktracking()) {
             gameEngine.printMessage("You return to encounter '" + getName() + "'. Enter a navigational " +
@@ -214,192 +245,145 @@ public class CombatEncounter extends Encounter {
             setIntroductionPrinted(true);
         }
 
-        while (!isDefeated() || isBacktracking()) {
+        awaitCommand(gameEngine);
+    }
 
-            if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                Thread.sleep(100);
-                if (EncounterController.getInput().equals(inputComparison)) {
-                    continue;
-                }
-            } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                EncounterController.setInput(scanner.nextLine());
+    /**
+     * Registers the handlers of the default commands that differ in a combat encounter.
+     * @param commandRegistry The CommandRegistry of a game session.
+     * @see Encounter#addDefaultCommands(CommandRegistry)
+     */
+    static void addCombatCommands(CommandRegistry commandRegistry) throws InvalidValueException {
+        commandRegistry.register(CombatEncounter.class, "progress", (engine, encounter) -> {
+            if (encounter.isDefeated() && encounter.getNavigationOptions().get("defeated") != null) {
+                encounter.finish(engine, "defeated");
+            } else if (encounter.getNavigationOptions().get("defeated") == null) {
+                engine.printMessage("Try something else.");
+            } else {
+                engine.printMessage("You haven't defeated this encounter yet!");
             }
-
-            inputMap = StringParser.read(gameEngine, EncounterController.getInput());
-
-            inputComparison = "";
-            EncounterController.setInput("");
-
-            if (!gameEngine.getPlayer().isAlive()) {
-                while (true) {
-                    if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                        gameEngine.printMessage("Game has finished. Please type 'exit'.");
-                    } else {
-                        gameEngine.printMessage("Game has finished. Please press the 'Escape' key.");
+        });
+        commandRegistry.register(CombatEncounter.class, "status",
+                (engine, encounter) -> encounter.printEnemies(engine));
+        commandRegistry.register(CombatEncounter.class, "interact",
+                (engine, encounter) -> engine.printMessage("There is no one to interact with."));
+        commandRegistry.register(CombatEncounter.class, "attack", (engine, encounter) -> {
+            if (encounter.isDefeated()) {
+                engine.printMessage("There are no enemies living!");
+            } else {
+                EncounterController.turn(engine, encounter, encounter.turnNumber++, (turnEngine, enemy) -> {
+                    if (encounter.allEnemiesDead()) {
+                        encounter.setDefeated(true);
+                        EncounterController.getEncounterDrops(turnEngine, encounter);
                     }
 
-                    if (scanner.nextLine().equalsIgnoreCase("exit")) {
-                        return "exit";
+                    if (!turnEngine.getPlayer().isAlive()) {
+                        turnEngine.printMessage("You have died!");
                     }
-                }
+                });
             }
-
-            if (!inputMap.isEmpty()) {
-                if (inputMap.get("command") != null) {
-
-                    String value = inputMap.get("command");
-
-                    if (value.equalsIgnoreCase("exit")) {
-                        return "exit";
-                    } else if (value.equalsIgnoreCase("options") ||
-                            value.equalsIgnoreCase("help")) {
-                        printOptions(gameEngine);
-                    } else if (value.equalsIgnoreCase("back")) {
-                        gameEngine.printMessage("Invalid command. Did you want to navigate to the " +
-                                "previous encounter? Try a directional command like 'go south'.");
-                    } else if (value.equalsIgnoreCase("defeated")) {
-                        gameEngine.printMessage("You haven't defeated this encounter yet!");
-                    } else if (value.equalsIgnoreCase("playerdeath")) {
-                        gameEngine.printMessage("You aren't dead!");
-                    } else if (value.equalsIgnoreCase("progress")) {
-                        if (isDefeated() && getNavigationOptions().get("defeated") != null) {
-                            return "defeated";
-                        } else if (getNavigationOptions().get("defeated") == null) {
-                            gameEngine.printMessage("Try something else.");
-                        } else {
-                            gameEngine.printMessage("You haven't defeated this encounter yet!");
-                        }
-                    } else if (value.equalsIgnoreCase("status")) {
-                        printEnemies(gameEngine);
-                    } else if (value.equalsIgnoreCase("interact")) {
-                        gameEngine.printMessage("There is no one to interact with.");
-                    } else if (value.equalsIgnoreCase("investigate")) {
-                        if (!getProps().isEmpty()) {
-                            Prop propToBeUsed = EncounterController.chooseProp(gameEngine, this);
-                            if (propToBeUsed != null) {
-                                propToBeUsed.onUse(gameEngine);
-                            }
-                        } else {
-                            gameEngine.printMessage("There is currently nothing to investigate");
-                        }
-                    } else if (value.equalsIgnoreCase("attack")) {
-                        if (isDefeated()) {
-                            gameEngine.printMessage("There are no enemies living!");
+        });
+        commandRegistry.register(CombatEncounter.class, "use", (engine, encounter) -> {
+            if (!engine.getPlayer().getInventory().isEmpty()) {
+                EncounterController.useItem(engine, (itemEngine, item) -> {
+                    if (encounter.allEnemiesDead()) {
+                        encounter.setDefeated(true);
+
+                        if (!itemEngine.getPlayer().isAlive()) {
+                            itemEngine.printMessage("You have died!");
                         } else {
-
-                            EncounterController.turn(gameEngine, this, turnNumber++);
-
-                            if (allEnemiesDead()) {
-                                setDefeated(true);
-                                EncounterController.getEncounterDrops(gameEngine, this);
-                            }
-
-                            if (!gameEngine.getPlayer().isAlive()) {
-                                gameEngine.printMessage("You have died!");
-                            }
+                            EncounterController.getEncounterDrops(itemEngine, encounter);
                         }
-                    } else if (value.equalsIgnoreCase("inventory")) {
-                        printInventory(gameEngine);
-                    } else if (value.equalsIgnoreCase("use")) {
-                        if (!gameEngine.getPlayer().getInventory().isEmpty()) {
-                            EncounterController.useItem(gameEngine);
-
-                            if (allEnemiesDead()) {
-                                setDefeated(true);
-
-                                if (!gameEngine.getPlayer().isAlive()) {
-                                    gameEngine.printMessage("You have died!");
-                                } else {
-                                    EncounterController.getEncounterDrops(gameEngine, this);
-                                }
-                            }
-                        } else {
-                            gameEngine.printMessage("You have no items in your inventory.");
-                        }
-
-                    } else if (allEnemiesDead() || EncounterController.getInput().equalsIgnoreCase("skip")) {
-                        setDefeated(true);
-                        EncounterController.getEncounterDrops(gameEngine, this);
-                    }
-                } else if (inputMap.get("verb") != null && inputMap.get("noun") != null) {
-                    String verb = inputMap.get("verb");
-                    String noun = inputMap.get("noun");
-
-                    if (noun.equalsIgnoreCase("defeated") || !isDefeated()) {
-                        gameEngine.printMessage("You haven't defeated this encounter yet!");
-                    } else if (getNavigationOptions().containsKey(noun) && !getNavigationalVerbs().contains(verb)) {
-                        gameEngine.printMessage("Try another means of traversal.");
-                    } else if (getNavigationOptions().containsKey(noun) && getNavigationalVerbs().contains(verb)) {
-                        return noun;
-                    } else {
-                        gameEngine.printMessage("Try something else.");
                     }
-                }
+                });
+            } else {
+                engine.printMessage("You have no items in your inventory.");
             }
+        });
+        // Only reachable once 'skip' is added to the StringParser for debugging purposes.
+        commandRegistry.register(CombatEncounter.class, "skip", (engine, encounter) -> {
+            encounter.setDefeated(true);
+            EncounterController.getEncounterDrops(engine, encounter);
+        });
+    }
 
+    @Override
+    protected void handleCommand(GameEngine gameEngine, String input)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
+        ParsedCommand parsedCommand = gameEngine.getContext().getStringParser().readCommand(gameEngine, input);
 
-            if (isDefeated() && !isBacktracking()) {
-                if (getNavigationOptions().get("defeated") != null) {
-                    gameEngine.printMessage("Would you like to progress to the next encounter?");
-                    boolean isAnswered = false;
-
-                    while (!isAnswered) {
-                        if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                            Thread.sleep(100);
-                            if (EncounterController.getInput().equals(inputComparison)) {
-                                continue;
-                            }
-                        } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                            EncounterController.setInput(scanner.nextLine());
-                        }
-
-                        String output = EncounterController.getInput();
-                        isAnswered = true;
-
-                        inputComparison = "";
-                        EncounterController.setInput("");
-
-                        if (output.equalsIgnoreCase("yes") || output.equalsIgnoreCase("y")) {
-                            break;
-                        } else {
-                            gameEngine.printMessage("Enter a navigational command or 'progress' to traverse to " +
-                                    "another encounter.");
-                            setBacktracking(true);
-                        }
-                    }
+        if (!gameEngine.getPlayer().isAlive()) {
+            awaitExit(gameEngine);
+            return;
+        }
 
+        if (parsedCommand.isValid()) {
+            if (parsedCommand.isCommand()) {
+                boolean isHandled = gameEngine.getContext().getCommandRegistry()
+                        .dispatch(gameEngine, this, parsedCommand.getCommand());
 
+                if (!isHandled && allEnemiesDead()) {
+                    setDefeated(true);
+                    EncounterController.getEncounterDrops(gameEngine, this);
+                }
+            } else if (parsedCommand.isVerbAndNoun()) {
+                String verb = parsedCommand.getVerb();
+                String noun = parsedCommand.getNoun();
+
+                if (noun.equalsIgnoreCase("defeated") || !isDefeated()) {
+                    gameEngine.printMessage("You haven't defeated this encounter yet!");
+                } else if (getNavigationOptions().containsKey(noun) && !getNavigationalVerbs().contains(verb)) {
+                    gameEngine.printMessage("Try another means of traversal.");
+                } else if (getNavigationOptions().containsKey(noun) && getNavigationalVerbs().contains(verb)) {
+                    finish(gameEngine, noun);
                 } else {
-                    gameEngine.printMessage(getOnDefeatedMessage());
-                    gameEngine.printMessage("Enter a navigational command to traverse to another encounter.");
-                    setBacktracking(true);
+                    gameEngine.printMessage("Try something else.");
                 }
             }
         }
-
-        return "defeated";
     }
 
-    /**
-     *
-     * @return Returns a string representation of this object. Note that this method is overridden, and not the same
-     * as the default implementation.
-     */
     @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
+    protected void onCommandHandled(GameEngine gameEngine) throws InterruptedException {
+        if (isDefeated() && !isBacktracking()) {
+            if (getNavigationOptions().get("defeated") != null) {
+                gameEngine.printMessage("Would you like to progress to the next encounter?");
+
+                gameEngine.getContext().pushPrompt(new InputPrompt(InputKind.CONFIRMATION, (engine, output) -> {
+                    if (output.equalsIgnoreCase("yes") || output.equalsIgnoreCase("y")) {
+                        finish(engine, "defeated");
+                    } else {
+                        engine.printMessage("Enter a navigational command or 'progress' to traverse to " +
+                                "another encounter.");
+                        setBacktracking(true);
+                    }
+                }));
+            } else {
+                gameEngine.printMessage(getOnDefeatedMessage());
+                gameEngine.printMessage("Enter a navigational command to traverse to another encounter.");
+                setBacktracking(true);
+            }
+        }
+    }
 
-        sb.append("Encounter Type: Combat, ");
-        sb.append(super.toString());
+    @Override
+    public void describeTo(Appendable out) throws IOException {
+        out.append("Encounter Type: Combat, ");
+        super.describeTo(out);
 
         if (!getEnemies().isEmpty()) {
-            sb.append("\nEnemy Table: ");
-            for (Map.Entry<String, Enemy> enemySet : getEnemies().entrySet()) {
-                Enemy enemy = enemySet.getValue();
-                sb.append("\n\t" + enemy.toString());
+            out.append("\nEnemy Table: ");
+            for (Enemy enemy : getEnemies().values()) {
+                out.append("\n\t");
+                enemy.describeTo(out);
             }
         }
+    }
 
-        return sb.toString();
+    @Override
+    protected void describeCharactersJsonTo(Appendable out) throws IOException {
+        out.append(',');
+        JsonAppender.appendField(out, "enemies");
+        JsonAppender.appendArray(out, getEnemies().values());
     }
 }
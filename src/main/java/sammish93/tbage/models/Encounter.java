@@ -1,19 +1,35 @@
 package sammish93.tbage.models;
 
+import sammish93.tbage.GameContext;
 import sammish93.tbage.GameEngine;
+import sammish93.tbage.enums.GamePlatform;
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.events.Message;
 import sammish93.tbage.exceptions.InvalidValueException;
 import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.interfaces.Describable;
+import sammish93.tbage.interfaces.Prompt;
 import sammish93.tbage.interfaces.Useable;
+import sammish93.tbage.tools.CommandRegistry;
+import sammish93.tbage.tools.EncounterController;
+import sammish93.tbage.tools.InputPrompt;
 import sammish93.tbage.tools.StringParser;
 
 import java.io.*;
 import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public abstract class Encounter implements Serializable, Describable {
+
+    // The command table only depends on the type of encounter and the game's settings, and is shared by every
+    // encounter and game session.
+    private static final Map<List<Object>, String> optionsCache = new ConcurrentHashMap<>();
 
-public abstract class Encounter implements Serializable {
     private String name;
     private String imagePath;
     private String introductoryMessage;
@@ -28,6 +44,7 @@ public abstract class Encounter implements Serializable {
     private boolean isDefeated = false;
     private boolean isIntroductionPrinted = false;
     private boolean isBacktracking = false;
+    private transient RenderCache<String> inventoryCache;
 
 
     protected Encounter(String name, String imagePath, TreeMap<String, Feat> featChecks,
@@ -341,7 +358,7 @@ public abstract class Encounter implements Serializable {
      */
     protected void setNavigationOptions(TreeMap<String, String> navigationOptions) throws InvalidValueException {
         for (Map.Entry<String, String> entry : navigationOptions.entrySet()) {
-            StringParser.addVerb(entry.getKey());
+            StringParser.validateWord(entry.getKey());
         }
         this.navigationOptions = navigationOptions;
     }
@@ -355,7 +372,7 @@ public abstract class Encounter implements Serializable {
      * @see StringParser
      */
     protected void setNavigationOption(String prompt, String encounterName) throws InvalidValueException {
-        StringParser.addVerb(prompt);
+        StringParser.validateWord(prompt);
         this.navigationOptions.put(prompt, encounterName);
     }
 
@@ -375,7 +392,7 @@ public abstract class Encounter implements Serializable {
      */
     public void setNavigationalVerbs(ArrayList<String> navigationalVerbs) throws InvalidValueException {
         for (String navVerb : navigationalVerbs) {
-            StringParser.addVerb(navVerb);
+            StringParser.validateWord(navVerb);
         }
         this.navigationalVerbs = navigationalVerbs;
     }
@@ -400,14 +417,18 @@ public abstract class Encounter implements Serializable {
     }
 
     /**
-     * Adds a navigational verb to the existing navigational verbs for this encounter.
+     * Adds a navigational verb to the existing navigational verbs for this encounter, unless it is already one of
+     * them.
      * @param verb A string representing a navigation verb for this encounter.
      * @throws InvalidValueException
      * @see StringParser
      */
     public void addNavigationalVerb(String verb) throws InvalidValueException {
-        StringParser.addVerb(verb);
-        navigationalVerbs.add(verb);
+        StringParser.validateWord(verb);
+
+        if (!navigationalVerbs.contains(verb)) {
+            navigationalVerbs.add(verb);
+        }
     }
 
     /**
@@ -417,7 +438,7 @@ public abstract class Encounter implements Serializable {
      * @see StringParser
      */
     public void addNavigationalNoun(String noun) throws InvalidValueException {
-        StringParser.addNoun(noun);
+        StringParser.validateWord(noun);
         navigationOptions.put(noun, "defeated");
     }
 
@@ -493,23 +514,46 @@ public abstract class Encounter implements Serializable {
      * @param gameEngine Required to communicate with other dependencies such as the game interface.
      */
     protected void printInventory(GameEngine gameEngine) throws InterruptedException {
-        int itemIteration = 1;
         var player = gameEngine.getPlayer();
+        boolean isOutputSeparatedByNewLine = gameEngine.getGameSettings().isOutputSeparatedByNewLine();
 
+        if (inventoryCache == null) {
+            inventoryCache = new RenderCache<>();
+        }
 
-
-        if (player.getInventory().isEmpty() && player.getCurrencyAmount() == 0) {
-            gameEngine.printMessage("You currently have no gold, nor any items in your inventory.");
-        } else if (player.getInventory().isEmpty()) {
-            gameEngine.printMessage("You have " + (int)player.getCurrencyAmount() + " gold.");
-            gameEngine.printMessage("You currently have no items in your inventory.");
-        } else {
-            gameEngine.printMessage("Your inventory (" + (int)player.getCurrencyAmount() + " gold): ");
-            for (Map.Entry<String, Item> entry : player.getInventory().entrySet()) {
-                var item = entry.getValue();
-                gameEngine.printMessage(itemIteration++ + ": " + item.getName());
+        // The listing is only built again once the name of an item or the amount of gold has changed. The name of each
+        // item is part of the key, so that items added, removed or renamed through the TreeMap returned by
+        // getInventory() are noticed as well.
+        var key = new ArrayList<Object>(player.getInventory().size() + 2);
+        key.add(player.getCurrencyAmount());
+        key.add(isOutputSeparatedByNewLine);
+        for (Item item : player.getInventory().values()) {
+            key.add(item.getName());
+        }
+        String listing = inventoryCache.get(key);
+
+        if (listing == null) {
+            var lines = new ArrayList<String>();
+
+            if (player.getInventory().isEmpty() && player.getCurrencyAmount() == 0) {
+                lines.add("You currently have no gold, nor any items in your inventory.");
+            } else if (player.getInventory().isEmpty()) {
+                lines.add("You have " + (int)player.getCurrencyAmount() + " gold.");
+                lines.add("You currently have no items in your inventory.");
+            } else {
+                int itemIteration = 1;
+                lines.add("Your inventory (" + (int)player.getCurrencyAmount() + " gold): ");
+                for (Map.Entry<String, Item> entry : player.getInventory().entrySet()) {
+                    var item = entry.getValue();
+                    lines.add(itemIteration++ + ": " + item.getName());
+                }
             }
+
+            // Printed as a single message, with the same line breaks as if each line was printed on its own.
+            listing = inventoryCache.put(key, String.join(isOutputSeparatedByNewLine ? "\n\n" : "\n", lines));
         }
+
+        gameEngine.printMessage(listing);
     }
 
     /**
@@ -518,37 +562,223 @@ public abstract class Encounter implements Serializable {
      * @param gameEngine Required to communicate with other dependencies such as the game interface.
      */
     protected void printOptions(GameEngine gameEngine) throws InterruptedException {
+        boolean isOutputSeparatedByNewLine = gameEngine.getGameSettings().isOutputSeparatedByNewLine();
+        String options = optionsCache.computeIfAbsent(List.of(getClass(), isOutputSeparatedByNewLine),
+                key -> formatOptions(isOutputSeparatedByNewLine));
+
         gameEngine.printMessage("Type one of the following commands: ");
-        gameEngine.printMessageFormatted("%-15s %s\n", "Help",
-                "Prints a list of commands that the player can enter.");
-        gameEngine.printMessageFormatted("%-15s %s\n", "Exit",
-                "Exits the game.");
-        gameEngine.printMessageFormatted("%-15s %s\n", "Inventory",
-                "Lists the items and gold a player currently has in their inventory.");
-        gameEngine.printMessageFormatted("%-15s %s\n", "Status",
-                "Lists the player's health points, as well as the condition of all enemies in an encounter.");
+        gameEngine.emit(new Message(options, false));
+    }
+
+    private String formatOptions(boolean isOutputSeparatedByNewLine) {
+        var sb = new StringBuilder();
+
+        sb.append(String.format("%-15s %s\n", "Help",
+                "Prints a list of commands that the player can enter."));
+        sb.append(String.format("%-15s %s\n", "Exit",
+                "Exits the game."));
+        sb.append(String.format("%-15s %s\n", "Inventory",
+                "Lists the items and gold a player currently has in their inventory."));
+        sb.append(String.format("%-15s %s\n", "Status",
+                "Lists the player's health points, as well as the condition of all enemies in an encounter."));
         if (this instanceof CombatEncounter) {
-            gameEngine.printMessageFormatted("%-15s %s\n", "Attack",
-                    "Starts a new round of combat.");
+            sb.append(String.format("%-15s %s\n", "Attack",
+                    "Starts a new round of combat."));
         }
         if (this instanceof NonCombatEncounter) {
-            gameEngine.printMessageFormatted("%-15s %s\n", "Interact",
-                    "Interact with non-hostile beings.");
+            sb.append(String.format("%-15s %s\n", "Interact",
+                    "Interact with non-hostile beings."));
         }
-        gameEngine.printMessageFormatted("%-15s %s\n", "Investigate",
-                "Investigates your immediate surroundings.");
-        gameEngine.printMessageFormatted("%-15s %s\n", "Back",
-                "Exits the current activity when possible.");
-        if (gameEngine.getGameSettings().isOutputSeparatedByNewLine()) {
-            gameEngine.printMessageFormatted("%-15s %s\n", "<navigation>",
-                    "Navigates to another encounter when possible (e.g. 'north').\n");
+        sb.append(String.format("%-15s %s\n", "Investigate",
+                "Investigates your immediate surroundings."));
+        sb.append(String.format("%-15s %s\n", "Back",
+                "Exits the current activity when possible."));
+        if (isOutputSeparatedByNewLine) {
+            sb.append(String.format("%-15s %s\n", "<navigation>",
+                    "Navigates to another encounter when possible (e.g. 'north').\n"));
         } else {
-            gameEngine.printMessageFormatted("%-15s %s\n", "<navigation>",
-                    "Navigates to another encounter when possible (e.g. 'north').");
+            sb.append(String.format("%-15s %s\n", "<navigation>",
+                    "Navigates to another encounter when possible (e.g. 'north')."));
         }
+
+        return sb.toString();
+    }
+
+    /**
+     * Registers the handlers of the default commands (e.g. 'help', or 'attack') with the CommandRegistry of a game
+     * session. Commands that behave the same in every encounter are registered for Encounter.class, and the rest
+     * for CombatEncounter.class and NonCombatEncounter.class. This is called when a GameEngine is created.
+     * @param commandRegistry The CommandRegistry of a game session.
+     * @throws InvalidValueException
+     */
+    public static void addDefaultCommands(CommandRegistry commandRegistry) throws InvalidValueException {
+        commandRegistry.register(Encounter.class, "exit", (engine, encounter) -> encounter.finish(engine, "exit"));
+        commandRegistry.register(Encounter.class, "options", (engine, encounter) -> encounter.printOptions(engine));
+        commandRegistry.register(Encounter.class, "help", (engine, encounter) -> encounter.printOptions(engine));
+        commandRegistry.register(Encounter.class, "back",
+                (engine, encounter) -> engine.printMessage("Invalid command. Did you want to navigate to the " +
+                        "previous encounter? Try a directional command like 'go south'."));
+        commandRegistry.register(Encounter.class, "defeated",
+                (engine, encounter) -> engine.printMessage("You haven't defeated this encounter yet!"));
+        commandRegistry.register(Encounter.class, "playerdeath",
+                (engine, encounter) -> engine.printMessage("You aren't dead!"));
+        commandRegistry.register(Encounter.class, "inventory",
+                (engine, encounter) -> encounter.printInventory(engine));
+        commandRegistry.register(Encounter.class, "investigate", (engine, encounter) -> {
+            if (!encounter.getProps().isEmpty()) {
+                EncounterController.chooseProp(engine, encounter, (propEngine, propToBeUsed) -> {
+                    if (propToBeUsed != null) {
+                        propToBeUsed.onUse(propEngine);
+                    }
+                });
+            } else {
+                engine.printMessage("There is currently nothing to investigate");
+            }
+        });
+
+        CombatEncounter.addCombatCommands(commandRegistry);
+        NonCombatEncounter.addNonCombatCommands(commandRegistry);
     }
 
-    public abstract String run(GameEngine gameEngine) throws InventoryFullException, InvalidValueException, InterruptedException;
+    /**
+     * Prints the introduction of this encounter, and pushes its command prompt onto the GameContext of the game
+     * session. Once begun, the encounter is advanced one line of input at a time via the step() method.
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     * @see Encounter#step(GameEngine, String)
+     */
+    public abstract void begin(GameEngine gameEngine)
+            throws InventoryFullException, InvalidValueException, InterruptedException;
+
+    /**
+     * Handles a single command entered at the command prompt of this encounter (e.g. 'attack', or 'go north').
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     * @param input A line of input entered by the player.
+     */
+    protected abstract void handleCommand(GameEngine gameEngine, String input)
+            throws InventoryFullException, InvalidValueException, InterruptedException;
+
+    /**
+     * Called each time that the game returns to the command prompt of this encounter, e.g. to ask the player
+     * whether they wish to progress once the encounter has been defeated.
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     */
+    protected abstract void onCommandHandled(GameEngine gameEngine)
+            throws InventoryFullException, InvalidValueException, InterruptedException;
+
+    /**
+     * Advances this encounter by a single line of input without waiting for any further input. The input is handed
+     * to whichever prompt the encounter is currently waiting on (e.g. the command prompt, or a numbered list of
+     * enemies to attack).
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     * @param input A line of input entered by the player.
+     * @return Returns a string used by the EncounterTraversalController once the encounter has finished ('exit',
+     * 'defeated', or a navigational noun), or null if the encounter is waiting for further input.
+     * @throws IllegalStateException Thrown if the encounter has not begun.
+     * @see Encounter#begin(GameEngine)
+     * @see GameContext#getExpectedInputKind()
+     */
+    public String step(GameEngine gameEngine, String input)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
+        var context = gameEngine.getContext();
+
+        if (context.getPrompt() == null) {
+            throw new IllegalStateException("The encounter '" + name + "' has not begun.");
+        }
+
+        context.getPrompt().onInput(gameEngine, input);
+
+        String outcome = context.takeEncounterOutcome();
+        if (outcome == null && context.getPrompt() instanceof CommandPrompt) {
+            onCommandHandled(gameEngine);
+        }
+
+        return outcome;
+    }
+
+    /**
+     * This method is used by the game's chosen interface. It begins the encounter, and blocks while advancing it
+     * with each line of input until the encounter has finished.
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     * @return Returns a string used by the EncounterTraversalController ('exit', 'defeated', or a navigational
+     * noun).
+     */
+    public String run(GameEngine gameEngine) throws InventoryFullException, InvalidValueException, InterruptedException {
+        String outcome = null;
+        begin(gameEngine);
+
+        while (outcome == null) {
+            outcome = step(gameEngine, EncounterController.awaitInput(gameEngine));
+        }
+
+        return outcome;
+    }
+
+    /**
+     * Replaces any prompts in the GameContext with the command prompt of this encounter, and scopes the StringParser
+     * to the navigational verbs and nouns of this encounter.
+     * @param gameEngine Required to retrieve the GameContext of the game session.
+     */
+    protected void awaitCommand(GameEngine gameEngine) {
+        var context = gameEngine.getContext();
+
+        context.getStringParser().setCurrentEncounter(this);
+        context.clearPrompts();
+        context.pushPrompt(new CommandPrompt(this));
+    }
+
+    /**
+     * Finishes this encounter, and removes any prompts that are still waiting for input.
+     * @param gameEngine Required to retrieve the GameContext of the game session.
+     * @param outcome A string used by the EncounterTraversalController ('exit', 'defeated', or a navigational
+     *                noun).
+     */
+    protected void finish(GameEngine gameEngine, String outcome) {
+        var context = gameEngine.getContext();
+
+        context.clearPrompts();
+        context.setEncounterOutcome(outcome);
+    }
+
+    /**
+     * Used once the player has died. The encounter only accepts the 'exit' command from this point on.
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     */
+    protected void awaitExit(GameEngine gameEngine) throws InterruptedException {
+        if (gameEngine.getPlatform() != GamePlatform.SWING) {
+            gameEngine.printMessage("Game has finished. Please type 'exit'.");
+        } else {
+            gameEngine.printMessage("Game has finished. Please press the 'Escape' key.");
+        }
+
+        gameEngine.getContext().pushPrompt(new InputPrompt(InputKind.EXIT, (engine, input) -> {
+            if (input.equalsIgnoreCase("exit")) {
+                finish(engine, "exit");
+            } else {
+                awaitExit(engine);
+            }
+        }));
+    }
+
+    private static class CommandPrompt implements Prompt {
+
+        private final Encounter encounter;
+
+
+        private CommandPrompt(Encounter encounter) {
+            this.encounter = encounter;
+        }
+
+        @Override
+        public InputKind getInputKind() {
+            return InputKind.COMMAND;
+        }
+
+        @Override
+        public void onInput(GameEngine gameEngine, String input)
+                throws InventoryFullException, InvalidValueException, InterruptedException {
+            encounter.handleCommand(gameEngine, input);
+        }
+    }
 
     /**
      *
@@ -557,52 +787,134 @@ public abstract class Encounter implements Serializable {
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
+        return Describable.describe(this);
+    }
 
-        sb.append("Encounter Name: " + getName() + ", " +
-                "Is Defeated: " + isDefeated() + ", " +
-                "Is Introduction Printed: " + isIntroductionPrinted() + ", " +
-                "Is Backtracking: " + isBacktracking() + ", " +
-                "Introductory Message: \n\t'" + getIntroductoryMessage() + "'" +
-                "\nHint: \n\t'" + getHint() + "'" +
-                "\nOn Defeated Message: \n\t'" + getOnDefeatedMessage() + "'");
+    @Override
+    public void describeTo(Appendable out) throws IOException {
+        out.append("Encounter Name: ").append(getName())
+                .append(", Is Defeated: ").append(String.valueOf(isDefeated()))
+                .append(", Is Introduction Printed: ").append(String.valueOf(isIntroductionPrinted()))
+                .append(", Is Backtracking: ").append(String.valueOf(isBacktracking()))
+                .append(", Introductory Message: \n\t'").append(getIntroductoryMessage())
+                .append("'\nHint: \n\t'").append(getHint())
+                .append("'\nOn Defeated Message: \n\t'").append(getOnDefeatedMessage()).append('\'');
 
         if (!getNavigationOptions().isEmpty()) {
-            sb.append("\nNavigational Options: ");
+            out.append("\nNavigational Options: ");
             for (Map.Entry<String, String> navigationalOptionsSet : getNavigationOptions().entrySet()) {
+                out.append("\n\t'").append(navigationalOptionsSet.getKey());
                 if (navigationalOptionsSet.getValue().equalsIgnoreCase("defeated")) {
-                    sb.append("\n\t'" + navigationalOptionsSet.getKey() + "' leads to the next encounter");
+                    out.append("' leads to the next encounter");
                 } else {
-                    sb.append("\n\t'" + navigationalOptionsSet.getKey() + "' leads to '" +
-                            navigationalOptionsSet.getValue() + "'");
+                    out.append("' leads to '").append(navigationalOptionsSet.getValue()).append('\'');
                 }
             }
         }
 
         if (!getNavigationalVerbs().isEmpty()) {
-            sb.append("\nNavigational Verbs: ");
+            out.append("\nNavigational Verbs: ");
             for (String verb : getNavigationalVerbs()) {
-                sb.append("\n\t'" + verb + "'");
+                out.append("\n\t'").append(verb).append('\'');
             }
         }
 
         if (!getFeatChecks().isEmpty()) {
-            sb.append("\nFeat Check Table: ");
-            for (Map.Entry<String, Feat> featSet : getFeatChecks().entrySet()) {
-                Feat feat = featSet.getValue();
-                sb.append("\n\t" + feat.toString());
+            out.append("\nFeat Check Table: ");
+            for (Feat feat : getFeatChecks().values()) {
+                out.append("\n\t");
+                feat.describeTo(out);
             }
         }
 
         if (!getFeatRewards().isEmpty()) {
-            sb.append("\nFeat Check Table: ");
-            for (Map.Entry<String, Feat> featSet : getFeatRewards().entrySet()) {
-                Feat feat = featSet.getValue();
-                sb.append("\n\t" + feat.toString());
+            out.append("\nFeat Check Table: ");
+            for (Feat feat : getFeatRewards().values()) {
+                out.append("\n\t");
+                feat.describeTo(out);
             }
         }
+    }
 
-        return sb.toString();
+    /**
+     * Writes the encounter as a single JSON object. The 'type' field holds the name of the class of the encounter,
+     * e.g. 'CombatEncounter'.
+     * @param out The Appendable that the description is written to.
+     * @throws IOException Arises if the description cannot be written to the Appendable.
+     */
+    @Override
+    public void describeJsonTo(Appendable out) throws IOException {
+        out.append('{');
+        JsonAppender.appendField(out, "type");
+        JsonAppender.appendString(out, getClass().getSimpleName());
+        out.append(',');
+        JsonAppender.appendField(out, "name");
+        JsonAppender.appendString(out, getName());
+        out.append(',');
+        JsonAppender.appendField(out, "isDefeated");
+        out.append(String.valueOf(isDefeated()));
+        out.append(',');
+        JsonAppender.appendField(out, "isIntroductionPrinted");
+        out.append(String.valueOf(isIntroductionPrinted()));
+        out.append(',');
+        JsonAppender.appendField(out, "isBacktracking");
+        out.append(String.valueOf(isBacktracking()));
+        out.append(',');
+        JsonAppender.appendField(out, "introductoryMessage");
+        JsonAppender.appendString(out, getIntroductoryMessage());
+        out.append(',');
+        JsonAppender.appendField(out, "hint");
+        JsonAppender.appendString(out, getHint());
+        out.append(',');
+        JsonAppender.appendField(out, "onDefeatedMessage");
+        JsonAppender.appendString(out, getOnDefeatedMessage());
+
+        out.append(',');
+        JsonAppender.appendField(out, "navigationOptions");
+        out.append('{');
+        boolean isFirst = true;
+        for (Map.Entry<String, String> navigationalOptionsSet : getNavigationOptions().entrySet()) {
+            if (!isFirst) {
+                out.append(',');
+            }
+            JsonAppender.appendField(out, navigationalOptionsSet.getKey());
+            JsonAppender.appendString(out, navigationalOptionsSet.getValue());
+            isFirst = false;
+        }
+
+        out.append("},");
+        JsonAppender.appendField(out, "navigationalVerbs");
+        out.append('[');
+        isFirst = true;
+        for (String verb : getNavigationalVerbs()) {
+            if (!isFirst) {
+                out.append(',');
+            }
+            JsonAppender.appendString(out, verb);
+            isFirst = false;
+        }
+
+        out.append("],");
+        JsonAppender.appendField(out, "featChecks");
+        JsonAppender.appendArray(out, getFeatChecks().values());
+        out.append(',');
+        JsonAppender.appendField(out, "featRewards");
+        JsonAppender.appendArray(out, getFeatRewards().values());
+        out.append(',');
+        JsonAppender.appendField(out, "props");
+        JsonAppender.appendArray(out, getProps().values());
+
+        describeCharactersJsonTo(out);
+        out.append('}');
+    }
+
+    /**
+     * A method intended to be overridden by subclasses to append the non-playable characters of the encounter to
+     * the JSON object written by describeJsonTo(). Each field written must begin with a comma.
+     * @param out The Appendable that the description is written to.
+     * @throws IOException Arises if the description cannot be written to the Appendable.
+     */
+    protected void describeCharactersJsonTo(Appendable out) throws IOException {
     }
 
     /**
@@ -78,4 +78,64 @@ public abstract class Encounters implements Serializable {
 
         return (Encounters) objectInputStream.readObject();
     }
+
+    /**
+     * Writes the same human-readable description that is returned by toString(), one encounter at a time. Only a
+     * single encounter is held in memory by this method, so a world of any size can be written straight to a file.
+     * @param out The Appendable that the description is written to, e.g. a BufferedWriter.
+     * @throws IOException Arises if the description cannot be written to the Appendable.
+     */
+    public void describeTo(Appendable out) throws IOException {
+        out.append(getDescriptionHeading());
+
+        for (Encounter encounter : getDescribedEncounters()) {
+            out.append('\n');
+            encounter.describeTo(out);
+        }
+    }
+
+    /**
+     * Writes a machine-readable description in the JSON lines format - each encounter is written as a single JSON
+     * object followed by a line break, so that the output can be read back one encounter at a time.
+     * @param out The Appendable that the description is written to, e.g. a BufferedWriter.
+     * @throws IOException Arises if the description cannot be written to the Appendable.
+     * @see Encounter#describeJsonTo(Appendable)
+     */
+    public void writeJsonLines(Appendable out) throws IOException {
+        for (Encounter encounter : getDescribedEncounters()) {
+            encounter.describeJsonTo(out);
+            out.append('\n');
+        }
+    }
+
+    /**
+     *
+     * @return Returns the line that the human-readable description begins with.
+     */
+    protected abstract String getDescriptionHeading();
+
+    /**
+     *
+     * @return Returns the encounters in the order that they are to be described.
+     */
+    protected abstract Iterable<Encounter> getDescribedEncounters();
+
+    /**
+     *
+     * @return Returns a string representation of this object. Note that this method is overridden, and not the same
+     * as the default implementation.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        try {
+            describeTo(sb);
+        } catch (IOException ex) {
+            // A StringBuilder never throws an IOException.
+            throw new UncheckedIOException(ex);
+        }
+
+        return sb.toString();
+    }
 }
@@ -2,8 +2,10 @@ package sammish93.tbage.models;
 
 
 import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.interfaces.Describable;
 import sammish93.tbage.tools.EncounterController;
 
+import java.io.IOException;
 import java.util.Random;
 import java.util.TreeMap;
 import java.util.UUID;
@@ -151,6 +153,7 @@ public class Enemy extends NonPlayableCharacter {
     public void setMaxHealth(int maxHealth) throws InvalidValueException {
         if (maxHealth > 0) {
             this.maxHealth = maxHealth;
+            markStateChanged();
         } else {
             throw new InvalidValueException("Value " + maxHealth + " is invalid. Enter a decimal " +
                     "value greater than 0");
@@ -173,6 +176,7 @@ public class Enemy extends NonPlayableCharacter {
     public void setCurrentHealth(int currentHealth) throws InvalidValueException {
         if (currentHealth >= 0) {
             this.currentHealth = currentHealth;
+            markStateChanged();
         } else {
             throw new InvalidValueException("Value " + currentHealth + " is invalid. Enter a decimal " +
                     "value greater than or equal to 0");
@@ -365,6 +369,7 @@ public class Enemy extends NonPlayableCharacter {
     public void subtractFromCurrentHealth(int i) throws InvalidValueException {
         if (i >= 0) {
             currentHealth -= i;
+            markStateChanged();
         } else {
             throw new InvalidValueException("Value " + i + " is invalid. Enter a decimal " +
                     "value greater than or equal to 0");
@@ -384,6 +389,7 @@ public class Enemy extends NonPlayableCharacter {
     public void addToCurrentHealth(int i) throws InvalidValueException {
         if (i >= 0) {
             currentHealth += i;
+            markStateChanged();
         } else {
             throw new InvalidValueException("Value " + i + " is invalid. Enter a decimal " +
                     "value greater than or equal to 0");
@@ -399,22 +405,57 @@ public class Enemy extends NonPlayableCharacter {
      * as the default implementation.
      */
     public String toString() {
-        double i = meleeChancePerTurn * 100;
-
-        StringBuilder sb = new StringBuilder();
+        return Describable.describe(this);
+    }
 
-        sb.append("Enemy Name: '" + getName() + "', " +
-                "Enemy Type: " + enemyType + ", " +
-                "Is Melee: " + isMelee + ", " +
-                "Melee Chance Per Turn: " + (int) i + "%, " +
-                "Currency Dropped On Death: " + (int) currencyReceivedOnDeath + ", " +
-                "Current Health: " + (int) currentHealth + ", " +
-                "Maximum Health: " + (int) maxHealth + ", " +
-                "Minimum Damage: " + (int) damage[0] + ", " +
-                "Maximum Damage: " + (int) damage[1]);
+    @Override
+    public void describeTo(Appendable out) throws IOException {
+        double i = meleeChancePerTurn * 100;
 
-        printItemTableAndAbilityPool(sb);
+        out.append("Enemy Name: '").append(getName())
+                .append("', Enemy Type: ").append(enemyType)
+                .append(", Is Melee: ").append(String.valueOf(isMelee))
+                .append(", Melee Chance Per Turn: ").append(String.valueOf((int) i))
+                .append("%, Currency Dropped On Death: ").append(String.valueOf((int) currencyReceivedOnDeath))
+                .append(", Current Health: ").append(String.valueOf((int) currentHealth))
+                .append(", Maximum Health: ").append(String.valueOf((int) maxHealth))
+                .append(", Minimum Damage: ").append(String.valueOf((int) damage[0]))
+                .append(", Maximum Damage: ").append(String.valueOf((int) damage[1]));
+
+        printItemTableAndAbilityPool(out);
+    }
 
-        return sb.toString();
+    @Override
+    public void describeJsonTo(Appendable out) throws IOException {
+        out.append('{');
+        JsonAppender.appendField(out, "name");
+        JsonAppender.appendString(out, getName());
+        out.append(',');
+        JsonAppender.appendField(out, "enemyType");
+        JsonAppender.appendString(out, enemyType);
+        out.append(',');
+        JsonAppender.appendField(out, "isMelee");
+        out.append(String.valueOf(isMelee));
+        out.append(',');
+        JsonAppender.appendField(out, "meleeChancePerTurn");
+        JsonAppender.appendNumber(out, meleeChancePerTurn);
+        out.append(',');
+        JsonAppender.appendField(out, "currencyDroppedOnDeath");
+        JsonAppender.appendNumber(out, currencyReceivedOnDeath);
+        out.append(',');
+        JsonAppender.appendField(out, "currentHealth");
+        JsonAppender.appendNumber(out, currentHealth);
+        out.append(',');
+        JsonAppender.appendField(out, "maxHealth");
+        JsonAppender.appendNumber(out, maxHealth);
+        out.append(',');
+        JsonAppender.appendField(out, "minDamage");
+        JsonAppender.appendNumber(out, damage[0]);
+        out.append(',');
+        JsonAppender.appendField(out, "maxDamage");
+        JsonAppender.appendNumber(out, damage[1]);
+
+        printItemTableAndAbilityPoolJson(out);
+        out.append('}');
     }
 }
@@ -1,6 +1,7 @@
 package sammish93.tbage.models;
 
 import sammish93.tbage.GameSettings;
+import sammish93.tbage.interfaces.Describable;
 import sammish93.tbage.interfaces.Useable;
 
 import java.io.*;
@@ -29,7 +30,7 @@ import java.util.UUID;
  * encounter.setOnInitiationBehaviour(onUseInitiation);
  * @see Encounter#setOnInitiationBehaviour(Useable)
  */
-public class Feat implements Serializable {
+public class Feat implements Serializable, Describable {
 
     private String name;
     private boolean isSecret;
@@ -113,8 +114,24 @@ public class Feat implements Serializable {
      */
     @Override
     public String toString() {
-        return "Feat Name: '" + name + "', " +
-                "isSecret: " + isSecret;
+        return Describable.describe(this);
+    }
+
+    @Override
+    public void describeTo(Appendable out) throws IOException {
+        out.append("Feat Name: '").append(name)
+                .append("', isSecret: ").append(String.valueOf(isSecret));
+    }
+
+    @Override
+    public void describeJsonTo(Appendable out) throws IOException {
+        out.append('{');
+        JsonAppender.appendField(out, "name");
+        JsonAppender.appendString(out, name);
+        out.append(',');
+        JsonAppender.appendField(out, "isSecret");
+        out.append(String.valueOf(isSecret));
+        out.append('}');
     }
 
     /**
@@ -1,10 +1,8 @@
 package sammish93.tbage.models;
 
 import sammish93.tbage.exceptions.InvalidValueException;
-import sammish93.tbage.tools.StringParser;
 
 import java.util.LinkedHashMap;
-import java.util.Map;
 
 /**
  * A class that allows the developer to manually control encounter order and traversal paths that will appear in
@@ -66,7 +64,6 @@ public class FixedEncounters extends Encounters {
             throws InvalidValueException {
         encounterFrom.setNavigationOption(event, encounterTo.getName());
         encounters.put(encounterTo.getName(), encounterTo);
-        StringParser.addNoun(event);
         // Encounter x progresses to encounter y if event is triggered.
     }
 
@@ -83,7 +80,6 @@ public class FixedEncounters extends Encounters {
         String defaultEvent = "defeated";
         encounterFrom.setNavigationOption(defaultEvent, encounterTo.getName());
         encounters.put(encounterTo.getName(), encounterTo);
-        StringParser.addNoun(defaultEvent);
         // Encounter x progresses to encounter y if event is triggered.
     }
 
@@ -112,20 +108,13 @@ public class FixedEncounters extends Encounters {
         return encounters;
     }
 
-    /**
-     *
-     * @return Returns a string representation of this object. Note that this method is overridden, and not the same
-     * as the default implementation.
-     */
     @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Fixed Encounters:");
-
-        for (Map.Entry<String, Encounter> encounterSet : encounters.entrySet()) {
-            sb.append("\n" + encounterSet.getValue().toString());
-        }
+    protected String getDescriptionHeading() {
+        return "Fixed Encounters:";
+    }
 
-        return sb.toString();
+    @Override
+    protected Iterable<Encounter> getDescribedEncounters() {
+        return encounters.values();
     }
 }
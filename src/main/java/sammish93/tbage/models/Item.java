@@ -2,6 +2,7 @@ package sammish93.tbage.models;
 
 import sammish93.tbage.GameEngine;
 import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.interfaces.Describable;
 import sammish93.tbage.interfaces.Useable;
 
 import java.io.*;
@@ -12,7 +13,7 @@ import java.util.UUID;
  * A class used to model items that can be stored in a player's inventory, dropped by an enemy, or sold by an ally.
  * Items can be used by a player.
  */
-public class Item implements Useable, Serializable, Cloneable {
+public class Item implements Useable, Serializable, Cloneable, Describable {
 
     private String name;
     private int value;
@@ -295,11 +296,33 @@ public class Item implements Useable, Serializable, Cloneable {
      */
     @Override
     public String toString() {
+        return Describable.describe(this);
+    }
+
+    @Override
+    public void describeTo(Appendable out) throws IOException {
         double i = dropChance * 100;
-        return "Item Name: '" + name + "', " +
-                "Value: " + value + ", " +
-                "Drop Chance: " + (int) i + "%, " +
-                "Is Useable: " + isUseable();
+        out.append("Item Name: '").append(name)
+                .append("', Value: ").append(String.valueOf(value))
+                .append(", Drop Chance: ").append(String.valueOf((int) i))
+                .append("%, Is Useable: ").append(String.valueOf(isUseable()));
+    }
+
+    @Override
+    public void describeJsonTo(Appendable out) throws IOException {
+        out.append('{');
+        JsonAppender.appendField(out, "name");
+        JsonAppender.appendString(out, name);
+        out.append(',');
+        JsonAppender.appendField(out, "value");
+        out.append(String.valueOf(value));
+        out.append(',');
+        JsonAppender.appendField(out, "dropChance");
+        JsonAppender.appendNumber(out, dropChance);
+        out.append(',');
+        JsonAppender.appendField(out, "isUseable");
+        out.append(String.valueOf(isUseable()));
+        out.append('}');
     }
 
     /**
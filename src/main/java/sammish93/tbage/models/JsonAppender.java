@@ -0,0 +1,50 @@
+package sammish93.tbage.models;
+
+import sammish93.tbage.interfaces.Describable;
+import sammish93.tbage.tools.JsonStrings;
+
+import java.io.IOException;
+
+/**
+ * Writes the parts of a JSON object that are shared by the descriptions of every model.
+ * @see sammish93.tbage.interfaces.Describable#describeJsonTo(Appendable)
+ */
+final class JsonAppender {
+
+    private JsonAppender() {
+    }
+
+    static void appendField(Appendable out, String name) throws IOException {
+        appendString(out, name);
+        out.append(':');
+    }
+
+    static void appendString(Appendable out, String string) throws IOException {
+        JsonStrings.appendString(out, string);
+    }
+
+    static void appendArray(Appendable out, Iterable<? extends Describable> describables) throws IOException {
+        out.append('[');
+
+        boolean isFirst = true;
+        for (Describable describable : describables) {
+            if (!isFirst) {
+                out.append(',');
+            }
+            describable.describeJsonTo(out);
+            isFirst = false;
+        }
+
+        out.append(']');
+    }
+
+    static void appendNumber(Appendable out, double number) throws IOException {
+        if (Double.isFinite(number)) {
+            out.append(number == Math.rint(number) && Math.abs(number) < 1e15
+                    ? String.valueOf((long) number)
+                    : String.valueOf(number));
+        } else {
+            out.append("null");
+        }
+    }
+}
@@ -1,19 +1,21 @@
 package sammish93.tbage.models;
 
 import sammish93.tbage.GameEngine;
-import sammish93.tbage.enums.GamePlatform;
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.events.PlayerHealth;
 import sammish93.tbage.exceptions.InvalidValueException;
 import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.tools.CommandRegistry;
 import sammish93.tbage.tools.EncounterController;
-import sammish93.tbage.tools.StringParser;
+import sammish93.tbage.tools.InputPrompt;
+import sammish93.tbage.tools.ParsedCommand;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
 import java.util.UUID;
 
-import static sammish93.tbage.GameEngine.scanner;
-
 public class NonCombatEncounter extends Encounter {
 
     private TreeMap<String, Ally> allies;
@@ -135,8 +137,7 @@ public class NonCombatEncounter extends Encounter {
         int allyIteration = 1;
         var player = gameEngine.getPlayer();
 
-        gameEngine.printMessage("Your current health is " + (int)player.getCurrentHealth() + "/" +
-                (int)player.getMaxHealth());
+        gameEngine.emit(new PlayerHealth((int) player.getCurrentHealth(), (int) player.getMaxHealth()));
         for (Map.Entry<String, Ally> entry : allies.entrySet()) {
             var ally = entry.getValue();
             gameEngine.printMessage("Ally " + allyIteration++ + ": " + ally.getName());
@@ -147,11 +148,8 @@ public class NonCombatEncounter extends Encounter {
      * This method is used by the game's chosen interface.
      */
     @Override
-    public String run(GameEngine gameEngine) throws InventoryFullException, InvalidValueException, InterruptedException {
-
-        TreeMap<String, String> inputMap = new TreeMap<>();
+    public void begin(GameEngine gameEngine) throws InterruptedException {
         setBacktracking(isDefeated());
-        String inputComparison = EncounterController.getInput();
 
         if (isBacktracking()) {
             gameEngine.printMessage("You return to encounter '" + getName() + "'. Enter a navigational " +
@@ -164,172 +162,128 @@ public class NonCombatEncounter extends Encounter {
             setIntroductionPrinted(true);
         }
 
-        while (!isDefeated() || isBacktracking()) {
+        awaitCommand(gameEngine);
+    }
 
-            if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                Thread.sleep(100);
-                if (EncounterController.getInput().equals(inputComparison)) {
-                    continue;
-                }
-            } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                EncounterController.setInput(scanner.nextLine()) ;
+    /**
+     * Registers the handlers of the default commands that differ in a non-combat encounter.
+     * @param commandRegistry The CommandRegistry of a game session.
+     * @see Encounter#addDefaultCommands(CommandRegistry)
+     */
+    static void addNonCombatCommands(CommandRegistry commandRegistry) throws InvalidValueException {
+        commandRegistry.register(NonCombatEncounter.class, "progress", (engine, encounter) -> {
+            if (encounter.isDefeated()) {
+                encounter.finish(engine, "defeated");
+            } else {
+                engine.printMessage("You haven't defeated this encounter yet!");
             }
-
-            inputMap = StringParser.read(gameEngine, EncounterController.getInput());
-
-            inputComparison = "";
-            EncounterController.setInput("");
-
-            if (!gameEngine.getPlayer().isAlive()) {
-                while (true) {
-                    if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                        gameEngine.printMessage("Game has finished. Please type 'exit'.");
-                    } else {
-                        gameEngine.printMessage("Game has finished. Please press the 'Escape' key.");
-                    }
-
-                    if (scanner.nextLine().equalsIgnoreCase("exit")) {
-                        return "exit";
+        });
+        commandRegistry.register(NonCombatEncounter.class, "status",
+                (engine, encounter) -> encounter.printAllies(engine));
+        commandRegistry.register(NonCombatEncounter.class, "attack",
+                (engine, encounter) -> engine.printMessage("There are no enemies to attack!"));
+        commandRegistry.register(NonCombatEncounter.class, "interact", (engine, encounter) -> {
+            if (!encounter.getAllies().isEmpty()) {
+                EncounterController.chooseNpc(engine, encounter, (npcEngine, ally) -> {
+                    if (ally != null) {
+                        ((Ally) ally).onInteraction(npcEngine);
                     }
-                }
+                });
+            } else {
+                engine.printMessage("There is currently no one to interact with.");
             }
-
-            if (!inputMap.isEmpty()) {
-                if (inputMap.get("command") != null) {
-
-                    String value = inputMap.get("command");
-
-                    if (value.equalsIgnoreCase("exit")) {
-                        return "exit";
-                    } else if (value.equalsIgnoreCase("options") ||
-                            value.equalsIgnoreCase("help")) {
-                        printOptions(gameEngine);
-                    } else if (value.equalsIgnoreCase("back")) {
-                        gameEngine.printMessage("Invalid command. Did you want to navigate to the " +
-                                "previous encounter? Try a directional command like 'go south'.");
-                    } else if (value.equalsIgnoreCase("defeated")) {
-                        gameEngine.printMessage("You haven't defeated this encounter yet!");
-                    } else if (value.equalsIgnoreCase("playerdeath")) {
-                        gameEngine.printMessage("You aren't dead!");
-                    } else if (value.equalsIgnoreCase("progress")) {
-                        if (isDefeated()) {
-                            return "defeated";
-                        } else {
-                            gameEngine.printMessage("You haven't defeated this encounter yet!");
-                        }
-                    } else if (value.equalsIgnoreCase("status")) {
-                        printAllies(gameEngine);
-                    } else if (value.equalsIgnoreCase("inventory")) {
-                        printInventory(gameEngine);
-                    } else if (value.equalsIgnoreCase("attack")) {
-                        gameEngine.printMessage("There are no enemies to attack!");
-                    } else if (value.equalsIgnoreCase("interact")) {
-                        if (!getAllies().isEmpty()) {
-                            Ally ally = ((Ally) EncounterController.chooseNpc(gameEngine, this));
-                            if (ally != null) {
-                                ally.onInteraction(gameEngine);
-                            }
-                        } else {
-                            gameEngine.printMessage("There is currently no one to interact with.");
-                        }
-                    } else if (value.equalsIgnoreCase("investigate")) {
-                        if (!getProps().isEmpty()) {
-                            Prop propToBeUsed = EncounterController.chooseProp(gameEngine, this);
-                            if (propToBeUsed != null) {
-                                propToBeUsed.onUse(gameEngine);
-                            }
-                        } else {
-                            gameEngine.printMessage("There is currently nothing to investigate");
-                        }
-                    } else if (value.equalsIgnoreCase("use")) {
-                        if (!gameEngine.getPlayer().getInventory().isEmpty()) {
-                            EncounterController.useItem(gameEngine);
-                        } else {
-                            gameEngine.printMessage("You have no items in your inventory.");
-                        }
-
-                        if (!gameEngine.getPlayer().isAlive()) {
-                            gameEngine.printMessage("You have died!");
-                        }
-                    } else if (EncounterController.getInput().equalsIgnoreCase("skip")) {
-                        setDefeated(true);
-                    }
-                } else if (inputMap.get("verb") != null && inputMap.get("noun") != null) {
-                    String verb = inputMap.get("verb");
-                    String noun = inputMap.get("noun");
-
-                    if (noun.equalsIgnoreCase("defeated")) {
-                        gameEngine.printMessage("You haven't defeated this encounter yet!");
-                    } else if (getNavigationOptions().containsKey(noun) && !getNavigationalVerbs()
-                            .contains(verb)) {
-                        gameEngine.printMessage("Try another means of traversal.");
-                    } else if (getNavigationOptions().containsKey(noun) && getNavigationalVerbs()
-                            .contains(verb)) {
-                        setDefeated(true);
-                        EncounterController.getFeatRewards(gameEngine, this);
-                        return noun;
-                    } else {
-                        gameEngine.printMessage("Try something else.");
+        });
+        commandRegistry.register(NonCombatEncounter.class, "use", (engine, encounter) -> {
+            if (!engine.getPlayer().getInventory().isEmpty()) {
+                EncounterController.useItem(engine, (itemEngine, item) -> {
+                    if (!itemEngine.getPlayer().isAlive()) {
+                        itemEngine.printMessage("You have died!");
                     }
+                });
+            } else {
+                engine.printMessage("You have no items in your inventory.");
+
+                if (!engine.getPlayer().isAlive()) {
+                    engine.printMessage("You have died!");
                 }
             }
+        });
+        // Only reachable once 'skip' is added to the StringParser for debugging purposes.
+        commandRegistry.register(NonCombatEncounter.class, "skip",
+                (engine, encounter) -> encounter.setDefeated(true));
+    }
 
+    @Override
+    protected void handleCommand(GameEngine gameEngine, String input)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
+        ParsedCommand parsedCommand = gameEngine.getContext().getStringParser().readCommand(gameEngine, input);
 
-            if (isDefeated() && !isBacktracking()) {
-                EncounterController.getFeatRewards(gameEngine, this);
-
-                gameEngine.printMessage("Would you like to progress to the next encounter?");
-                boolean isAnswered = false;
-
-                while (!isAnswered) {
-                    if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                        Thread.sleep(100);
-                        if (EncounterController.getInput().equals(inputComparison)) {
-                            continue;
-                        }
-                    } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                        EncounterController.setInput(scanner.nextLine());
-                    }
+        if (!gameEngine.getPlayer().isAlive()) {
+            awaitExit(gameEngine);
+            return;
+        }
 
-                    String output = EncounterController.getInput();
-                    isAnswered = true;
-
-                    inputComparison = "";
-                    EncounterController.setInput("");
-                    if (output.equalsIgnoreCase("yes") || output.equalsIgnoreCase("y")) {
-                        isAnswered = true;
-                    } else {
-                        gameEngine.printMessage("Enter a navigational command or 'progress' to traverse to " +
-                                "another encounter.");
-                        setBacktracking(true);
-                    }
+        if (parsedCommand.isValid()) {
+            if (parsedCommand.isCommand()) {
+                gameEngine.getContext().getCommandRegistry().dispatch(gameEngine, this, parsedCommand.getCommand());
+            } else if (parsedCommand.isVerbAndNoun()) {
+                String verb = parsedCommand.getVerb();
+                String noun = parsedCommand.getNoun();
+
+                if (noun.equalsIgnoreCase("defeated")) {
+                    gameEngine.printMessage("You haven't defeated this encounter yet!");
+                } else if (getNavigationOptions().containsKey(noun) && !getNavigationalVerbs()
+                        .contains(verb)) {
+                    gameEngine.printMessage("Try another means of traversal.");
+                } else if (getNavigationOptions().containsKey(noun) && getNavigationalVerbs()
+                        .contains(verb)) {
+                    setDefeated(true);
+                    EncounterController.getFeatRewards(gameEngine, this);
+                    finish(gameEngine, noun);
+                } else {
+                    gameEngine.printMessage("Try something else.");
                 }
             }
         }
-
-        return "defeated";
     }
 
-    /**
-     *
-     * @return Returns a string representation of this object. Note that this method is overridden, and not the same
-     * as the default implementation.
-     */
     @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
+    protected void onCommandHandled(GameEngine gameEngine) throws InterruptedException {
+        if (isDefeated() && !isBacktracking()) {
+            EncounterController.getFeatRewards(gameEngine, this);
+
+            gameEngine.printMessage("Would you like to progress to the next encounter?");
+
+            gameEngine.getContext().pushPrompt(new InputPrompt(InputKind.CONFIRMATION, (engine, output) -> {
+                if (output.equalsIgnoreCase("yes") || output.equalsIgnoreCase("y")) {
+                    finish(engine, "defeated");
+                } else {
+                    engine.printMessage("Enter a navigational command or 'progress' to traverse to " +
+                            "another encounter.");
+                    setBacktracking(true);
+                }
+            }));
+        }
+    }
 
-        sb.append("Encounter Type: Non-Combat, ");
-        sb.append(super.toString());
+    @Override
+    public void describeTo(Appendable out) throws IOException {
+        out.append("Encounter Type: Non-Combat, ");
+        super.describeTo(out);
 
         if (!getAllies().isEmpty()) {
-            sb.append("\nAlly Table: ");
-            for (Map.Entry<String, Ally> allySet : getAllies().entrySet()) {
-                Ally ally = allySet.getValue();
-                sb.append("\n\t" + ally.toString());
+            out.append("\nAlly Table: ");
+            for (Ally ally : getAllies().values()) {
+                out.append("\n\t");
+                ally.describeTo(out);
             }
         }
+    }
 
-        return sb.toString();
+    @Override
+    protected void describeCharactersJsonTo(Appendable out) throws IOException {
+        out.append(',');
+        JsonAppender.appendField(out, "allies");
+        JsonAppender.appendArray(out, getAllies().values());
     }
 }
@@ -1,12 +1,14 @@
 package sammish93.tbage.models;
 
+import sammish93.tbage.interfaces.Describable;
+
 import java.io.*;
 import java.nio.file.InvalidPathException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
 
-public abstract class NonPlayableCharacter implements Serializable, Cloneable {
+public abstract class NonPlayableCharacter implements Serializable, Cloneable, Describable {
 
     private String name;
     private TreeMap<String, Ability> NpcAbilityPool;
@@ -15,6 +17,8 @@ public abstract class NonPlayableCharacter implements Serializable, Cloneable {
     // Data type not decided yet for imagePath.
     // ***********
     private String imagePath;
+    // Counts changes to what is shown of this character in a listing, such as its name or health.
+    private transient int stateVersion;
 
 
     protected NonPlayableCharacter(String name, TreeMap<String, Ability> abilities, TreeMap<String, Item> items) {
@@ -89,6 +93,15 @@ public abstract class NonPlayableCharacter implements Serializable, Cloneable {
      */
     public void setName(String name) {
         this.name = name;
+        stateVersion++;
+    }
+
+    int getStateVersion() {
+        return stateVersion;
+    }
+
+    void markStateChanged() {
+        stateVersion++;
     }
 
     public String getImagePath() {
@@ -149,29 +162,45 @@ public abstract class NonPlayableCharacter implements Serializable, Cloneable {
     }
 
     /**
-     * A method intended to be used to append to the toString() method of subclasses.
-     * @param sb An instance of a StringBuilder class.
-     * @see Ally#toString()
-     * @see Enemy#toString()
+     * A method intended to be used to append to the describeTo() method of subclasses.
+     * @param out The Appendable that the description is written to, e.g. an instance of a StringBuilder class.
+     * @throws IOException Arises if the description cannot be written to the Appendable.
+     * @see Ally#describeTo(Appendable)
+     * @see Enemy#describeTo(Appendable)
      */
-    protected void printItemTableAndAbilityPool(StringBuilder sb) {
+    protected void printItemTableAndAbilityPool(Appendable out) throws IOException {
         if (!getNpcItemTable().isEmpty()) {
-            sb.append("\n\tItem Table: ");
+            out.append("\n\tItem Table: ");
             for (Map.Entry<String, Item> itemSet : getNpcItemTable().entrySet()) {
-                Item item = itemSet.getValue();
-                sb.append("\n\t\t" + item.toString());
+                out.append("\n\t\t");
+                itemSet.getValue().describeTo(out);
             }
         }
 
         if (!getNpcAbilityPool().isEmpty()) {
-            sb.append("\n\tAbility Table: ");
+            out.append("\n\tAbility Table: ");
             for (Map.Entry<String, Ability> abilitySet : getNpcAbilityPool().entrySet()) {
-                Ability ability = abilitySet.getValue();
-                sb.append("\n\t\t" + ability.toString());
+                out.append("\n\t\t");
+                abilitySet.getValue().describeTo(out);
             }
         }
     }
 
+    /**
+     * A method intended to be used to append the item table and ability pool to the describeJsonTo() method of
+     * subclasses, as the last two fields of the JSON object.
+     * @param out The Appendable that the description is written to.
+     * @throws IOException Arises if the description cannot be written to the Appendable.
+     */
+    protected void printItemTableAndAbilityPoolJson(Appendable out) throws IOException {
+        out.append(',');
+        JsonAppender.appendField(out, "items");
+        JsonAppender.appendArray(out, getNpcItemTable().values());
+        out.append(',');
+        JsonAppender.appendField(out, "abilities");
+        JsonAppender.appendArray(out, getNpcAbilityPool().values());
+    }
+
     /**
      * This method is intended to be abe to provide functionality so that an Encounter can include
      * duplicate NonPlayableCharacters, but which can all behave individually.
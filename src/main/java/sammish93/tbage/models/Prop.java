@@ -1,6 +1,7 @@
 package sammish93.tbage.models;
 
 import sammish93.tbage.GameEngine;
+import sammish93.tbage.interfaces.Describable;
 import sammish93.tbage.interfaces.Useable;
 
 import java.io.*;
@@ -11,7 +12,7 @@ import java.util.UUID;
  * This class is used to add props that can be interacted with (using the 'investigate' command) during runtime
  * in an Encounter.
  */
-public class Prop implements Serializable, Cloneable, Useable {
+public class Prop implements Serializable, Cloneable, Useable, Describable {
 
     private String name;
     private Useable onUseBehaviour;
@@ -88,7 +89,7 @@ public class Prop implements Serializable, Cloneable, Useable {
      *                Example of a lambda created using the generic Useable interface:
      *                Useable onUseSwitch = (gameEngine) -> {
      *                  gameEngine.printMessage("A door unlocks in the distance..");
-     *                  var encounter = EncounterTraversalController.getCurrentEncounter();
+     *                  var encounter = gameEngine.getContext().getCurrentEncounter();
      *                  encounter.setDefeated(true);
      *                };
      */
@@ -157,9 +158,28 @@ public class Prop implements Serializable, Cloneable, Useable {
      */
     @Override
     public String toString() {
-        return "Prop Name: '" + name + "', " +
-                "Is Useable: " + isUseable() + ", " +
-                "Is Used: " + isUsed;
+        return Describable.describe(this);
+    }
+
+    @Override
+    public void describeTo(Appendable out) throws IOException {
+        out.append("Prop Name: '").append(name)
+                .append("', Is Useable: ").append(String.valueOf(isUseable()))
+                .append(", Is Used: ").append(String.valueOf(isUsed));
+    }
+
+    @Override
+    public void describeJsonTo(Appendable out) throws IOException {
+        out.append('{');
+        JsonAppender.appendField(out, "name");
+        JsonAppender.appendString(out, name);
+        out.append(',');
+        JsonAppender.appendField(out, "isUseable");
+        out.append(String.valueOf(isUseable()));
+        out.append(',');
+        JsonAppender.appendField(out, "isUsed");
+        out.append(String.valueOf(isUsed));
+        out.append('}');
     }
 
     /**
@@ -280,20 +280,14 @@ public class RandomEncounters extends Encounters{
         }
     }
 
-    /**
-     *
-     * @return Returns a string representation of this object. Note that this method is overridden, and not the same
-     * as the default implementation.
-     */
     @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Random Encounters In Order:");
-
-        for (String encounterName : getEncounterOrder()) {
-            sb.append("\n" + encounterPool.get(encounterName).toString());
-        }
+    protected String getDescriptionHeading() {
+        return "Random Encounters In Order:";
+    }
 
-        return sb.toString();
+    @Override
+    protected Iterable<Encounter> getDescribedEncounters() {
+        Queue<String> encounterOrder = getEncounterOrder();
+        return () -> encounterOrder.stream().map(encounterPool::get).iterator();
     }
 }
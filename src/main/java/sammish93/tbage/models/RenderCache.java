@@ -0,0 +1,35 @@
+package sammish93.tbage.models;
+
+/**
+ * Holds the last value rendered for a listing shown to the player (e.g. the player's inventory), together with the
+ * key describing the state it was rendered from. The value is reused for as long as the key stays the same, so that
+ * a listing that is asked for again without anything having changed is not built again.
+ * @param <T> The type of the rendered value.
+ */
+class RenderCache<T> {
+
+    private Object key;
+    private T value;
+
+
+    /**
+     *
+     * @param key Describes the state that the value is rendered from. It must implement equals().
+     * @return Returns the value rendered from the given key, or null if it was rendered from another key.
+     */
+    T get(Object key) {
+        return value != null && key.equals(this.key) ? value : null;
+    }
+
+    /**
+     *
+     * @param key Describes the state that the value was rendered from.
+     * @param value The rendered value.
+     * @return Returns the given value.
+     */
+    T put(Object key, T value) {
+        this.key = key;
+        this.value = value;
+        return value;
+    }
+}
@@ -0,0 +1,368 @@
+package sammish93.tbage.network;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.enums.SessionStatus;
+import sammish93.tbage.events.CurrencyReceived;
+import sammish93.tbage.events.DamageDealt;
+import sammish93.tbage.events.EnemyDied;
+import sammish93.tbage.events.EnemyIdle;
+import sammish93.tbage.events.EnemyStatus;
+import sammish93.tbage.events.FeatAwarded;
+import sammish93.tbage.events.GameEvent;
+import sammish93.tbage.events.ItemReceived;
+import sammish93.tbage.events.Message;
+import sammish93.tbage.events.PlayerHealth;
+import sammish93.tbage.events.PromptChoices;
+import sammish93.tbage.events.TurnStarted;
+import sammish93.tbage.gui.StepResult;
+import sammish93.tbage.host.GameHost;
+import sammish93.tbage.host.GameSession;
+import sammish93.tbage.interfaces.SessionListener;
+import sammish93.tbage.models.Encounter;
+import sammish93.tbage.models.Player;
+import sammish93.tbage.tools.JsonStrings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A class intended to serve games to web clients over HTTP, using the HTTP server built into the JDK. Each request
+ * handles a single line of input, and is answered with the output of that line together with the player's status
+ * as JSON. Requests are handled on an executor returned by GameHost.createDefaultExecutor().
+ *
+ * Endpoints:
+ * POST   /sessions              Starts a new game, and responds with its introduction.
+ * POST   /sessions/{id}/input   Handles the request body, as plain text, as a line of input entered by the player.
+ * DELETE /sessions/{id}         Ends a game.
+ *
+ * Input refused by the host's SessionLimits is answered with status code 429. Besides the text of the output, each
+ * response lists the events emitted by the game (e.g. damage dealt, items received), so that a client can draw its
+ * own interface without parsing text.
+ *
+ * Example response:
+ * {"sessionId":"...","output":["You did 3 damage to Rat."],"events":[{"type":"DamageDealt","attacker":null,
+ * "target":"Rat","amount":3}],"expectedInputKind":"CONFIRMATION","finished":false,
+ * "player":{"health":100,"maxHealth":100},"encounter":{"name":"CAMP","navigationOptions":["north"]}}
+ *
+ * @see GameHost#createDefaultExecutor()
+ */
+public class HttpApiServer {
+
+    private static final String CONTEXT_PATH = "/sessions";
+    private static final long RESPONSE_TIMEOUT_SECONDS = 10;
+    private static final int MAX_INPUT_LENGTH = 1024;
+    private static final SessionListener IGNORE_OUTPUT = (sessionId, result) -> { };
+
+    private final GameHost host;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+
+    private HttpApiServer(GameHost host, InetSocketAddress address) throws IOException {
+        this.host = host;
+        server = HttpServer.create(address, 1024);
+        executor = GameHost.createDefaultExecutor();
+        server.setExecutor(executor);
+        server.createContext(CONTEXT_PATH, this::handle);
+    }
+
+    /**
+     *
+     * @param host The GameHost that each game is given a session on.
+     * @param address The address to listen on. A port of 0 lets the system choose a free port.
+     * @return Returns a new instance of HttpApiServer, bound to the given address.
+     * @throws IOException Arises if the address cannot be bound to.
+     */
+    public static HttpApiServer create(GameHost host, InetSocketAddress address) throws IOException {
+        return new HttpApiServer(host, address);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     *
+     * @return Returns the port that the server is listening on.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests. Sessions are kept on the GameHost.
+     * @param delaySeconds The number of seconds that requests in progress are given to finish.
+     */
+    public void close(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        // The exchange is only closed once an error has been responded to.
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (Exception ex) {
+                ex.printStackTrace();
+
+                // Once the headers have been sent, the client only learns of the error by the response ending early.
+                if (exchange.getResponseCode() == -1) {
+                    respond(exchange, 500, error("The request could not be handled."));
+                }
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws Exception {
+        String subPath = exchange.getRequestURI().getPath().substring(CONTEXT_PATH.length());
+        // "/{id}/input" is split into "", "{id}" and "input".
+        String[] path = subPath.split("/");
+        String method = exchange.getRequestMethod();
+
+        if (!subPath.isEmpty() && !subPath.startsWith("/")) {
+            respond(exchange, 404, error("Not found."));
+        } else if (path.length <= 1 && method.equals("POST")) {
+            createSession(exchange);
+        } else if (path.length == 3 && path[2].equals("input") && method.equals("POST")) {
+            submitInput(exchange, path[1]);
+        } else if (path.length == 2 && method.equals("DELETE")) {
+            respond(exchange, host.terminate(path[1]) ? 204 : 404, null);
+        } else if (path.length <= 2 || path.length == 3 && path[2].equals("input")) {
+            respond(exchange, 405, error("Method not allowed."));
+        } else {
+            respond(exchange, 404, error("Not found."));
+        }
+    }
+
+    private void createSession(HttpExchange exchange) throws Exception {
+        GameSession session = host.createSession();
+        var introduction = new StringBuilder();
+
+        // No input has been submitted yet, so the introduction is flushed to the first listener straight away. Later
+        // output is returned by submitInput instead.
+        var events = new ArrayList<GameEvent>();
+        host.attach(session.getId(), (sessionId, result) -> {
+            introduction.append(result.getOutput());
+            events.addAll(result.getEvents());
+        });
+        host.attach(session.getId(), IGNORE_OUTPUT);
+
+        var result = new StepResult(introduction.toString(), session.getExpectedInputKind(), events);
+        String response;
+
+        // The game is read on the session's executor, in case it has been hibernated in the meantime.
+        try {
+            response = session.read(gameEngine -> toJson(session.getId(), gameEngine, result))
+                    .get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException ex) {
+            respond(exchange, 504, error("The game did not respond in time."));
+            return;
+        }
+
+        respond(exchange, 201, response);
+    }
+
+    private void submitInput(HttpExchange exchange, String sessionId) throws IOException, InterruptedException {
+        GameSession session = host.getSession(sessionId);
+
+        if (session == null) {
+            respond(exchange, 404, error("There is no session with the id '" + sessionId + "'."));
+            return;
+        }
+
+        String input = readInput(exchange.getRequestBody());
+        String response;
+
+        try {
+            response = session.submit(input, (gameEngine, result) -> toJson(sessionId, gameEngine, result))
+                    .get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException ex) {
+            int statusCode = ex.getCause() instanceof RejectedExecutionException ? 429 : 409;
+            respond(exchange, statusCode, error(ex.getCause().getMessage()));
+            return;
+        } catch (TimeoutException ex) {
+            respond(exchange, 504, error("The game did not respond in time."));
+            return;
+        }
+
+        if (session.getStatus() != SessionStatus.ACTIVE) {
+            host.terminate(sessionId);
+        }
+
+        respond(exchange, 200, response);
+    }
+
+    private static String readInput(InputStream inputStream) throws IOException {
+        byte[] bytes = inputStream.readNBytes(MAX_INPUT_LENGTH);
+        String input = new String(bytes, StandardCharsets.UTF_8);
+        int lineBreak = input.indexOf('\n');
+
+        return (lineBreak == -1 ? input : input.substring(0, lineBreak)).trim();
+    }
+
+    private static String toJson(String sessionId, GameEngine gameEngine, StepResult result) {
+        var sb = new StringBuilder();
+        Player player = gameEngine.getPlayer();
+        Encounter encounter = gameEngine.getContext().getCurrentEncounter();
+
+        sb.append("{\"sessionId\":");
+        JsonStrings.appendString(sb, sessionId);
+        sb.append(",\"output\":[");
+        boolean isFirst = true;
+        for (String line : result.getOutput().split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!isFirst) {
+                sb.append(',');
+            }
+            JsonStrings.appendString(sb, line);
+            isFirst = false;
+        }
+        sb.append("],\"events\":[");
+        isFirst = true;
+        for (GameEvent event : result.getEvents()) {
+            // Messages are already part of the output.
+            if (event instanceof Message) {
+                continue;
+            }
+            if (!isFirst) {
+                sb.append(',');
+            }
+            appendEvent(sb, event);
+            isFirst = false;
+        }
+        sb.append("],\"expectedInputKind\":");
+        JsonStrings.appendString(sb, result.getExpectedInputKind().name());
+        sb.append(",\"finished\":").append(result.isFinished());
+        sb.append(",\"player\":{\"health\":").append((int) player.getCurrentHealth());
+        sb.append(",\"maxHealth\":").append((int) player.getMaxHealth()).append('}');
+        sb.append(",\"encounter\":");
+
+        if (encounter == null) {
+            sb.append("null");
+        } else {
+            sb.append("{\"name\":");
+            JsonStrings.appendString(sb, encounter.getName());
+            sb.append(",\"navigationOptions\":[");
+            isFirst = true;
+            for (String navigationOption : encounter.getNavigationOptions().keySet()) {
+                // Leaving once the encounter is defeated is not a direction that the player can choose.
+                if (navigationOption.equalsIgnoreCase("defeated")) {
+                    continue;
+                }
+                if (!isFirst) {
+                    sb.append(',');
+                }
+                JsonStrings.appendString(sb, navigationOption);
+                isFirst = false;
+            }
+            sb.append("]}");
+        }
+
+        return sb.append('}').toString();
+    }
+
+    private static void appendEvent(StringBuilder sb, GameEvent event) {
+        sb.append("{\"type\":");
+        JsonStrings.appendString(sb, event.getType());
+
+        if (event instanceof TurnStarted turnStarted) {
+            sb.append(",\"turnNumber\":").append(turnStarted.getTurnNumber());
+        } else if (event instanceof PromptChoices promptChoices) {
+            sb.append(",\"question\":");
+            appendNullableString(sb, promptChoices.getQuestion());
+            sb.append(",\"choices\":{");
+            boolean isFirst = true;
+            for (Map.Entry<Integer, String> entry : promptChoices.getChoices().entrySet()) {
+                if (!isFirst) {
+                    sb.append(',');
+                }
+                JsonStrings.appendString(sb, String.valueOf(entry.getKey()));
+                sb.append(':');
+                JsonStrings.appendString(sb, entry.getValue());
+                isFirst = false;
+            }
+            sb.append('}');
+        } else if (event instanceof DamageDealt damageDealt) {
+            sb.append(",\"attacker\":");
+            appendNullableString(sb, damageDealt.getAttackerName());
+            sb.append(",\"target\":");
+            appendNullableString(sb, damageDealt.getTargetName());
+            sb.append(",\"amount\":").append(damageDealt.getAmount());
+        } else if (event instanceof EnemyDied enemyDied) {
+            sb.append(",\"enemy\":");
+            JsonStrings.appendString(sb, enemyDied.getEnemyName());
+        } else if (event instanceof EnemyIdle enemyIdle) {
+            sb.append(",\"enemy\":");
+            JsonStrings.appendString(sb, enemyIdle.getEnemyName());
+        } else if (event instanceof ItemReceived itemReceived) {
+            sb.append(",\"item\":");
+            JsonStrings.appendString(sb, itemReceived.getItemName());
+            sb.append(",\"source\":");
+            JsonStrings.appendString(sb, itemReceived.getSourceName());
+        } else if (event instanceof CurrencyReceived currencyReceived) {
+            sb.append(",\"amount\":").append(currencyReceived.getAmount());
+        } else if (event instanceof FeatAwarded featAwarded) {
+            sb.append(",\"feat\":");
+            JsonStrings.appendString(sb, featAwarded.getFeatName());
+        } else if (event instanceof PlayerHealth playerHealth) {
+            sb.append(",\"health\":").append(playerHealth.getCurrentHealth());
+            sb.append(",\"maxHealth\":").append(playerHealth.getMaxHealth());
+        } else if (event instanceof EnemyStatus enemyStatus) {
+            sb.append(",\"number\":").append(enemyStatus.getNumber());
+            sb.append(",\"enemy\":");
+            JsonStrings.appendString(sb, enemyStatus.getEnemyName());
+            sb.append(",\"status\":");
+            JsonStrings.appendString(sb, enemyStatus.getHealthStatus());
+        }
+
+        sb.append('}');
+    }
+
+    private static void appendNullableString(StringBuilder sb, String string) {
+        if (string == null) {
+            sb.append("null");
+        } else {
+            JsonStrings.appendString(sb, string);
+        }
+    }
+
+    private static String error(String message) {
+        var sb = new StringBuilder("{\"error\":");
+        JsonStrings.appendString(sb, message);
+
+        return sb.append('}').toString();
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(statusCode, -1);
+            return;
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
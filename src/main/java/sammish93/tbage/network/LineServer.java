@@ -0,0 +1,390 @@
+package sammish93.tbage.network;
+
+import sammish93.tbage.enums.SessionStatus;
+import sammish93.tbage.gui.StepResult;
+import sammish93.tbage.host.GameHost;
+import sammish93.tbage.host.GameSession;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A class intended to serve games over a telnet-style line protocol. Each connection is given its own session on
+ * a GameHost. Every line sent by a client is handed to its session as input, and everything that the session
+ * prints is sent back. All connections are served by a single thread using a Selector, while the games
+ * themselves are advanced on the host's executor. New sessions are also created on the host's executor, so that a
+ * burst of connections does not hold up players who are already connected.
+ *
+ * Example:
+ * LineServer server = LineServer.create(GameHost.create(gameEngine), new InetSocketAddress(4000));
+ * server.start();
+ * and then, from a terminal:
+ * telnet localhost 4000
+ *
+ * NOTE: Input is submitted from the Selector's thread, so the GameHost should not use OverflowPolicy.BLOCK, as a
+ * single player could then stall every connection. Input that is refused is answered with a message instead.
+ */
+public class LineServer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_LINE_LENGTH = 1024;
+
+    private final GameHost host;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final Queue<Connection> pendingRegistrations = new ConcurrentLinkedQueue<>();
+    private Thread thread;
+    private volatile boolean isRunning = false;
+
+
+    private LineServer(GameHost host, SocketAddress address) throws IOException {
+        this.host = host;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     *
+     * @param host The GameHost that each connection is given a session on.
+     * @param address The address to listen on. A port of 0 lets the system choose a free port.
+     * @return Returns a new instance of LineServer, bound to the given address.
+     * @throws IOException Arises if the address cannot be bound to.
+     */
+    public static LineServer create(GameHost host, SocketAddress address) throws IOException {
+        return new LineServer(host, address);
+    }
+
+    /**
+     * Starts accepting connections on a new thread.
+     */
+    public synchronized void start() {
+        if (isRunning) {
+            return;
+        }
+
+        isRunning = true;
+        thread = new Thread(this::run, "tbage-line-server");
+        thread.start();
+    }
+
+    /**
+     *
+     * @return Returns the port that the server is listening on.
+     */
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Stops accepting connections, closes every open connection, and terminates their sessions.
+     */
+    public void close() throws InterruptedException {
+        isRunning = false;
+        selector.wakeup();
+
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    private void run() {
+        try {
+            while (isRunning) {
+                selector.select();
+
+                Connection connection;
+                while ((connection = pendingRegistrations.poll()) != null) {
+                    register(connection);
+                }
+                while ((connection = pendingWrites.poll()) != null) {
+                    if (connection.key.isValid()) {
+                        connection.key.interestOps(connection.key.interestOps() | SelectionKey.OP_WRITE);
+                    }
+                }
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+                        if (key.isReadable()) {
+                            read((Connection) key.attachment());
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            write((Connection) key.attachment());
+                        }
+                    } catch (IOException ex) {
+                        if (key.attachment() != null) {
+                            close((Connection) key.attachment());
+                        }
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | ClosedSelectorException ex) {
+            ex.printStackTrace();
+        } finally {
+            Connection connection;
+            while ((connection = pendingRegistrations.poll()) != null) {
+                discard(connection);
+            }
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() != null) {
+                    close((Connection) key.attachment());
+                }
+            }
+
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+
+        if (channel == null) {
+            return;
+        }
+
+        channel.configureBlocking(false);
+        host.createSessionAsync().whenComplete((session, ex) -> {
+            if (ex != null) {
+                ex.printStackTrace();
+                closeQuietly(channel);
+                return;
+            }
+
+            var connection = new Connection(channel, session);
+            pendingRegistrations.offer(connection);
+            selector.wakeup();
+
+            // Once the server has stopped, a connection is discarded by whichever of this thread and the selector's
+            // thread removes it from the queue.
+            if (!isRunning && pendingRegistrations.remove(connection)) {
+                discard(connection);
+            }
+        });
+    }
+
+    private void register(Connection connection) {
+        try {
+            connection.key = connection.channel.register(selector, SelectionKey.OP_READ, connection);
+        } catch (IOException ex) {
+            discard(connection);
+            return;
+        }
+
+        host.attach(connection.session.getId(), (sessionId, result) -> onOutput(connection, result));
+    }
+
+    private void discard(Connection connection) {
+        host.terminate(connection.session.getId());
+        closeQuietly(connection.channel);
+    }
+
+    private void onOutput(Connection connection, StepResult result) {
+        send(connection, result.getOutput(), result.isFinished());
+    }
+
+    private void send(Connection connection, String text) {
+        send(connection, text, false);
+    }
+
+    private void send(Connection connection, String text, boolean isLast) {
+        connection.outbound.offer(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+        // Only marked as closing once the last output is queued, so that the selector thread cannot close the
+        // connection after writing earlier output but before the last output arrives.
+        if (isLast) {
+            connection.isClosing = true;
+        }
+        pendingWrites.offer(connection);
+        selector.wakeup();
+    }
+
+    private void read(Connection connection) throws IOException {
+        readBuffer.clear();
+        int count = connection.channel.read(readBuffer);
+
+        if (count == -1) {
+            close(connection);
+            return;
+        }
+
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            String line = connection.accept(readBuffer.get());
+
+            if (line != null && !connection.session.submit(line)
+                    && connection.session.getStatus() == SessionStatus.ACTIVE) {
+                send(connection, "Too much input has been entered. Please slow down.\n");
+            }
+        }
+    }
+
+    private void write(Connection connection) throws IOException {
+        writeBuffer.clear();
+
+        for (ByteBuffer buffer : connection.outbound) {
+            if (!writeBuffer.hasRemaining()) {
+                break;
+            }
+
+            int length = Math.min(buffer.remaining(), writeBuffer.remaining());
+            writeBuffer.put(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+        }
+
+        writeBuffer.flip();
+        int written = connection.channel.write(writeBuffer);
+
+        while (written > 0) {
+            ByteBuffer buffer = connection.outbound.peek();
+            int consumed = Math.min(written, buffer.remaining());
+            buffer.position(buffer.position() + consumed);
+            written -= consumed;
+
+            if (!buffer.hasRemaining()) {
+                connection.outbound.poll();
+            }
+        }
+
+        if (connection.outbound.isEmpty()) {
+            if (connection.isClosing) {
+                close(connection);
+            } else {
+                connection.key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+    }
+
+    private void close(Connection connection) {
+        host.terminate(connection.session.getId());
+        connection.key.cancel();
+        closeQuietly(connection.channel);
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            // The connection is being discarded either way.
+        }
+    }
+
+    private static class Connection {
+
+        private static final int IAC = 0xFF;
+        private static final int SB = 0xFA;
+        private static final int SE = 0xF0;
+        private static final int WILL = 0xFB;
+        private static final int DONT = 0xFE;
+
+        private final SocketChannel channel;
+        private final GameSession session;
+        private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+        private final byte[] line = new byte[MAX_LINE_LENGTH];
+        private int lineLength = 0;
+        private TelnetState telnetState = TelnetState.DATA;
+        private SelectionKey key;
+        private volatile boolean isClosing = false;
+
+
+        private Connection(SocketChannel channel, GameSession session) {
+            this.channel = channel;
+            this.session = session;
+        }
+
+        /**
+         *
+         * @param b A single byte read from the connection.
+         * @return Returns a line of input once it has been completed by the given byte, or otherwise null.
+         */
+        private String accept(byte b) {
+            int value = b & 0xFF;
+
+            // Telnet commands (e.g. IAC DO ECHO, or a subnegotiation of the window size) are ignored. IAC IAC stands
+            // for a single data byte of 255.
+            switch (telnetState) {
+                case COMMAND -> {
+                    if (value == IAC) {
+                        telnetState = TelnetState.DATA;
+                        return append(b);
+                    }
+                    telnetState = value == SB ? TelnetState.SUBNEGOTIATION
+                            : value >= WILL && value <= DONT ? TelnetState.OPTION : TelnetState.DATA;
+                    return null;
+                }
+                case OPTION -> {
+                    telnetState = TelnetState.DATA;
+                    return null;
+                }
+                case SUBNEGOTIATION -> {
+                    if (value == IAC) {
+                        telnetState = TelnetState.SUBNEGOTIATION_COMMAND;
+                    }
+                    return null;
+                }
+                case SUBNEGOTIATION_COMMAND -> {
+                    telnetState = value == SE ? TelnetState.DATA : TelnetState.SUBNEGOTIATION;
+                    return null;
+                }
+                default -> {
+                    if (value == IAC) {
+                        telnetState = TelnetState.COMMAND;
+                        return null;
+                    }
+                    return append(b);
+                }
+            }
+        }
+
+        private String append(byte b) {
+            int value = b & 0xFF;
+            String completedLine = null;
+
+            if (value == '\n') {
+                completedLine = new String(line, 0, lineLength, StandardCharsets.UTF_8).trim();
+                lineLength = 0;
+            } else if (value != '\r' && lineLength < MAX_LINE_LENGTH) {
+                line[lineLength++] = b;
+            }
+
+            return completedLine;
+        }
+    }
+
+    private enum TelnetState {
+        DATA,
+        COMMAND,
+        OPTION,
+        SUBNEGOTIATION,
+        SUBNEGOTIATION_COMMAND
+    }
+}
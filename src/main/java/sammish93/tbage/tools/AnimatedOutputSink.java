@@ -0,0 +1,197 @@
+package sammish93.tbage.tools;
+
+import sammish93.tbage.interfaces.OutputSink;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class intended to play text to another OutputSink one character at a time, without holding up the thread that
+ * prints it. Animated text is queued and played by a shared rendering thread at a fixed pause between each
+ * character, while the game carries on. Text written without animation waits behind any queued animated text, so
+ * that the order in which the game printed everything is kept.
+ *
+ * Example:
+ * var animatedOutputSink = AnimatedOutputSink.create(gameEngine.getOutputSink(), 10);
+ * animatedOutputSink.writeAnimated("You have taken 5 damage!\n");
+ *
+ * Once new input arrives the game calls skipToEnd(), so that the player never has to wait for text that they have
+ * already moved past.
+ * @see sammish93.tbage.GameEngine#printMessage(String)
+ */
+public class AnimatedOutputSink implements OutputSink {
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "tbage-animation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final OutputSink target;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private int position;
+    private int delay;
+    private ScheduledFuture<?> playback;
+
+
+    private AnimatedOutputSink(OutputSink target, int delay) {
+        this.target = target;
+        this.delay = delay;
+    }
+
+    /**
+     *
+     * @param target The OutputSink that the text is played to.
+     * @param delay The pause (in milliseconds) between each character being played.
+     * @return Returns a new instance of AnimatedOutputSink.
+     */
+    public static AnimatedOutputSink create(OutputSink target, int delay) {
+        return new AnimatedOutputSink(target, Math.max(delay, 1));
+    }
+
+    /**
+     *
+     * @return Returns the OutputSink that the text is played to.
+     */
+    public OutputSink getTarget() {
+        return target;
+    }
+
+    /**
+     *
+     * @param delay Sets the pause (in milliseconds) between each character being played. The new pause is used
+     *              from the next time that queued text begins to play.
+     */
+    public synchronized void setDelay(int delay) {
+        this.delay = Math.max(delay, 1);
+    }
+
+    /**
+     * Writes text to the target straight away if nothing is being played, otherwise queues it behind the text
+     * that is being played.
+     * @param text The text to be written.
+     */
+    @Override
+    public synchronized void write(String text) {
+        if (segments.isEmpty()) {
+            target.write(text);
+        } else {
+            segments.add(new Segment(text, false));
+        }
+    }
+
+    /**
+     * Queues text to be played one character at a time, and returns without waiting for it to be played.
+     * @param text The text to be played.
+     */
+    public synchronized void writeAnimated(String text) {
+        if (text.isEmpty()) {
+            return;
+        }
+
+        segments.add(new Segment(text, true));
+
+        if (playback == null) {
+            playback = scheduler.scheduleAtFixedRate(this::playNextCharacter, 0, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Flushes the target. Queued text is not written, and continues to be played.
+     */
+    @Override
+    public void flush() {
+        target.flush();
+    }
+
+    /**
+     * Writes all queued text to the target at once and stops playing.
+     */
+    public synchronized void skipToEnd() {
+        if (segments.isEmpty()) {
+            return;
+        }
+
+        var remainder = new StringBuilder(segments.remove().text.substring(position));
+        for (Segment segment : segments) {
+            remainder.append(segment.text);
+        }
+
+        segments.clear();
+        target.write(remainder.toString());
+        stop();
+    }
+
+    /**
+     * Blocks until all queued text has been played.
+     */
+    public synchronized void awaitIdle() throws InterruptedException {
+        while (!segments.isEmpty()) {
+            wait();
+        }
+    }
+
+    /**
+     *
+     * @return Returns a boolean value representing if there is queued text that has not yet been played.
+     */
+    public synchronized boolean isPlaying() {
+        return !segments.isEmpty();
+    }
+
+    private synchronized void playNextCharacter() {
+        var segment = segments.peek();
+
+        if (segment == null) {
+            stop();
+            return;
+        }
+
+        if (segment.isAnimated) {
+            int end = segment.text.offsetByCodePoints(position, 1);
+            target.write(segment.text.substring(position, end));
+            position = end;
+        } else {
+            target.write(segment.text);
+            position = segment.text.length();
+        }
+
+        if (position == segment.text.length()) {
+            segments.remove();
+            position = 0;
+        }
+
+        if (segments.isEmpty()) {
+            stop();
+        } else {
+            target.flush();
+        }
+    }
+
+    private void stop() {
+        position = 0;
+        target.flush();
+
+        if (playback != null) {
+            playback.cancel(false);
+            playback = null;
+        }
+
+        notifyAll();
+    }
+
+    private static class Segment {
+
+        private final String text;
+        private final boolean isAnimated;
+
+
+        private Segment(String text, boolean isAnimated) {
+            this.text = text;
+            this.isAnimated = isAnimated;
+        }
+    }
+}
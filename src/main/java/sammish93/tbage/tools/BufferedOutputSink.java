@@ -0,0 +1,75 @@
+package sammish93.tbage.tools;
+
+import sammish93.tbage.interfaces.OutputSink;
+
+/**
+ * A class intended to collect the text printed by the game during a turn, and to pass it on to another OutputSink
+ * in a single write once the game waits for input. A combat turn prints many short messages, and writing each of
+ * them to the console separately is far slower than writing the whole turn at once. The buffer is reused from turn
+ * to turn, and is also flushed if it grows past its capacity.
+ *
+ * Example:
+ * gameEngine.setPlatformToHeadless(inputSource, BufferedOutputSink.create(text -> socket.send(text)));
+ *
+ * @see EncounterController#awaitInput(sammish93.tbage.GameEngine)
+ */
+public class BufferedOutputSink implements OutputSink {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private final OutputSink target;
+    private final int capacity;
+    private final StringBuilder buffer;
+
+
+    private BufferedOutputSink(OutputSink target, int capacity) {
+        this.target = target;
+        this.capacity = capacity;
+        buffer = new StringBuilder(capacity);
+    }
+
+    /**
+     *
+     * @param target The OutputSink that the collected text is written to.
+     * @return Returns a new instance of BufferedOutputSink that holds up to 8192 characters before flushing.
+     */
+    public static BufferedOutputSink create(OutputSink target) {
+        return new BufferedOutputSink(target, DEFAULT_CAPACITY);
+    }
+
+    /**
+     *
+     * @param target The OutputSink that the collected text is written to.
+     * @param capacity The number of characters held before the buffer is flushed without waiting for input.
+     * @return Returns a new instance of BufferedOutputSink.
+     */
+    public static BufferedOutputSink create(OutputSink target, int capacity) {
+        return new BufferedOutputSink(target, Math.max(capacity, 1));
+    }
+
+    /**
+     * Adds text to the buffer. The text is only written to the target once the buffer is flushed.
+     * @param text The text to be written.
+     */
+    @Override
+    public synchronized void write(String text) {
+        buffer.append(text);
+
+        if (buffer.length() >= capacity) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all collected text to the target in a single write, and then flushes the target.
+     */
+    @Override
+    public synchronized void flush() {
+        if (buffer.length() > 0) {
+            target.write(buffer.toString());
+            buffer.setLength(0);
+        }
+
+        target.flush();
+    }
+}
@@ -0,0 +1,70 @@
+package sammish93.tbage.tools;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.interfaces.Prompt;
+import sammish93.tbage.interfaces.PromptCallback;
+
+import java.util.TreeMap;
+
+/**
+ * A prompt that waits for the player to pick a number from a numbered list, or to enter 'back'. An invalid choice
+ * is reported, and the prompt keeps waiting.
+ */
+public class ChoicePrompt implements Prompt {
+
+    private final TreeMap<Integer, String> choices;
+    private final int choiceCount;
+    private final String backMessage;
+    private final PromptCallback<String> callback;
+
+
+    /**
+     *
+     * @param choices A TreeMap of the numbers that can be entered, and the names that they represent.
+     * @param choiceCount The highest number mentioned when an invalid choice is reported.
+     * @param backMessage The message printed when the player enters 'back'.
+     * @param callback Receives the name that was chosen, or null if the player entered 'back'.
+     */
+    public ChoicePrompt(TreeMap<Integer, String> choices, int choiceCount, String backMessage,
+                        PromptCallback<String> callback) {
+        this.choices = choices;
+        this.choiceCount = choiceCount;
+        this.backMessage = backMessage;
+        this.callback = callback;
+    }
+
+    @Override
+    public InputKind getInputKind() {
+        return InputKind.CHOICE;
+    }
+
+    @Override
+    public void onInput(GameEngine gameEngine, String input)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
+        int inputInt = 0;
+
+        if (input.equalsIgnoreCase("back")) {
+            gameEngine.printMessage(backMessage);
+            gameEngine.getContext().popPrompt();
+            callback.onResult(gameEngine, null);
+            return;
+        }
+
+        try {
+            inputInt = Integer.parseInt(input);
+        } catch (NumberFormatException ex) {
+            // Reported as an invalid choice below.
+        }
+
+        if (choices.containsKey(inputInt)) {
+            gameEngine.getContext().popPrompt();
+            callback.onResult(gameEngine, choices.get(inputInt));
+        } else {
+            gameEngine.printMessage("'" + input + "' is not a valid choice. Please enter a " +
+                    "number from 1 to " + choiceCount + ".");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package sammish93.tbage.tools;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.interfaces.CommandHandler;
+import sammish93.tbage.models.Encounter;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A class intended to carry out the commands entered at the command prompt of an encounter. Each command word is
+ * given an id in a Vocabulary of its own, and each type of encounter has a table of handlers indexed by that id, so
+ * a command is carried out by looking up its id and reading a single slot of the table. Each game session holds its
+ * own instance as part of its GameContext.
+ *
+ * A handler registered for a type of encounter is also used for its subclasses, unless a subclass has a handler of
+ * its own for the same command. The default commands (e.g. 'help', or 'attack') are registered when a GameEngine is
+ * created, and can be replaced in the same way that new commands are added.
+ *
+ * Example:
+ * gameEngine.addCommand(NonCombatEncounter.class, "pray", (engine, encounter) -> {
+ *             engine.getPlayer().setCurrentHealth((int) engine.getPlayer().getMaxHealth());
+ *         });
+ * @see sammish93.tbage.GameEngine#addCommand(Class, String, CommandHandler)
+ * @see Encounter#addDefaultCommands(CommandRegistry)
+ */
+public class CommandRegistry implements Serializable {
+
+    private final Vocabulary commands = Vocabulary.create();
+    private final HashMap<Class<?>, CommandHandler<?>[]> handlers = new HashMap<>();
+
+
+    private CommandRegistry() {
+    }
+
+    /**
+     *
+     * @return Returns a new instance of CommandRegistry with no registered commands.
+     */
+    public static CommandRegistry create() {
+        return new CommandRegistry();
+    }
+
+    /**
+     * Registers the handler of a command for a type of encounter, replacing any handler that the command already
+     * has for that type. Note that the command must also be recognised by the StringParser of the game session
+     * before it can be entered.
+     * @param encounterType The type of encounter that the command can be entered in (e.g. CombatEncounter.class).
+     *                      Encounter.class registers the command for every type of encounter.
+     * @param command A string comprised of a single word.
+     * @param handler The handler that carries out the command.
+     * @throws InvalidValueException Is thrown in an example such as if the command is either empty or is comprised
+     * of more than one word.
+     * @see StringParser#addCommand(String)
+     */
+    public <T extends Encounter> void register(Class<T> encounterType, String command,
+                                               CommandHandler<? super T> handler) throws InvalidValueException {
+        StringParser.validateWord(command);
+
+        String word = command.trim();
+        CommandHandler<?>[] table = handlers.getOrDefault(encounterType, new CommandHandler<?>[8]);
+        int id = commands.getId(word);
+
+        // The table holds a single reference to each word that it has a handler for.
+        if (id < 0 || id >= table.length || table[id] == null) {
+            id = commands.retain(word);
+        }
+
+        if (id >= table.length) {
+            table = Arrays.copyOf(table, Math.max(table.length * 2, id + 1));
+        }
+
+        table[id] = handler;
+        handlers.put(encounterType, table);
+    }
+
+    /**
+     * Removes the handler of a command for a type of encounter. Handlers registered for other types of encounter
+     * (e.g. Encounter.class) are still used.
+     * @param encounterType The type of encounter that the command was registered for.
+     * @param command A single word, in any case.
+     * @return Returns true if a handler was removed.
+     */
+    public boolean unregister(Class<? extends Encounter> encounterType, String command) {
+        CommandHandler<?>[] table = handlers.get(encounterType);
+        int id = commands.getId(command.trim());
+
+        if (table == null || id < 0 || id >= table.length || table[id] == null) {
+            return false;
+        }
+
+        table[id] = null;
+        commands.release(id);
+        return true;
+    }
+
+    /**
+     *
+     * @param encounterType The type of encounter that the command is entered in.
+     * @param command A single word, in any case.
+     * @return Returns the handler that carries out the command in the given type of encounter, or null if there is
+     * none.
+     */
+    public CommandHandler<?> getHandler(Class<? extends Encounter> encounterType, String command) {
+        return findHandler(encounterType, commands.getId(command));
+    }
+
+    /**
+     * Carries out a command with the handler registered for the type of the encounter.
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     * @param encounter The encounter that the command was entered in.
+     * @param command A single word, in any case.
+     * @return Returns false if no handler is registered for the command, in which case nothing is carried out.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Encounter> boolean dispatch(GameEngine gameEngine, T encounter, String command)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
+        var handler = (CommandHandler<? super T>) findHandler(encounter.getClass(), commands.getId(command));
+
+        if (handler == null) {
+            return false;
+        }
+
+        handler.handle(gameEngine, encounter);
+        return true;
+    }
+
+    private CommandHandler<?> findHandler(Class<?> encounterType, int id) {
+        if (id < 0) {
+            return null;
+        }
+
+        for (Class<?> type = encounterType; Encounter.class.isAssignableFrom(type); type = type.getSuperclass()) {
+            CommandHandler<?>[] table = handlers.get(type);
+
+            if (table != null && id < table.length && table[id] != null) {
+                return table[id];
+            }
+        }
+
+        return null;
+    }
+}
@@ -1,9 +1,20 @@
 package sammish93.tbage.tools;
 
+import sammish93.tbage.GameContext;
 import sammish93.tbage.GameEngine;
-import sammish93.tbage.enums.GamePlatform;
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.events.CurrencyReceived;
+import sammish93.tbage.events.DamageDealt;
+import sammish93.tbage.events.EnemyDied;
+import sammish93.tbage.events.EnemyIdle;
+import sammish93.tbage.events.FeatAwarded;
+import sammish93.tbage.events.ItemReceived;
+import sammish93.tbage.events.PlayerHealth;
+import sammish93.tbage.events.PromptChoices;
+import sammish93.tbage.events.TurnStarted;
 import sammish93.tbage.exceptions.InvalidValueException;
 import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.interfaces.PromptCallback;
 import sammish93.tbage.interfaces.Useable;
 import sammish93.tbage.models.Ability;
 import sammish93.tbage.models.CombatEncounter;
@@ -18,9 +29,9 @@ import sammish93.tbage.models.Player;
 import sammish93.tbage.models.Prop;
 
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.TreeMap;
-
-import static sammish93.tbage.GameEngine.scanner;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A class intended to be used to control how the framework responds to certain player behaviours, interactions,
@@ -31,7 +42,6 @@ public class EncounterController {
     private Player player;
     private Encounter encounter;
     private GameEngine gameEngine;
-    private static String input = "";
 
     /**
      *
@@ -45,7 +55,8 @@ public class EncounterController {
     }
 
     /**
-     * A method designed to handle how a CombatEncounter behaves, and to simulate turn-based combat.
+     * A method designed to handle how a CombatEncounter behaves, and to simulate turn-based combat. This method
+     * blocks until the turn has finished.
      * @param gameEngine Required to communicate with other dependencies such as the game interface.
      * @param encounter Required to determine exactly which Encounter object is to be interacted with.
      * @param turnNumber Required to display the current turn number of the turn-based combat.
@@ -55,505 +66,353 @@ public class EncounterController {
      * @throws InvalidValueException Thrown in the event of an invalid value being provided. See specific methods
      * for more information on what constitutes a valid value.
      * @see CombatEncounter
+     * @see EncounterController#turn(GameEngine, Encounter, int, PromptCallback)
      */
     public static void turn(GameEngine gameEngine, Encounter encounter, int turnNumber)
             throws InventoryFullException, InvalidValueException, InterruptedException {
-        var player = gameEngine.getPlayer();
-        boolean isEnemyChosen = false;
-        Enemy enemyChosen = null;
-        int enemyCount = ((CombatEncounter)encounter).getEnemies().size();
-
+        int promptCount = gameEngine.getContext().getPromptCount();
+        turn(gameEngine, encounter, turnNumber, (engine, enemy) -> {});
+        awaitPrompts(gameEngine, promptCount);
+    }
 
-        String inputComparison = input;
+    /**
+     * A method designed to handle how a CombatEncounter behaves, and to simulate turn-based combat. This method
+     * does not wait for input, but pushes a prompt onto the GameContext of the game session.
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     * @param encounter Required to determine exactly which Encounter object is to be interacted with.
+     * @param turnNumber Required to display the current turn number of the turn-based combat.
+     *                   Has no bearing on anything else.
+     * @param onFinished Called once the turn has finished, with the Enemy object that was attacked, or null if the
+     *                   player stopped attacking.
+     * @see CombatEncounter
+     */
+    public static void turn(GameEngine gameEngine, Encounter encounter, int turnNumber,
+                            PromptCallback<Enemy> onFinished) throws InterruptedException {
+        int enemyCount = ((CombatEncounter)encounter).getEnemies().size();
         var enemiesWithIndex = getEnemiesWithIndex(encounter);
 
-        gameEngine.printMessage("Turn " + turnNumber);
-        gameEngine.printMessage("Choose a target to attack:");
-        for (Map.Entry<Integer, String> entry : enemiesWithIndex.entrySet()) {
-            gameEngine.printMessage("\t" + entry.getKey() + ". " + entry.getValue());
-        }
-
-        while (!isEnemyChosen) {
-
-            if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                Thread.sleep(100);
-                if (input.equals(inputComparison)) {
-                    continue;
-                }
-            } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                input = scanner.nextLine();
-            }
-
-            String output = EncounterController.input;
-
-            inputComparison = EncounterController.input = "";
-
-            int outputInt = 0;
-
-            if (output.equalsIgnoreCase("back")) {
-                gameEngine.printMessage("You are no longer attacking.");
-                break;
-            }
-
-            try {
-                outputInt = Integer.parseInt(output);
-            } catch (Exception ex) {
-                gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a " +
-                        "number from 1 to " + enemyCount + ".");
-            }
+        gameEngine.emit(new TurnStarted(turnNumber));
+        gameEngine.emit(new PromptChoices("Choose a target to attack:", enemiesWithIndex));
 
-            if (enemiesWithIndex.containsKey(outputInt)) {
-                var enemyName = enemiesWithIndex.get(outputInt);
-                enemyChosen = ((CombatEncounter) encounter).getEnemyFromEnemies(enemyName);
-                isEnemyChosen = true;
-            } else {
-                gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a " +
-                        "number from 1 to " + enemyCount + ".");
+        gameEngine.getContext().pushPrompt(new ChoicePrompt(enemiesWithIndex, enemyCount,
+                "You are no longer attacking.", (engine, enemyName) -> {
+            if (enemyName == null) {
+                onFinished.onResult(engine, null);
+                return;
             }
-        }
-
-        if (isEnemyChosen) {
-            playerTurn(gameEngine, player, enemyChosen);
 
-            gameEngine.printMessage("Would you like to use an item?");
-            boolean isAnswered = false;
+            Enemy enemyChosen = ((CombatEncounter) encounter).getEnemyFromEnemies(enemyName);
+            playerTurn(engine, engine.getPlayer(), enemyChosen);
 
-            while(!isAnswered) {
-                if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                    Thread.sleep(100);
-                    if (EncounterController.input.equals(inputComparison)) {
-                        continue;
+            engine.printMessage("Would you like to use an item?");
+            engine.getContext().pushPrompt(new InputPrompt(InputKind.CONFIRMATION, (e, output) -> {
+                if (output.equalsIgnoreCase("y") || output.equalsIgnoreCase("yes")) {
+                    useItem(e, (e2, item) -> finishTurn(e2, (CombatEncounter) encounter, enemyChosen, onFinished));
+                } else {
+                    if (!(output.equalsIgnoreCase("n") || output.equalsIgnoreCase("no"))) {
+                        e.printMessage("I'm sorry, I didn't understand.");
+                        e.printMessage("Would you like to use an item?");
                     }
-                } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                    EncounterController.input = scanner.nextLine();
+                    finishTurn(e, (CombatEncounter) encounter, enemyChosen, onFinished);
                 }
+            }));
+        }));
+    }
 
-                String output = EncounterController.input;
-                isAnswered = true;
+    private static void finishTurn(GameEngine gameEngine, CombatEncounter encounter, Enemy enemyChosen,
+                                   PromptCallback<Enemy> onFinished)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
+        var player = gameEngine.getPlayer();
 
-                inputComparison = EncounterController.input = "";
+        enemyTurn(gameEngine, encounter, player);
+        gameEngine.emit(new PlayerHealth((int) player.getCurrentHealth(), (int) player.getMaxHealth()));
 
-                if (output.equalsIgnoreCase("y") || output.equalsIgnoreCase("yes")) {
-                    EncounterController.useItem(gameEngine);
-                } else if (output.equalsIgnoreCase("n") || output.equalsIgnoreCase("no")) {
-                    break;
-                } else {
-                    gameEngine.printMessage("I'm sorry, I didn't understand.");
-                    gameEngine.printMessage("Would you like to use an item?");
-                }
-            }
-
-            enemyTurn(gameEngine, (CombatEncounter) encounter, player);
-            gameEngine.printMessage("Your current health is " + (int) player.getCurrentHealth() + "/" +
-                    (int) player.getMaxHealth());
-        }
+        onFinished.onResult(gameEngine, enemyChosen);
     }
 
     /**
      * A method intended to handle behaviour when a player chooses to use an item. Further behaviour can be
-     * given via a generic Useable interface being provided.
+     * given via a generic Useable interface being provided. This method blocks until an item has been used.
      * @param gameEngine Required to communicate with other dependencies such as the game interface.
      * @throws InventoryFullException Thrown in the event that an item removed from a player's inventory could
      * result in an inventory being full.
      * @throws InvalidValueException Thrown in the event of an invalid value being provided. See specific methods
      * for more information on what constitutes a valid value.
      * @see Item#setOnUseBehaviour(Useable)
+     * @see EncounterController#useItem(GameEngine, PromptCallback)
      */
     public static void useItem(GameEngine gameEngine) throws InventoryFullException, InvalidValueException, InterruptedException {
+        int promptCount = gameEngine.getContext().getPromptCount();
+        useItem(gameEngine, (engine, item) -> {});
+        awaitPrompts(gameEngine, promptCount);
+    }
+
+    /**
+     * A method intended to handle behaviour when a player chooses to use an item. This method does not wait for
+     * input, but pushes a prompt onto the GameContext of the game session.
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     * @param onFinished Called with the Item object that was used, or null if the player chose not to use an item.
+     * @see Item#setOnUseBehaviour(Useable)
+     */
+    public static void useItem(GameEngine gameEngine, PromptCallback<Item> onFinished) throws InterruptedException {
         var player = gameEngine.getPlayer();
-        boolean isItemChosen = false;
-        Item itemChosen = null;
         int itemCount = player.getInventory().size();
 
-        String inputComparison = input;
         var itemsWithIndex = getInventoryItemsWithIndex(gameEngine);
 
-        gameEngine.printMessage("Choose an item to use:");
-        for (Map.Entry<Integer, String> entry : itemsWithIndex.entrySet()) {
-            gameEngine.printMessage("\t" + entry.getKey() + ". " + entry.getValue());
-        }
-
-        while (!isItemChosen) {
-            if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                Thread.sleep(100);
-                if (input.equals(inputComparison)) {
-                    continue;
-                }
-            } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                input = scanner.nextLine();
-            }
-
-            String output = EncounterController.input;
-
-            inputComparison = EncounterController.input = "";
+        gameEngine.emit(new PromptChoices("Choose an item to use:", itemsWithIndex));
 
-            int outputInt = 0;
-
-            if (output.equalsIgnoreCase("back")) {
-                gameEngine.printMessage("You are no longer about to use an item.");
-                break;
-            }
-
-            try {
-                outputInt = Integer.parseInt(output);
-            } catch (Exception ex) {
-                gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a number " +
-                        "from 1 to " + itemCount + ".");
-                output = scanner.nextLine();
+        gameEngine.getContext().pushPrompt(new ChoicePrompt(itemsWithIndex, itemCount,
+                "You are no longer about to use an item.", (engine, itemName) -> {
+            if (itemName == null) {
+                onFinished.onResult(engine, null);
+                return;
             }
 
-            if (itemsWithIndex.containsKey(outputInt)) {
-                var itemName = itemsWithIndex.get(outputInt);
-                itemChosen = player.getItemFromInventory(itemName);
-                isItemChosen = true;
-            } else {
-                gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a number " +
-                        "from 1 to " + itemCount + ".");
-            }
-        }
-
-        if (isItemChosen) {
+            Item itemChosen = engine.getPlayer().getItemFromInventory(itemName);
             int numberOfUsesRemaining = itemChosen.getNumberOfUses();
-            itemChosen.onUse(gameEngine);
+            itemChosen.onUse(engine);
 
             if (numberOfUsesRemaining != 0) {
                 if (itemChosen.getNumberOfUses() != 0) {
-                    gameEngine.printMessage("You now have " + numberOfUsesRemaining + " use(s) remaining " +
+                    engine.printMessage("You now have " + numberOfUsesRemaining + " use(s) remaining " +
                             "of the item '" + itemChosen.getName() + "'");
                 } else {
-                    gameEngine.printMessage("You have depleted " + itemChosen.getName() + "'s uses.");
-                    gameEngine.getPlayer().removeItemFromInventory(itemChosen);
+                    engine.printMessage("You have depleted " + itemChosen.getName() + "'s uses.");
+                    engine.getPlayer().removeItemFromInventory(itemChosen);
                 }
-
             }
-        }
+
+            onFinished.onResult(engine, itemChosen);
+        }));
     }
 
     /**
      * A method intended to be used to choose a specific NonPlayableCharacter object. This can also be used by a
-     * generic Useable interface provided to, for example, an Item object.
+     * generic Useable interface provided to, for example, an Item object. This method blocks until a choice has
+     * been made.
+     * NOTE: Blocking methods can not be used in a game that is advanced with Stepper.step(). A Useable that is to
+     * work in every interface should use the variant of this method that takes a PromptCallback.
      * @param gameEngine Required to communicate with other dependencies such as the game interface.
      * @param encounter Required to determine exactly which Encounter object is to be interacted with.
      * @return Returns a NonPlayableCharacter object after a player has selected one via input prompts in the
      * game interface.
      * @see Item#setOnUseBehaviour(Useable)
      * @see NonPlayableCharacter
+     * @see EncounterController#chooseNpc(GameEngine, Encounter, PromptCallback)
      */
     public static NonPlayableCharacter chooseNpc(GameEngine gameEngine, Encounter encounter) throws InterruptedException {
-        boolean isTargetChosen = false;
-        NonPlayableCharacter targetChosen = null;
-        String inputComparison = input;
+        var targetChosen = new AtomicReference<NonPlayableCharacter>();
+        int promptCount = gameEngine.getContext().getPromptCount();
+
+        try {
+            chooseNpc(gameEngine, encounter, (engine, target) -> targetChosen.set(target));
+            awaitPrompts(gameEngine, promptCount);
+        } catch (InventoryFullException | InvalidValueException ex) {
+            // The callback used here only stores the choice, so neither exception can be thrown.
+            throw new IllegalStateException(ex);
+        }
 
+        return targetChosen.get();
+    }
+
+    /**
+     * A method intended to be used to choose a specific NonPlayableCharacter object. This method does not wait for
+     * input, but pushes a prompt onto the GameContext of the game session.
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     * @param encounter Required to determine exactly which Encounter object is to be interacted with.
+     * @param callback Called with the NonPlayableCharacter object that was chosen, or null if none was chosen.
+     * @see NonPlayableCharacter
+     */
+    public static void chooseNpc(GameEngine gameEngine, Encounter encounter,
+                                 PromptCallback<NonPlayableCharacter> callback)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
         if (encounter instanceof CombatEncounter) {
             int enemyCount = ((CombatEncounter)encounter).getEnemies().size();
             var enemiesWithIndex = getEnemiesWithIndex(encounter);
 
             if (enemyCount == 0) {
                 gameEngine.printMessage("There are currently no targets to use the item on.");
-                return null;
-            } else {
-                gameEngine.printMessage("Choose a target to use this item on:");
-
-                for (Map.Entry<Integer, String> entry : enemiesWithIndex.entrySet()) {
-                    gameEngine.printMessage("\t" + entry.getKey() + ". " + entry.getValue());
-                }
-
-                while (!isTargetChosen) {
-                    if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                        Thread.sleep(100);
-                        if (input.equals(inputComparison)) {
-                            continue;
-                        }
-                    } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                        input = scanner.nextLine();
-                    }
-
-                    String output = EncounterController.input;
-
-                    inputComparison = EncounterController.input = "";
-
-                    int outputInt = 0;
-
-                    if (output.equalsIgnoreCase("back")) {
-                        gameEngine.printMessage("You are no longer about to use this item on an enemy.");
-                        break;
-                    }
-
-                    try {
-                        outputInt = Integer.parseInt(output);
-                    } catch (Exception ex) {
-                        gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a " +
-                                "number from 1 to " + enemyCount + ".");
-                        output = scanner.nextLine();
-                    }
-
-                    if (enemiesWithIndex.containsKey(outputInt)) {
-                        var enemyName = enemiesWithIndex.get(outputInt);
-                        targetChosen = ((CombatEncounter) encounter).getEnemyFromEnemies(enemyName);
-                        isTargetChosen = true;
-                    } else {
-                        gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a " +
-                                "number from 1 to " + enemyCount + ".");
-                    }
-                }
+                callback.onResult(gameEngine, null);
+                return;
             }
 
-            if (isTargetChosen) {
-                return targetChosen;
-            }
+            gameEngine.emit(new PromptChoices("Choose a target to use this item on:", enemiesWithIndex));
+
+            gameEngine.getContext().pushPrompt(new ChoicePrompt(enemiesWithIndex, enemyCount,
+                    "You are no longer about to use this item on an enemy.", (engine, enemyName) ->
+                    callback.onResult(engine, enemyName == null ? null :
+                            ((CombatEncounter) encounter).getEnemyFromEnemies(enemyName))));
         } else if (encounter instanceof NonCombatEncounter) {
             int allyCount = ((NonCombatEncounter)encounter).getAllies().size();
             var alliesWithIndex = getAlliesWithIndex(encounter);
 
-            for (Map.Entry<Integer, String> entry : alliesWithIndex.entrySet()) {
-                gameEngine.printMessage("\t" + entry.getKey() + ". " + entry.getValue());
-            }
+            gameEngine.emit(new PromptChoices(null, alliesWithIndex));
 
-            while (!isTargetChosen) {
-                if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                    Thread.sleep(100);
-                    if (input.equals(inputComparison)) {
-                        continue;
-                    }
-                } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                    input = scanner.nextLine();
-                }
-
-                String output = EncounterController.input;
-
-                inputComparison = EncounterController.input = "";
-                int outputInt = 0;
-
-                if (output.equalsIgnoreCase("back")) {
-                    gameEngine.printMessage("You are no longer about to interact.");
-                    break;
-                }
-
-                try {
-                    outputInt = Integer.parseInt(output);
-                } catch (Exception ex) {
-                    gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a " +
-                            "number from 1 to " + allyCount + ".");
-                    output = scanner.nextLine();
-                }
-
-                if (alliesWithIndex.containsKey(outputInt)) {
-                    var allyName = alliesWithIndex.get(outputInt);
-                    targetChosen = ((NonCombatEncounter) encounter).getAllyFromAllies(allyName);
-                    isTargetChosen = true;
-                } else {
-                    gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a " +
-                            "number from 1 to " + allyCount + ".");
-                }
-            }
-
-            if (isTargetChosen) {
-                return targetChosen;
-            }
+            gameEngine.getContext().pushPrompt(new ChoicePrompt(alliesWithIndex, allyCount,
+                    "You are no longer about to interact.", (engine, allyName) ->
+                    callback.onResult(engine, allyName == null ? null :
+                            ((NonCombatEncounter) encounter).getAllyFromAllies(allyName))));
+        } else {
+            callback.onResult(gameEngine, null);
         }
-
-        return null;
     }
 
     /**
-     * A method intended to be used to choose a specific Prop object.
+     * A method intended to be used to choose a specific Prop object. This method blocks until a choice has been
+     * made.
      * @param gameEngine Required to communicate with other dependencies such as the game interface.
      * @param encounter Required to determine exactly which Encounter object is to be interacted with.
      * @return Returns a NonPlayableCharacter object after a player has selected one via input prompts in the
      * game interface.
      * @see Prop
+     * @see EncounterController#chooseProp(GameEngine, Encounter, PromptCallback)
      */
     public static Prop chooseProp(GameEngine gameEngine, Encounter encounter) throws InterruptedException {
-        boolean isTargetChosen = false;
-        Prop targetChosen = null;
-        String inputComparison = input;
+        var targetChosen = new AtomicReference<Prop>();
+        int promptCount = gameEngine.getContext().getPromptCount();
+
+        try {
+            chooseProp(gameEngine, encounter, (engine, prop) -> targetChosen.set(prop));
+            awaitPrompts(gameEngine, promptCount);
+        } catch (InventoryFullException | InvalidValueException ex) {
+            // The callback used here only stores the choice, so neither exception can be thrown.
+            throw new IllegalStateException(ex);
+        }
 
+        return targetChosen.get();
+    }
 
+    /**
+     * A method intended to be used to choose a specific Prop object. This method does not wait for input, but
+     * pushes a prompt onto the GameContext of the game session.
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     * @param encounter Required to determine exactly which Encounter object is to be interacted with.
+     * @param callback Called with the Prop object that was chosen, or null if none was chosen.
+     * @see Prop
+     */
+    public static void chooseProp(GameEngine gameEngine, Encounter encounter, PromptCallback<Prop> callback)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
         int propCount = encounter.getProps().size();
         var propsWithIndex = getPropsWithIndex(encounter);
 
         if (propCount == 0) {
             gameEngine.printMessage("There are currently no objects to interact with.");
-            return null;
-        } else {
-            gameEngine.printMessage("Choose an object to interact with:");
-
-            for (Map.Entry<Integer, String> entry : propsWithIndex.entrySet()) {
-                gameEngine.printMessage("\t" + entry.getKey() + ". " + entry.getValue());
-            }
-
-            while (!isTargetChosen) {
-                if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                    Thread.sleep(100);
-                    if (input.equals(inputComparison)) {
-                        continue;
-                    }
-                } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                    input = scanner.nextLine();
-                }
-
-                String output = EncounterController.input;
-
-                inputComparison = EncounterController.input = "";
-
-                int outputInt = 0;
-
-                if (output.equalsIgnoreCase("back")) {
-                    gameEngine.printMessage("You are no longer about to interact with an object.");
-                    break;
-                }
-
-                try {
-                    outputInt = Integer.parseInt(output);
-                } catch (Exception ex) {
-                    gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a " +
-                            "number from 1 to " + propCount + ".");
-                    output = scanner.nextLine();
-                }
-
-                if (propsWithIndex.containsKey(outputInt)) {
-                    var propName = propsWithIndex.get(outputInt);
-                    targetChosen = encounter.getPropFromProps(propName);
-                    isTargetChosen = true;
-                } else {
-                    gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a " +
-                            "number from 1 to " + propCount + ".");
-                }
-            }
+            callback.onResult(gameEngine, null);
+            return;
         }
 
-        if (isTargetChosen) {
-            return targetChosen;
-        }
+        gameEngine.emit(new PromptChoices("Choose an object to interact with:", propsWithIndex));
 
-        return null;
+        gameEngine.getContext().pushPrompt(new ChoicePrompt(propsWithIndex, propCount,
+                "You are no longer about to interact with an object.", (engine, propName) ->
+                callback.onResult(engine, propName == null ? null : encounter.getPropFromProps(propName))));
     }
 
     /**
      * A method intended to be used to choose a specific Item object when interacting (trading) with an Ally.
      * Once an item is chosen, its cost is deducted from the player's currency amount, and it is added to a
      * player's inventory. In the case of the inventory being full, or the player not having enough gold, a
-     * message is shown in the game interface.
+     * message is shown in the game interface. This method blocks until a choice has been made.
      * @param gameEngine Required to communicate with other dependencies such as the game interface.
      * @param ally Required to determine exactly which Ally object is to be interacted with.
      * @return Returns an Item object after a player has selected one via input prompts in the game interface.
+     * @see EncounterController#chooseItem(GameEngine, Ally, PromptCallback)
      */
     public static Item chooseItem(GameEngine gameEngine, Ally ally) throws InterruptedException {
-        boolean isTargetChosen = false;
-        Item targetChosen = null;
-        String inputComparison = input;
+        var targetChosen = new AtomicReference<Item>();
+        int promptCount = gameEngine.getContext().getPromptCount();
+
+        try {
+            chooseItem(gameEngine, ally, (engine, item) -> targetChosen.set(item));
+            awaitPrompts(gameEngine, promptCount);
+        } catch (InventoryFullException | InvalidValueException ex) {
+            // The callback used here only stores the choice, so neither exception can be thrown.
+            throw new IllegalStateException(ex);
+        }
 
+        return targetChosen.get();
+    }
+
+    /**
+     * A method intended to be used to choose a specific Item object when interacting (trading) with an Ally. This
+     * method does not wait for input, but pushes a prompt onto the GameContext of the game session.
+     * @param gameEngine Required to communicate with other dependencies such as the game interface.
+     * @param ally Required to determine exactly which Ally object is to be interacted with.
+     * @param callback Called with the Item object that the player has agreed to purchase, or null if none was
+     *                 chosen.
+     */
+    public static void chooseItem(GameEngine gameEngine, Ally ally, PromptCallback<Item> callback)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
         var itemsWithIndex = getAllyItemsWithIndex(ally);
         int itemCount = itemsWithIndex.size();
 
         if (itemCount == 0) {
             gameEngine.printMessage("There are currently no items to purchase.");
-            return null;
-        } else {
-            gameEngine.printMessage("Choose an item to purchase (" + (int)gameEngine.getPlayer()
-                    .getCurrencyAmount()
-                    + " gold):");
-
-            for (Map.Entry<Integer, String> entry : itemsWithIndex.entrySet()) {
-                Item itemFromTable = ally.getItemFromItemTable(entry.getValue());
-                if (gameEngine.getGameSettings().isOutputSeparatedByNewLine()) {
-                    gameEngine.printMessageFormatted("\t%s %-12s %s\n", entry.getKey() + ".", "Gold: " +
-                            itemFromTable.getValue(), entry.getValue() + "\n");
-                } else {
-                    gameEngine.printMessageFormatted("\t%s %-12s %s\n", entry.getKey() + ".", "Gold: " +
-                            itemFromTable.getValue(), entry.getValue());
-                }
-            }
-
-            while (!isTargetChosen) {
-                if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                    Thread.sleep(100);
-                    if (input.equals(inputComparison)) {
-                        continue;
-                    }
-                } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                    input = scanner.nextLine();
-                }
-
-                String output = EncounterController.input;
-
-                inputComparison = EncounterController.input = "";
+            callback.onResult(gameEngine, null);
+            return;
+        }
 
-                int outputInt = 0;
+        gameEngine.printMessage("Choose an item to purchase (" + (int)gameEngine.getPlayer()
+                .getCurrencyAmount()
+                + " gold):");
 
-                if (output.equalsIgnoreCase("back")) {
-                    gameEngine.printMessage("You are no longer trading.");
-                    break;
-                }
+        for (Map.Entry<Integer, String> entry : itemsWithIndex.entrySet()) {
+            Item itemFromTable = ally.getItemFromItemTable(entry.getValue());
+            if (gameEngine.getGameSettings().isOutputSeparatedByNewLine()) {
+                gameEngine.printMessageFormatted("\t%s %-12s %s\n", entry.getKey() + ".", "Gold: " +
+                        itemFromTable.getValue(), entry.getValue() + "\n");
+            } else {
+                gameEngine.printMessageFormatted("\t%s %-12s %s\n", entry.getKey() + ".", "Gold: " +
+                        itemFromTable.getValue(), entry.getValue());
+            }
+        }
 
-                try {
-                    outputInt = Integer.parseInt(output);
-                } catch (Exception ex) {
-                    gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a " +
-                            "number from 1 to " + itemCount + ".");
-                    output = scanner.nextLine();
-                }
+        pushItemChoice(gameEngine, ally, itemsWithIndex, callback);
+    }
 
-                if (itemsWithIndex.containsKey(outputInt)) {
-                    var itemName = itemsWithIndex.get(outputInt);
-                    targetChosen = ally.getItemFromItemTable(itemName);
-                    boolean isAnswered = false;
-
-                    double currentGold = gameEngine.getPlayer().getCurrencyAmount();
-                    int itemValue = targetChosen.getValue();
-                    if (itemValue > currentGold) {
-                        gameEngine.printMessage("You do not have enough gold to purchase this item.");
-                    } else {
-                        gameEngine.printMessage("Would you like to purchase this item for " +
-                                targetChosen.getValue() + " gold?");
-                        while (!isAnswered) {
-
-                            inputComparison = EncounterController.input = "";
-
-                            if (gameEngine.getPlatform() == GamePlatform.SWING) {
-                                Thread.sleep(100);
-                            if (input.equals(inputComparison)) {
-                                continue;
-                            }
-                            } else if (gameEngine.getPlatform() == GamePlatform.TERMINAL) {
-                                input = scanner.nextLine();
-                            }
+    private static void pushItemChoice(GameEngine gameEngine, Ally ally, TreeMap<Integer, String> itemsWithIndex,
+                                       PromptCallback<Item> callback) {
+        gameEngine.getContext().pushPrompt(new ChoicePrompt(itemsWithIndex, itemsWithIndex.size(),
+                "You are no longer trading.", (engine, itemName) -> {
+            if (itemName == null) {
+                callback.onResult(engine, null);
+                return;
+            }
 
-                            output = EncounterController.input;
-                            isAnswered = true;
+            Item targetChosen = ally.getItemFromItemTable(itemName);
+            double currentGold = engine.getPlayer().getCurrencyAmount();
+            int itemValue = targetChosen.getValue();
 
-                            inputComparison = EncounterController.input = "";
+            if (itemValue > currentGold) {
+                engine.printMessage("You do not have enough gold to purchase this item.");
+                pushItemChoice(engine, ally, itemsWithIndex, callback);
+                return;
+            }
 
-                            if (output.equalsIgnoreCase("yes") || output.equalsIgnoreCase("y")) {
-                            isTargetChosen = true;
-                            } else {
-                                gameEngine.printMessage("You choose to not purchase this item.");
+            engine.printMessage("Would you like to purchase this item for " +
+                    targetChosen.getValue() + " gold?");
+            engine.getContext().pushPrompt(new InputPrompt(InputKind.CONFIRMATION, (e, output) -> {
+                if (output.equalsIgnoreCase("yes") || output.equalsIgnoreCase("y")) {
+                    callback.onResult(e, targetChosen);
+                } else {
+                    e.printMessage("You choose to not purchase this item.");
 
-                                gameEngine.printMessage("Choose an item to purchase (" +
-                                        (int)gameEngine.getPlayer()
-                                        .getCurrencyAmount()
-                                        + " gold):");
+                    e.printMessage("Choose an item to purchase (" +
+                            (int)e.getPlayer()
+                            .getCurrencyAmount()
+                            + " gold):");
 
-                                for (Map.Entry<Integer, String> entry : itemsWithIndex.entrySet()) {
-                                    Item itemFromTable = ally.getItemFromItemTable(entry.getValue());
-                                    gameEngine.printMessageFormatted("\t%s %-12s %s\n", entry.getKey() +
-                                            ".", "Gold: " + itemFromTable.getValue(), entry.getValue());
-                                }
-                            }
-                        }
+                    for (Map.Entry<Integer, String> entry : itemsWithIndex.entrySet()) {
+                        Item itemFromTable = ally.getItemFromItemTable(entry.getValue());
+                        e.printMessageFormatted("\t%s %-12s %s\n", entry.getKey() +
+                                ".", "Gold: " + itemFromTable.getValue(), entry.getValue());
                     }
-                } else {
-                    gameEngine.printMessage("'" + output + "' is not a valid choice. Please enter a " +
-                            "number from 1 to " + itemCount + ".");
-                }
-            }
-
-            if (isTargetChosen) {
-                return targetChosen;
-            }
-        }
 
-        return null;
+                    pushItemChoice(e, ally, itemsWithIndex, callback);
+                }
+            }));
+        }));
     }
 
     private static void enemyTurn(GameEngine gameEngine, CombatEncounter encounter, Player player)
@@ -580,7 +439,7 @@ public class EncounterController {
                         int enemyDamage = ProbabilityCalculator.damageCalculator((int)enemy.getMinDamage(),
                                 (int)enemy.getMaxDamage());
                         player.subtractFromCurrentHealth(enemyDamage);
-                        gameEngine.printMessage(enemy.getName() + " did " + enemyDamage + " damage to you.");
+                        gameEngine.emit(new DamageDealt(enemy.getName(), null, enemyDamage));
 
                     } else if (ability != null && ability.getOnUseBehaviour() != null) {
                         ability.onUse(gameEngine);
@@ -588,7 +447,7 @@ public class EncounterController {
                 } else if (ability != null && ability.getOnUseBehaviour() != null) {
                     ability.onUse(gameEngine);
                 } else {
-                    gameEngine.printMessage(enemy.getName() + " does nothing this turn.");
+                    gameEngine.emit(new EnemyIdle(enemy.getName()));
                 }
             }
         }
@@ -600,9 +459,9 @@ public class EncounterController {
                 (int) player.getMaxDamage());
         enemyChosen.subtractFromCurrentHealth(playerDamage);
 
-        gameEngine.printMessage("You did " + playerDamage + " damage to " + enemyChosen.getName() + ".");
+        gameEngine.emit(new DamageDealt(null, enemyChosen.getName(), playerDamage));
         if (enemyChosen.getEnemyHealthStatus().equalsIgnoreCase("dead")) {
-            gameEngine.printMessage(enemyChosen.getName() + " has died!");
+            gameEngine.emit(new EnemyDied(enemyChosen.getName()));
         }
     }
 
@@ -708,12 +567,9 @@ public class EncounterController {
 
                             try {
                                 player.addItemToInventory(item);
-                                gameEngine.printMessage("You received " + item.getName() + " from " +
-                                        enemy.getName() + ".");
+                                gameEngine.emit(new ItemReceived(item.getName(), enemy.getName()));
                             } catch (InventoryFullException ex) {
                                 gameEngine.printMessage(ex.getMessage());
-                            } catch (InterruptedException e) {
-                                e.printStackTrace();
                             }
 
                         }
@@ -721,7 +577,7 @@ public class EncounterController {
                 }
             }
             if (totalCurrencyReceived > 0) {
-                gameEngine.printMessage("You received " + (int)totalCurrencyReceived + " gold.");
+                gameEngine.emit(new CurrencyReceived((int) totalCurrencyReceived));
                 player.addToCurrencyAmount((int)totalCurrencyReceived);
             }
 
@@ -737,17 +593,50 @@ public class EncounterController {
                 Feat feat = featEntry.getValue();
                 player.addFeatToFeats(feat);
                 if (!feat.isSecret()) {
-                    gameEngine.printMessage("You received the feat '" + feat.getName() + "'.");
+                    gameEngine.emit(new FeatAwarded(feat.getName()));
                 }
             }
         }
     }
 
-    public static String getInput() {
+    /**
+     * Blocks until the player has entered a line of input, and then returns it. This is the single point where the
+     * framework waits for input, regardless of which interface the game is played in. Output collected by the
+     * OutputSink is flushed before waiting, so the player sees the whole turn before being asked for input.
+     * Any text that is still being animated is shown in full once input arrives.
+     * @param gameEngine Required to retrieve the InputSource that the current interface reads input from.
+     * @return Returns the line of input entered by the player.
+     * @throws InterruptedException Thrown if the thread running the game is interrupted while waiting.
+     * @throws NoSuchElementException Thrown if the InputSource has no further input (e.g. a script has run out).
+     * @see GameEngine#getInputSource()
+     */
+    public static String awaitInput(GameEngine gameEngine) throws InterruptedException {
+        gameEngine.getOutputSink().flush();
+        String input = gameEngine.getInputSource().readLine();
+
+        if (input == null) {
+            throw new NoSuchElementException("No further input is available.");
+        }
+
+        gameEngine.skipAnimation();
+        gameEngine.getContext().setLastInput(input);
         return input;
     }
 
-    public static void setInput(String input) {
-        EncounterController.input = input;
+    /**
+     * Blocks while handing each line of input to the prompt on top of the GameContext's prompt stack, until the
+     * stack is back to a given size. This is how the blocking methods of this class wait for the prompts that their
+     * non-blocking variants push.
+     * @param gameEngine Required to retrieve the GameContext and the InputSource of the game session.
+     * @param promptCount The size of the prompt stack before any prompts were pushed.
+     * @see GameContext#getPrompt()
+     */
+    public static void awaitPrompts(GameEngine gameEngine, int promptCount)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
+        var context = gameEngine.getContext();
+
+        while (context.getPromptCount() > promptCount) {
+            context.getPrompt().onInput(gameEngine, awaitInput(gameEngine));
+        }
     }
 }
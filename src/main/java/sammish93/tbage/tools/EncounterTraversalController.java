@@ -6,6 +6,9 @@ import sammish93.tbage.models.Encounters;
 import sammish93.tbage.models.FixedEncounters;
 import sammish93.tbage.models.RandomEncounters;
 
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -15,9 +18,9 @@ import java.util.Set;
  * The access modifiers are public for the rare occasion that a developer wishes to extend this class and create
  * their own traversal algorithm, or to integrate another interface within the framework.
  */
-public class EncounterTraversalController {
+public class EncounterTraversalController implements Serializable {
 
-    private static Encounter currentEncounter;
+    private Encounter currentEncounter;
     private Encounters encounters;
 
 
@@ -42,10 +45,23 @@ public class EncounterTraversalController {
      * NOTE: During runtime, this will be the encounter that the player currently is it, otherwise it will be
      * the initial encounter that the player will begin in.
      */
-    public static Encounter getCurrentEncounter() {
+    public Encounter getCurrentEncounter() {
         return currentEncounter;
     }
 
+    /**
+     *
+     * @return Returns every Encounter object that can be traversed to by this controller.
+     */
+    public Collection<Encounter> getEncounters() {
+        if (encounters instanceof FixedEncounters) {
+            return ((FixedEncounters) encounters).getEncounters().values();
+        } else if (encounters instanceof RandomEncounters) {
+            return ((RandomEncounters) encounters).getEncounterPool().values();
+        }
+        return List.of();
+    }
+
     /**
      * A method intended to calculate which Encounter object the player will traverse to, based on a prompt.
      * @param prompt A prompt that determines which Encounter object will be set as the current encounter.
@@ -0,0 +1,44 @@
+package sammish93.tbage.tools;
+
+import sammish93.tbage.interfaces.InputSource;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A class intended to hand user input from a game interface (e.g. the 'Send' button of a Swing window) over to the
+ * thread running the game loop. The game loop blocks until a line of input arrives, so input is handled the
+ * moment it is submitted and an idle game does not use any CPU time while waiting.
+ */
+public class InputChannel implements InputSource {
+
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+
+
+    /**
+     * Submits a line of input to the game loop. This method never blocks.
+     * @param input A string entered by the player.
+     */
+    public void offer(String input) {
+        if (input != null) {
+            queue.offer(input);
+        }
+    }
+
+    /**
+     * Waits until a line of input has been submitted, and then returns it.
+     * @return Returns the oldest line of input that has not yet been handled by the game loop.
+     * @throws InterruptedException Thrown if the waiting thread is interrupted.
+     */
+    @Override
+    public String readLine() throws InterruptedException {
+        return queue.take();
+    }
+
+    /**
+     * Discards all input that has been submitted but not yet handled by the game loop.
+     */
+    public void clear() {
+        queue.clear();
+    }
+}
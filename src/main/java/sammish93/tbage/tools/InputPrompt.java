@@ -0,0 +1,41 @@
+package sammish93.tbage.tools;
+
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.interfaces.Prompt;
+import sammish93.tbage.interfaces.PromptCallback;
+
+/**
+ * A prompt that accepts any single line of input and hands it to a callback, e.g. the answer to 'Would you like
+ * to use an item?'.
+ */
+public class InputPrompt implements Prompt {
+
+    private final InputKind inputKind;
+    private final PromptCallback<String> callback;
+
+
+    /**
+     *
+     * @param inputKind The kind of input that this prompt is waiting for.
+     * @param callback Receives the line of input once it has been entered.
+     */
+    public InputPrompt(InputKind inputKind, PromptCallback<String> callback) {
+        this.inputKind = inputKind;
+        this.callback = callback;
+    }
+
+    @Override
+    public InputKind getInputKind() {
+        return inputKind;
+    }
+
+    @Override
+    public void onInput(GameEngine gameEngine, String input)
+            throws InventoryFullException, InvalidValueException, InterruptedException {
+        gameEngine.getContext().popPrompt();
+        callback.onResult(gameEngine, input);
+    }
+}
@@ -0,0 +1,70 @@
+package sammish93.tbage.tools;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A class intended to write strings as JSON string literals, escaping quotes, backslashes and control characters.
+ * It is shared by the JSON descriptions of the models and by the responses of the HTTP API.
+ *
+ * Example:
+ * var sb = new StringBuilder("{\"name\":");
+ * JsonStrings.appendString(sb, item.getName());
+ * sb.append('}');
+ * @see sammish93.tbage.interfaces.Describable#describeJsonTo(Appendable)
+ */
+public final class JsonStrings {
+
+    private JsonStrings() {
+    }
+
+    /**
+     * Appends a string as a JSON string literal, or as null if the string is null.
+     * @param out The Appendable that the string is written to.
+     * @param string The string to be written.
+     * @throws IOException Arises if the Appendable cannot be written to.
+     */
+    public static void appendString(Appendable out, String string) throws IOException {
+        if (string == null) {
+            out.append("null");
+            return;
+        }
+
+        out.append('"');
+
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+
+        out.append('"');
+    }
+
+    /**
+     * Appends a string as a JSON string literal, or as null if the string is null.
+     * @param sb The StringBuilder that the string is written to.
+     * @param string The string to be written.
+     */
+    public static void appendString(StringBuilder sb, String string) {
+        try {
+            appendString((Appendable) sb, string);
+        } catch (IOException ex) {
+            // A StringBuilder does not throw an IOException.
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package sammish93.tbage.tools;
+
+import java.io.Serializable;
+
+/**
+ * A class intended to hold the result of reading a single line of input with a StringParser. Each game session's
+ * StringParser holds a single instance, which is filled again each time that a line of input is read, so reading
+ * input creates no objects once the game is running. The result is therefore only valid until the next line of input
+ * is read, and should not be kept.
+ *
+ * A valid line of input is either a single command, or a verb followed by a noun. Each word is held both as its id in
+ * the parser's Vocabulary, and as the spelling it was added to the parser with.
+ *
+ * Example:
+ * ParsedCommand parsedCommand = stringParser.readCommand(gameEngine, input);
+ * if (parsedCommand.isCommand() && parsedCommand.getCommand().equals("help")) {
+ *     ...
+ * }
+ * @see StringParser#readCommand(sammish93.tbage.GameEngine, String)
+ */
+public class ParsedCommand implements Serializable {
+
+    private int commandId = -1;
+    private int verbId = -1;
+    private int nounId = -1;
+    private String command;
+    private String verb;
+    private String noun;
+
+
+    private ParsedCommand() {
+    }
+
+    /**
+     *
+     * @return Returns a new instance of ParsedCommand that holds no command.
+     */
+    public static ParsedCommand create() {
+        return new ParsedCommand();
+    }
+
+    /**
+     *
+     * @return Returns a boolean value representing if the line of input was a recognised command, or a recognised
+     * verb and noun.
+     */
+    public boolean isValid() {
+        return commandId >= 0 || nounId >= 0;
+    }
+
+    /**
+     *
+     * @return Returns a boolean value representing if the line of input was a single recognised command.
+     */
+    public boolean isCommand() {
+        return commandId >= 0;
+    }
+
+    /**
+     *
+     * @return Returns a boolean value representing if the line of input was a recognised verb followed by a
+     * recognised noun.
+     */
+    public boolean isVerbAndNoun() {
+        return nounId >= 0;
+    }
+
+    /**
+     *
+     * @return Returns the command, spelled as it was added to the parser, or null if the input was not a command.
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     *
+     * @return Returns the verb, spelled as it was added to the parser, or null if the input was not a verb and noun.
+     */
+    public String getVerb() {
+        return verb;
+    }
+
+    /**
+     *
+     * @return Returns the noun, spelled as it was added to the parser, or null if the input was not a verb and noun.
+     */
+    public String getNoun() {
+        return noun;
+    }
+
+    /**
+     *
+     * @return Returns the id of the command in the parser's Vocabulary, or -1 if the input was not a command.
+     */
+    public int getCommandId() {
+        return commandId;
+    }
+
+    /**
+     *
+     * @return Returns the id of the verb in the parser's Vocabulary, or -1 if the input was not a verb and noun.
+     */
+    public int getVerbId() {
+        return verbId;
+    }
+
+    /**
+     *
+     * @return Returns the id of the noun in the parser's Vocabulary, or -1 if the input was not a verb and noun.
+     */
+    public int getNounId() {
+        return nounId;
+    }
+
+    void clear() {
+        commandId = -1;
+        verbId = -1;
+        nounId = -1;
+        command = null;
+        verb = null;
+        noun = null;
+    }
+
+    void setCommand(int id, String word) {
+        commandId = id;
+        command = word;
+    }
+
+    void setVerbAndNoun(int verbId, String verb, int nounId, String noun) {
+        this.verbId = verbId;
+        this.verb = verb;
+        this.nounId = nounId;
+        this.noun = noun;
+    }
+}
@@ -0,0 +1,193 @@
+package sammish93.tbage.tools;
+
+import sammish93.tbage.interfaces.OutputSink;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A class intended to hand the output of a game to a single spectator (e.g. a stream or a QA tool), without ever
+ * holding up the game. Text written by the game is added to a bounded buffer and the game carries on straight away.
+ * The spectator reads the buffer on a thread of its own. If the spectator falls behind and the buffer is full, the
+ * oldest text is dropped to make room, and the number of dropped characters is counted.
+ *
+ * Example:
+ * var feed = host.spectate(sessionId);
+ * String text;
+ * while ((text = feed.poll(1, TimeUnit.SECONDS)) != null) {
+ *     System.out.print(text);
+ * }
+ * @see sammish93.tbage.GameEngine#addSpectator(SpectatorFeed)
+ */
+public class SpectatorFeed implements OutputSink {
+
+    private static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    private final int capacity;
+    private final Queue<String> chunks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCharacters = new AtomicInteger();
+    private final AtomicLong droppedCharacters = new AtomicLong();
+    private volatile Thread waitingReader;
+    private volatile boolean isClosed = false;
+
+
+    private SpectatorFeed(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     *
+     * @return Returns a new instance of SpectatorFeed that holds up to 64K characters of text that has not yet been
+     * read.
+     */
+    public static SpectatorFeed create() {
+        return create(DEFAULT_CAPACITY);
+    }
+
+    /**
+     *
+     * @param capacity The number of characters of text that have not yet been read that the feed holds, before the
+     *                 oldest text is dropped.
+     * @return Returns a new instance of SpectatorFeed.
+     */
+    public static SpectatorFeed create(int capacity) {
+        return new SpectatorFeed(Math.max(capacity, 1));
+    }
+
+    /**
+     *
+     * @return Returns the number of characters of text that have not yet been read that the feed holds.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     *
+     * @return Returns the number of characters that have been dropped since the feed was created, as the spectator
+     * did not read them before the feed was full.
+     */
+    public long getDroppedCharacterCount() {
+        return droppedCharacters.get();
+    }
+
+    /**
+     * Adds text to the feed, and returns straight away. If the feed is full then the oldest text is dropped. Text
+     * written after the feed has been closed is ignored.
+     * @param text The text to be written.
+     */
+    @Override
+    public void write(String text) {
+        if (isClosed || text.isEmpty()) {
+            return;
+        }
+
+        if (text.length() > capacity) {
+            droppedCharacters.addAndGet(text.length() - capacity);
+            text = text.substring(text.length() - capacity);
+        }
+
+        chunks.offer(text);
+        int size = queuedCharacters.addAndGet(text.length());
+
+        while (size > capacity) {
+            String oldest = chunks.poll();
+
+            if (oldest == null) {
+                break;
+            }
+
+            size = queuedCharacters.addAndGet(-oldest.length());
+            droppedCharacters.addAndGet(oldest.length());
+        }
+
+        Thread reader = waitingReader;
+        if (reader != null) {
+            LockSupport.unpark(reader);
+        }
+    }
+
+    /**
+     * Reads all text in the feed without waiting.
+     * @return Returns the text written since the feed was last read, an empty string if there is none, or null
+     * once the feed has been closed and all of its text has been read.
+     */
+    public String poll() {
+        // Read before the text, so that text written right before the feed was closed is never missed.
+        boolean wasClosed = isClosed;
+        String chunk = chunks.poll();
+
+        if (chunk == null) {
+            return wasClosed ? null : "";
+        }
+
+        var sb = new StringBuilder(chunk);
+        queuedCharacters.addAndGet(-chunk.length());
+
+        while ((chunk = chunks.poll()) != null) {
+            sb.append(chunk);
+            queuedCharacters.addAndGet(-chunk.length());
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Reads all text in the feed, and waits for text to be written if there is none.
+     * @param timeout The longest time to wait for text to be written.
+     * @param unit The unit of the timeout.
+     * @return Returns the text written since the feed was last read, an empty string if none was written before the
+     * timeout, or null once the feed has been closed and all of its text has been read.
+     */
+    public String poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+
+        while (true) {
+            String text = poll();
+
+            if (text == null || !text.isEmpty()) {
+                return text;
+            }
+
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return text;
+            }
+
+            waitingReader = Thread.currentThread();
+            if (chunks.isEmpty() && !isClosed) {
+                LockSupport.parkNanos(this, remainingNanos);
+            }
+            waitingReader = null;
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Closes the feed. Text that is already in the feed can still be read, after which poll() returns null. This
+     * is called once the game that is watched has ended, and can be called by the spectator to stop watching.
+     */
+    public void close() {
+        isClosed = true;
+
+        Thread reader = waitingReader;
+        if (reader != null) {
+            LockSupport.unpark(reader);
+        }
+    }
+
+    /**
+     *
+     * @return Returns a boolean value representing if the feed has been closed.
+     */
+    public boolean isClosed() {
+        return isClosed;
+    }
+}
@@ -2,91 +2,223 @@ package sammish93.tbage.tools;
 
 import sammish93.tbage.GameEngine;
 import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.models.Encounter;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.TreeMap;
 
 /**
  * A class intended to parse a string (in the case of this framework, the string that is taken as user input),
- * and determining if it is a valid command, or a valid combination of a verb and a noun. This class cannot be
- * instantiated, and contains only static methods.
+ * and determining if it is a valid command, or a valid combination of a verb and a noun. Each game session holds
+ * its own instance as part of its GameContext, so the recognised vocabulary of one game does not leak into another.
+ *
+ * Words are recognised regardless of case. Each word is held once in a hashed Vocabulary, and the commands, verbs,
+ * and nouns are sets of word ids, so a word is recognised in the same time no matter how many words there are.
+ *
+ * Each word is held on behalf of an owner: either the developer (words added through addCommand(), setVerbs(), etc.),
+ * or an encounter (its navigational verbs and nouns). An owner holds a word at most once, however many times it is
+ * added, and the words of an encounter are released once its vocabulary is removed. The vocabulary therefore grows
+ * with the number of distinct words, rather than with the number of encounters.
+ *
+ * The words are recognised in two layers. The words of the developer are recognised everywhere, while the
+ * navigational verbs and nouns of an encounter are only recognised while the player is in that encounter. A
+ * navigational command that belongs to another encounter is therefore rejected as soon as it is read.
+ * Example:
+ *   gameEngine.getContext().getStringParser().addCommand("dance");
+ * @see sammish93.tbage.GameContext
  */
-public class StringParser {
+public class StringParser implements Serializable {
 
-    private static ArrayList<String> verbs = new ArrayList<>();
-    private static ArrayList<String> nouns = new ArrayList<>();
-    private static ArrayList<String> commands = new ArrayList<>();
+    // The owner of words added by the developer rather than by an encounter.
+    private static final String DEVELOPER = "developer";
 
+    private final Vocabulary vocabulary = Vocabulary.create();
+    private final WordType verbs = new WordType();
+    private final WordType nouns = new WordType();
+    private final WordType commands = new WordType();
+    private final ParsedCommand parsedCommand = ParsedCommand.create();
+    private Encounter currentEncounter;
+
+
+    private StringParser() {
+    }
 
     /**
-     * A method that determines if a string is of valid format to pass as either a single-word command, or a
-     * combination of two words (verb as the first word, and noun as the second), before returning it as a
-     * TreeMap.
+     *
+     * @return Returns a new instance of StringParser with no recognised commands, verbs, or nouns.
+     */
+    public static StringParser create() {
+        return new StringParser();
+    }
+
+
+    /**
+     * Reads a line of input in a single pass, and determines if it is a single recognised command, or a recognised
+     * verb followed by a recognised noun. Words are separated by whitespace, and looked up in the Vocabulary
+     * directly from the input, so no objects are created while the input is valid.
      * @param gameEngine Required to communicate with other dependencies such as the game interface.
-     * @param input A string that is to be trimmed and split based on spaces (' ').
+     * @param input A line of input.
      *              Example:
-     *              The string '   hello there  ' will be split into two different strings ('hello', and 'there').
-     * @return Returns the string as a TreeMap. Each entry is comprised of the type of word ('command, 'verb',
-     * or 'noun') as the key, and the word as the value.
-     * @see StringParser#parse(GameEngine, String[])
+     *              The string '   hello there  ' is read as two words ('hello', and 'there').
+     * @return Returns the ParsedCommand of this parser, filled with the words of the input. The same instance is
+     * returned each time, so it is only valid until the next line of input is read.
      */
-    public static TreeMap<String, String> read(GameEngine gameEngine, String input) throws InterruptedException {
-        String[] splitString = input.trim().split("\\s+");
-        TreeMap<String, String> map = new TreeMap<>();
-        boolean isValid = false;
+    public ParsedCommand readCommand(GameEngine gameEngine, String input) throws InterruptedException {
+        parsedCommand.clear();
+
+        int length = input.length();
+        int tokenCount = 0;
+        int firstStart = 0;
+        int firstEnd = 0;
+        int secondStart = 0;
+        int secondEnd = 0;
+        int index = 0;
+
+        while (tokenCount <= 2) {
+            while (index < length && isWhitespace(input.charAt(index))) {
+                index++;
+            }
+
+            if (index == length) {
+                break;
+            }
+
+            int start = index;
+            while (index < length && !isWhitespace(input.charAt(index))) {
+                index++;
+            }
+
+            if (++tokenCount == 1) {
+                firstStart = start;
+                firstEnd = index;
+            } else {
+                secondStart = start;
+                secondEnd = index;
+            }
+        }
 
         if (input.isEmpty()) {
             gameEngine.printMessage("Please enter a command.");
-        } else if (splitString.length > 2) {
+        } else if (tokenCount > 2) {
             gameEngine.printMessage("Please enter no more than two commands.");
-        } else {
-            isValid = parse(gameEngine, splitString);
-        }
+        } else if (tokenCount == 1) {
+            int commandId = recognise(input, firstStart, firstEnd, commands);
 
-        if (isValid) {
-            if (splitString.length == 1) {
-                map.put("command", splitString[0]);
-            } else
-            {
-                map.put("verb", splitString[0]);
-                map.put("noun", splitString[1]);
+            if (commandId >= 0) {
+                parsedCommand.setCommand(commandId, vocabulary.getWord(commandId));
             }
-        } else {
+        } else if (tokenCount == 2) {
+            int verbId = recognise(input, firstStart, firstEnd, verbs);
+            int nounId = verbId < 0 ? -1 : recognise(input, secondStart, secondEnd, nouns);
+
+            if (nounId >= 0) {
+                parsedCommand.setVerbAndNoun(verbId, vocabulary.getWord(verbId), nounId, vocabulary.getWord(nounId));
+            }
+        }
+
+        if (!parsedCommand.isValid()) {
             gameEngine.printMessage("Sorry, I don't understand. Type 'help' for help.");
         }
 
-        return map;
+        return parsedCommand;
     }
 
     /**
-     * Determines whether a split string is of the desired length (one to two words).
+     * A method that determines if a string is of valid format to pass as either a single-word command, or a
+     * combination of two words (verb as the first word, and noun as the second), before returning it as a
+     * TreeMap.
      * @param gameEngine Required to communicate with other dependencies such as the game interface.
-     * @param splitString An array of split strings.
-     * @return Returns either a true or false boolean value based on whether the string array is between one
-     * to two words long. If no words are present, or there are three or more words, then the method returns false.
+     * @param input A string that is to be split based on whitespace.
+     *              Example:
+     *              The string '   hello there  ' will be split into two different strings ('hello', and 'there').
+     * @return Returns the string as a TreeMap. Each entry is comprised of the type of word ('command, 'verb',
+     * or 'noun') as the key, and the word as the value. The word is spelled as it was added to the parser, rather
+     * than as it was entered.
+     * @see StringParser#readCommand(GameEngine, String)
      */
-    private static boolean parse(GameEngine gameEngine, String[] splitString) {
+    public TreeMap<String, String> read(GameEngine gameEngine, String input) throws InterruptedException {
+        ParsedCommand result = readCommand(gameEngine, input);
+        TreeMap<String, String> map = new TreeMap<>();
 
-        if (splitString.length == 1) {
-            return commands.contains(splitString[0]);
-        } else if (splitString.length == 2) {
-            return verbs.contains(splitString[0]) && nouns.contains(splitString[1]);
+        if (result.isCommand()) {
+            map.put("command", result.getCommand());
+        } else if (result.isVerbAndNoun()) {
+            map.put("verb", result.getVerb());
+            map.put("noun", result.getNoun());
         }
 
-        return false;
+        return map;
+    }
+
+    /**
+     * @return Returns the id of the word between the start and end of the input, or -1 if it is not recognised as
+     * the given type of word.
+     */
+    private int recognise(String input, int start, int end, WordType wordType) {
+        int id = vocabulary.getId(input, start, end);
+
+        return id >= 0 && wordType.isRecognised(id, currentEncounter) ? id : -1;
+    }
+
+    /**
+     * Matches the same characters as '\s' in a regular expression.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     *
+     * @param command A single word, in any case.
+     * @return Returns a boolean value representing if the word is a recognised command.
+     */
+    public boolean isCommand(String command) {
+        int id = vocabulary.getId(command);
+        return id >= 0 && commands.isRecognised(id, currentEncounter);
+    }
+
+    /**
+     *
+     * @param verb A single word, in any case.
+     * @return Returns a boolean value representing if the word is a recognised verb.
+     */
+    public boolean isVerb(String verb) {
+        int id = vocabulary.getId(verb);
+        return id >= 0 && verbs.isRecognised(id, currentEncounter);
     }
 
     /**
-     * Adds a command to a static ArrayList containing all recognised commands that are considered valid.
+     *
+     * @param noun A single word, in any case.
+     * @return Returns a boolean value representing if the word is a recognised noun.
+     */
+    public boolean isNoun(String noun) {
+        int id = vocabulary.getId(noun);
+        return id >= 0 && nouns.isRecognised(id, currentEncounter);
+    }
+
+    /**
+     *
+     * @return Returns the Vocabulary that holds every word recognised by this parser.
+     */
+    public Vocabulary getVocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * Adds a command to the set of all recognised commands that are considered valid.
      * @param command A string comprised of a single word.
      * @throws InvalidValueException Is thrown in an example such as if the string given as a parameter
      * is either empty or is comprised of more than one words.
      */
-    public static void addCommand(String command) throws InvalidValueException {
+    public void addCommand(String command) throws InvalidValueException {
         String[] splitString = command.trim().split("\\s+");
 
         if (splitString.length == 1) {
-            commands.add(splitString[0]);
+            add(DEVELOPER, splitString[0], commands);
         } else {
             throw new InvalidValueException("The value '" + command + "' is invalid. " +
                     "Enter a single word without spaces.");
@@ -94,16 +226,16 @@ public class StringParser {
     }
 
     /**
-     * Adds a noun to a static ArrayList containing all recognised nouns that are considered valid.
+     * Adds a noun to the set of all recognised nouns that are considered valid.
      * @param noun A string comprised of a single word.
      * @throws InvalidValueException Is thrown in an example such as if the string given as a parameter
      * is either empty or is comprised of more than one words.
      */
-    public static void addNoun(String noun) throws InvalidValueException {
+    public void addNoun(String noun) throws InvalidValueException {
         String[] splitString = noun.trim().split("\\s+");
 
         if (splitString.length == 1) {
-            nouns.add(splitString[0]);
+            add(DEVELOPER, splitString[0], nouns);
         } else {
             throw new InvalidValueException("The value '" + noun + "' is invalid. " +
                     "Enter a single word without spaces.");
@@ -111,16 +243,16 @@ public class StringParser {
     }
 
     /**
-     * Adds a verb to a static ArrayList containing all recognised verbs that are considered valid.
+     * Adds a verb to the set of all recognised verbs that are considered valid.
      * @param verb A string comprised of a single word.
      * @throws InvalidValueException Is thrown in an example such as if the string given as a parameter
      * is either empty or is comprised of more than one words.
      */
-    public static void addVerb(String verb) throws InvalidValueException {
+    public void addVerb(String verb) throws InvalidValueException {
         String[] splitString = verb.trim().split("\\s+");
 
         if (splitString.length == 1) {
-            verbs.add(splitString[0]);
+            add(DEVELOPER, splitString[0], verbs);
         } else {
             throw new InvalidValueException("The value '" + verb + "' is invalid. " +
                     "Enter a single word without spaces.");
@@ -128,55 +260,162 @@ public class StringParser {
     }
 
     /**
-     * Removes a command from a static ArrayList containing all recognised commands that are considered valid.
+     * Removes a command from the set of all recognised commands that are considered valid.
      * Once removed, this command is no longer considered valid.
      * @param command A string comprised of a single word.
      * @throws InvalidValueException Is thrown in an example such as if the string given as a parameter
      * is either empty or is comprised of more than one words.
      */
-    public static void removeCommand(String command) throws InvalidValueException {
-
-        commands.remove(command);
+    public void removeCommand(String command) throws InvalidValueException {
+        remove(command, commands);
     }
 
     /**
-     * Removes a noun from a static ArrayList containing all recognised nouns that are considered valid.
+     * Removes a noun from the set of all recognised nouns that are considered valid.
      * Once removed, this command is no longer considered valid.
      * @param noun A string comprised of a single word.
      * @throws InvalidValueException Is thrown in an example such as if the string given as a parameter
      * is either empty or is comprised of more than one words.
      */
-    public static void removeNoun(String noun) throws InvalidValueException {
-        nouns.remove(noun);
+    public void removeNoun(String noun) throws InvalidValueException {
+        remove(noun, nouns);
     }
 
     /**
-     * Removes a verb from a static ArrayList containing all recognised verbs that are considered valid.
+     * Removes a verb from the set of all recognised verbs that are considered valid.
      * Once removed, this command is no longer considered valid.
      * @param verb A string comprised of a single word.
      * @throws InvalidValueException Is thrown in an example such as if the string given as a parameter
      * is either empty or is comprised of more than one words.
      */
-    public static void removeVerb(String verb) throws InvalidValueException {
-        verbs.remove(verb);
+    public void removeVerb(String verb) throws InvalidValueException {
+        remove(verb, verbs);
+    }
+
+    private void add(Object owner, String word, WordType wordType) {
+        int id = vocabulary.getId(word);
+
+        if (id < 0 || !wordType.isHeldBy(owner, id)) {
+            wordType.hold(owner, vocabulary.retain(word));
+        }
+    }
+
+    private void remove(String word, WordType wordType) {
+        int id = vocabulary.getId(word);
+
+        if (id >= 0) {
+            release(id, wordType.drop(id));
+        }
+    }
+
+    private void release(int id, int references) {
+        for (int i = 0; i < references; i++) {
+            vocabulary.release(id);
+        }
+    }
+
+    private void release(BitSet ids) {
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            vocabulary.release(id);
+        }
+    }
+
+    /**
+     * Scopes the parser to the encounter that the player is in, so that its navigational verbs and nouns are
+     * recognised alongside the words of the developer. The vocabulary of the encounter is built afresh, and the
+     * vocabulary of the previous encounter is removed. This is called each time that an encounter begins.
+     * @param encounter The encounter that the player is in, or null if the player is in none.
+     * @see Encounter#begin(GameEngine)
+     */
+    public void setCurrentEncounter(Encounter encounter) {
+        if (currentEncounter != null && currentEncounter != encounter) {
+            removeEncounterVocabulary(currentEncounter);
+        }
+
+        if (encounter != null) {
+            addEncounterVocabulary(encounter);
+        }
+
+        currentEncounter = encounter;
+    }
+
+    /**
+     *
+     * @return Returns the encounter whose navigational verbs and nouns are recognised, or null if there is none.
+     */
+    public Encounter getCurrentEncounter() {
+        return currentEncounter;
+    }
+
+    /**
+     * Adds the navigational verbs and navigational nouns of an encounter to the vocabulary. They are recognised
+     * while the parser is scoped to the encounter. If the vocabulary of the encounter has already been added, it is
+     * replaced, so words that the encounter no longer uses are released.
+     * @param encounter An instantiated Encounter object.
+     * @see Encounter#getNavigationalVerbs()
+     * @see Encounter#getNavigationOptions()
+     */
+    public void addEncounterVocabulary(Encounter encounter) {
+        // The previous words are released last, so that words the encounter still uses keep their ids.
+        BitSet previousVerbs = verbs.dropOwner(encounter);
+        BitSet previousNouns = nouns.dropOwner(encounter);
+
+        for (String verb : encounter.getNavigationalVerbs()) {
+            add(encounter, verb, verbs);
+        }
+
+        for (String noun : encounter.getNavigationOptions().keySet()) {
+            add(encounter, noun, nouns);
+        }
+
+        release(previousVerbs);
+        release(previousNouns);
+    }
+
+    /**
+     * Removes the navigational verbs and navigational nouns of an encounter from the recognised vocabulary. Words
+     * that are also used by another encounter, or that have been added by the developer, are still recognised.
+     * @param encounter An Encounter object whose vocabulary has been added.
+     * @see StringParser#addEncounterVocabulary(Encounter)
+     */
+    public void removeEncounterVocabulary(Encounter encounter) {
+        release(verbs.dropOwner(encounter));
+        release(nouns.dropOwner(encounter));
+    }
+
+    /**
+     * Checks that a string is comprised of a single word, and can therefore be recognised as a command, verb, or
+     * noun.
+     * @param word The string to be checked.
+     * @throws InvalidValueException Is thrown in an example such as if the string given as a parameter
+     * is either empty or is comprised of more than one words.
+     */
+    public static void validateWord(String word) throws InvalidValueException {
+        String[] splitString = word.trim().split("\\s+");
+
+        if (splitString.length != 1 || splitString[0].isEmpty()) {
+            throw new InvalidValueException("The value '" + word + "' is invalid. " +
+                    "Enter a single word without spaces.");
+        }
     }
 
     /**
      *
-     * @return Retrieves a static ArrayList containing all verbs considered valid.
+     * @return Retrieves a new ArrayList containing all verbs considered valid. Changes to the list are not
+     * reflected in the parser.
      */
-    public static ArrayList<String> getVerbs() {
-        return verbs;
+    public ArrayList<String> getVerbs() {
+        return toList(verbs);
     }
 
     /**
-     * A method used to set a static ArrayList to a given ArrayList, where all string elements contained
-     * within will be considered valid verbs.
+     * A method used to replace the recognised words with those of a given ArrayList, where all string elements
+     * contained within will be considered valid verbs.
      * @param verbs An ArrayList where each element is a string comprised of a single word
      * @throws InvalidValueException Is thrown in an example such as if the string given as a parameter
      * is either empty or is comprised of more than one words.
      */
-    public static void setVerbs(ArrayList<String> verbs) throws InvalidValueException {
+    public void setVerbs(ArrayList<String> verbs) throws InvalidValueException {
         for (String verb : verbs) {
             String[] splitString = verb.trim().split("\\s+");
 
@@ -186,25 +425,26 @@ public class StringParser {
             }
         }
 
-        StringParser.verbs = verbs;
+        set(verbs, this.verbs);
     }
 
     /**
      *
-     * @return Retrieves a static ArrayList containing all nouns considered valid.
+     * @return Retrieves a new ArrayList containing all nouns considered valid. Changes to the list are not
+     * reflected in the parser.
      */
-    public static ArrayList<String> getNouns() {
-        return nouns;
+    public ArrayList<String> getNouns() {
+        return toList(nouns);
     }
 
     /**
-     * A method used to set a static ArrayList to a given ArrayList, where all string elements contained
-     * within will be considered valid nouns.
+     * A method used to replace the recognised words with those of a given ArrayList, where all string elements
+     * contained within will be considered valid nouns.
      * @param nouns An ArrayList where each element is a string comprised of a single word
      * @throws InvalidValueException Is thrown in an example such as if the string given as a parameter
      * is either empty or is comprised of more than one words.
      */
-    public static void setNouns(ArrayList<String> nouns) throws InvalidValueException {
+    public void setNouns(ArrayList<String> nouns) throws InvalidValueException {
         for (String noun : nouns) {
             String[] splitString = noun.trim().split("\\s+");
 
@@ -214,25 +454,26 @@ public class StringParser {
             }
         }
 
-        StringParser.nouns = nouns;
+        set(nouns, this.nouns);
     }
 
     /**
      *
-     * @return Retrieves a static ArrayList containing all commands considered valid.
+     * @return Retrieves a new ArrayList containing all commands considered valid. Changes to the list are not
+     * reflected in the parser.
      */
-    public static ArrayList<String> getCommands() {
-        return commands;
+    public ArrayList<String> getCommands() {
+        return toList(commands);
     }
 
     /**
-     * A method used to set a static ArrayList to a given ArrayList, where all string elements contained
-     * within will be considered valid commands.
+     * A method used to replace the recognised words with those of a given ArrayList, where all string elements
+     * contained within will be considered valid commands.
      * @param commands An ArrayList where each element is a string comprised of a single word
      * @throws InvalidValueException Is thrown in an example such as if the string given as a parameter
      * is either empty or is comprised of more than one words.
      */
-    public static void setCommands(ArrayList<String> commands) throws InvalidValueException {
+    public void setCommands(ArrayList<String> commands) throws InvalidValueException {
         for (String command : commands) {
             String[] splitString = command.trim().split("\\s+");
 
@@ -242,6 +483,101 @@ public class StringParser {
             }
         }
 
-        StringParser.commands = commands;
+        set(commands, this.commands);
+    }
+
+    private void set(ArrayList<String> words, WordType wordType) {
+        BitSet previous = wordType.dropOwner(DEVELOPER);
+
+        for (String word : words) {
+            add(DEVELOPER, word.trim(), wordType);
+        }
+
+        release(previous);
+    }
+
+    private ArrayList<String> toList(WordType wordType) {
+        BitSet ids = wordType.getRecognisedIds(currentEncounter);
+        var words = new ArrayList<String>(ids.cardinality());
+
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            words.add(vocabulary.getWord(id));
+        }
+
+        return words;
+    }
+
+    /**
+     * The ids of the words of a single type (e.g. verbs), held separately for each owner. The words of the developer
+     * form the base layer, and the words of each encounter form a layer of their own.
+     */
+    private static class WordType implements Serializable {
+
+        private final BitSet base = new BitSet();
+        private final HashMap<Object, BitSet> owners = new HashMap<>();
+
+
+        private WordType() {
+            owners.put(DEVELOPER, base);
+        }
+
+        /**
+         * Checks the small layer of the encounter first, followed by the base layer.
+         */
+        private boolean isRecognised(int id, Encounter encounter) {
+            return isHeldBy(encounter, id) || base.get(id);
+        }
+
+        private boolean isHeldBy(Object owner, int id) {
+            BitSet owned = owners.get(owner);
+            return owned != null && owned.get(id);
+        }
+
+        private BitSet getRecognisedIds(Encounter encounter) {
+            var ids = (BitSet) base.clone();
+            BitSet owned = owners.get(encounter);
+
+            if (owned != null) {
+                ids.or(owned);
+            }
+
+            return ids;
+        }
+
+        private void hold(Object owner, int id) {
+            owners.computeIfAbsent(owner, key -> new BitSet()).set(id);
+        }
+
+        /**
+         * Stops every owner from holding a word.
+         * @return Returns the number of owners that held the word.
+         */
+        private int drop(int id) {
+            int count = 0;
+
+            for (BitSet owned : owners.values()) {
+                if (owned.get(id)) {
+                    owned.clear(id);
+                    count++;
+                }
+            }
+
+            return count;
+        }
+
+        /**
+         * Stops an owner from holding any words.
+         * @return Returns the ids of the words that the owner held.
+         */
+        private BitSet dropOwner(Object owner) {
+            if (owner == DEVELOPER) {
+                var owned = (BitSet) base.clone();
+                base.clear();
+                return owned;
+            }
+
+            BitSet owned = owners.remove(owner);
+            return owned == null ? new BitSet() : owned;
+        }
     }
 }
@@ -0,0 +1,263 @@
+package sammish93.tbage.tools;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A class intended to give each word recognised by a StringParser a small integer id. Words are looked up by a hash
+ * of their lower case form, so finding a word takes the same time no matter how many words are recognised, and
+ * 'North', 'NORTH' and 'north' are the same word. The spelling that a word was first added with is kept, and is
+ * what the StringParser hands on to the game.
+ *
+ * Each word is reference counted. Once every reference to a word has been released, the word is removed and its id
+ * is reused by the next new word, so the size of the vocabulary stays in proportion to the words in use.
+ *
+ * A word can be looked up directly from a range of characters within a line of input, so that the StringParser
+ * does not have to create a string for each word that it reads.
+ * @see StringParser
+ */
+public class Vocabulary implements Serializable {
+
+    private static final int EMPTY = 0;
+    private static final int REMOVED = -1;
+
+    // Each slot holds the id of a word plus one, EMPTY, or REMOVED. Words are found by linear probing.
+    private int[] slots = new int[32];
+    private int usedSlotCount = 0;
+    private String[] words = new String[16];
+    private String[] keys = new String[16];
+    private int[] hashes = new int[16];
+    private int[] referenceCounts = new int[16];
+    private int[] freeIds = new int[16];
+    private int freeIdCount = 0;
+    private int idLimit = 0;
+    private int size = 0;
+
+
+    private Vocabulary() {
+    }
+
+    /**
+     *
+     * @return Returns a new instance of Vocabulary with no words.
+     */
+    public static Vocabulary create() {
+        return new Vocabulary();
+    }
+
+    /**
+     * Adds a reference to a word, and adds the word to the vocabulary unless a word with the same lower case form
+     * has already been added.
+     * @param word A string comprised of a single word.
+     * @return Returns the id of the word.
+     */
+    public int retain(String word) {
+        int id = getId(word);
+
+        if (id < 0) {
+            id = freeIdCount > 0 ? freeIds[--freeIdCount] : idLimit++;
+
+            if (id >= words.length) {
+                int length = words.length * 2;
+                words = Arrays.copyOf(words, length);
+                keys = Arrays.copyOf(keys, length);
+                hashes = Arrays.copyOf(hashes, length);
+                referenceCounts = Arrays.copyOf(referenceCounts, length);
+            }
+
+            words[id] = word;
+            keys[id] = fold(word);
+            hashes[id] = hash(word, 0, word.length());
+            size++;
+            insert(id);
+        }
+
+        referenceCounts[id]++;
+        return id;
+    }
+
+    /**
+     * Releases a reference to a word. The word is removed once no references to it remain.
+     * @param id The id of a word.
+     */
+    public void release(int id) {
+        if (id < 0 || id >= idLimit || referenceCounts[id] == 0) {
+            return;
+        }
+
+        if (--referenceCounts[id] == 0) {
+            slots[findSlot(keys[id], 0, keys[id].length(), hashes[id])] = REMOVED;
+            words[id] = null;
+            keys[id] = null;
+            size--;
+
+            if (freeIdCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+            }
+            freeIds[freeIdCount++] = id;
+        }
+    }
+
+    /**
+     *
+     * @param word A string comprised of a single word, in any case.
+     * @return Returns the id of the word, or -1 if it has not been added.
+     */
+    public int getId(String word) {
+        return getId(word, 0, word.length());
+    }
+
+    /**
+     * Looks up a word within a range of characters, without creating a string.
+     * @param text The characters that hold the word, in any case (e.g. a line of input).
+     * @param start The index of the first character of the word.
+     * @param end The index after the last character of the word.
+     * @return Returns the id of the word, or -1 if it has not been added.
+     */
+    public int getId(CharSequence text, int start, int end) {
+        int slot = findSlot(text, start, end, hash(text, start, end));
+
+        return slot < 0 ? -1 : slots[slot] - 1;
+    }
+
+    /**
+     *
+     * @param id The id of a word.
+     * @return Returns the word, spelled as it was first added, or null if the word has been removed.
+     */
+    public String getWord(int id) {
+        if (id < 0 || id >= idLimit) {
+            throw new IndexOutOfBoundsException("The id " + id + " has not been given to a word.");
+        }
+
+        return words[id];
+    }
+
+    /**
+     *
+     * @return Returns the number of distinct words in the vocabulary.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     *
+     * @return Returns one more than the highest id that has been given to a word.
+     */
+    int getIdLimit() {
+        return idLimit;
+    }
+
+    /**
+     *
+     * @param word A string comprised of a single word, in any case.
+     * @return Returns the number of slots that are looked at to find the word, or to find that it has not been added.
+     */
+    int getProbeCount(String word) {
+        int hash = hash(word, 0, word.length());
+        int mask = slots.length - 1;
+        int probeCount = 1;
+
+        for (int slot = hash & mask; slots[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+
+            if (id >= 0 && hashes[id] == hash && matches(keys[id], word, 0, word.length())) {
+                break;
+            }
+
+            probeCount++;
+        }
+
+        return probeCount;
+    }
+
+    /**
+     * @return Returns the index of the slot that holds the word, or -1 if the word has not been added.
+     */
+    private int findSlot(CharSequence text, int start, int end, int hash) {
+        int mask = slots.length - 1;
+
+        for (int slot = hash & mask; slots[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+
+            if (id >= 0 && hashes[id] == hash && matches(keys[id], text, start, end)) {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    private void insert(int id) {
+        // Removed slots are only reclaimed when the table is rebuilt, so they are counted towards its load.
+        if ((usedSlotCount + 1) * 2 > slots.length) {
+            rebuild(size * 4 > slots.length ? slots.length * 2 : slots.length);
+        }
+
+        int mask = slots.length - 1;
+        int slot = hashes[id] & mask;
+        while (slots[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+
+        slots[slot] = id + 1;
+        usedSlotCount++;
+    }
+
+    private void rebuild(int length) {
+        slots = new int[length];
+        usedSlotCount = 0;
+        int mask = length - 1;
+
+        for (int id = 0; id < idLimit; id++) {
+            // A word that is being added has no references yet, and is placed by insert() once the table is rebuilt.
+            if (keys[id] != null && referenceCounts[id] > 0) {
+                int slot = hashes[id] & mask;
+                while (slots[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+
+                slots[slot] = id + 1;
+                usedSlotCount++;
+            }
+        }
+    }
+
+    private static boolean matches(String key, CharSequence text, int start, int end) {
+        if (key.length() != end - start) {
+            return false;
+        }
+
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != Character.toLowerCase(text.charAt(start + i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int hash = 0;
+
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + Character.toLowerCase(text.charAt(i));
+        }
+
+        // Words that differ only in their last letters (e.g. 'room1' and 'room2') have neighbouring hashes, which
+        // would be placed in neighbouring slots. Mixing the bits spreads them over the table.
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static String fold(String word) {
+        var folded = new char[word.length()];
+
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(word.charAt(i));
+        }
+
+        return new String(folded);
+    }
+}
@@ -0,0 +1,54 @@
+package sammish93.tbage.tools;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimatedOutputSinkTest {
+
+    @Test
+    void assertsTextIsPlayedWithoutBlocking() {
+        var transcript = new StringBuffer();
+        var animatedOutputSink = AnimatedOutputSink.create(transcript::append, 60_000);
+
+        animatedOutputSink.writeAnimated("You have taken 5 damage!");
+        animatedOutputSink.write("\n");
+
+        // Only the first character can have been played before the next one is due a minute later.
+        assertTrue(animatedOutputSink.isPlaying());
+        assertTrue("Y".startsWith(transcript.toString()));
+
+        animatedOutputSink.skipToEnd();
+    }
+
+    @Test
+    void assertsTextIsPlayedInOrder() throws InterruptedException {
+        var transcript = new StringBuffer();
+        var animatedOutputSink = AnimatedOutputSink.create(transcript::append, 5);
+
+        animatedOutputSink.writeAnimated("You have taken 5 damage!");
+        animatedOutputSink.write("\n");
+
+        animatedOutputSink.awaitIdle();
+        assertEquals("You have taken 5 damage!\n", transcript.toString());
+        assertFalse(animatedOutputSink.isPlaying());
+
+        animatedOutputSink.write("Status\n");
+        assertEquals("You have taken 5 damage!\nStatus\n", transcript.toString());
+    }
+
+    @Test
+    void assertsQueuedTextIsWrittenAtOnceWhenSkipped() throws InterruptedException {
+        var transcript = new StringBuffer();
+        var animatedOutputSink = AnimatedOutputSink.create(transcript::append, 1000);
+
+        animatedOutputSink.writeAnimated("Rat has died!");
+        animatedOutputSink.write("\n");
+        animatedOutputSink.writeAnimated("You received 10 gold.");
+        animatedOutputSink.skipToEnd();
+
+        assertEquals("Rat has died!\nYou received 10 gold.", transcript.toString());
+        assertFalse(animatedOutputSink.isPlaying());
+        animatedOutputSink.awaitIdle();
+    }
+}
@@ -0,0 +1,107 @@
+package sammish93.tbage.tools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.TestGames;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.interfaces.OutputSink;
+import sammish93.tbage.models.Ally;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferedOutputSinkTest {
+
+    private void play(List<String> script, OutputSink outputSink)
+            throws InvalidValueException, InventoryFullException {
+        var encounter = TestGames.createCamp();
+        for (int i = 1; i <= 8; i++) {
+            encounter.addAllyToAllies(Ally.create("Villager " + i));
+        }
+
+        GameEngine gameEngine = TestGames.createGame(encounter);
+        TestGames.setScript(gameEngine, script, outputSink);
+        gameEngine.run();
+    }
+
+    /**
+     * Counts the writes that reach the file, each of which is a system call.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private int writeCount = 0;
+
+        private CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writeCount++;
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            writeCount++;
+            out.write(b);
+        }
+    }
+
+    @Test
+    void assertsOutputIsWrittenOncePerTurn() throws InvalidValueException, InventoryFullException {
+        var unbufferedTranscript = new StringBuilder();
+        var bufferedTranscript = new StringBuilder();
+        var writes = new ArrayList<String>();
+        var script = List.of("help", "status", "exit");
+
+        play(script, unbufferedTranscript::append);
+        play(script, BufferedOutputSink.create(text -> {
+            writes.add(text);
+            bufferedTranscript.append(text);
+        }));
+
+        assertEquals(unbufferedTranscript.toString(), bufferedTranscript.toString());
+        // The introduction, the output of 'help', the output of 'status', and the exit message.
+        assertEquals(4, writes.size());
+        assertTrue(writes.get(1).startsWith("Type one of the following commands"));
+    }
+
+    @Test
+    void assertsBufferingReducesWrites(@TempDir Path directory)
+            throws IOException, InvalidValueException, InventoryFullException {
+        int turnCount = 2000;
+        // 'status' prints a line for the player's health and for each of the allies.
+        var script = new ArrayList<>(Collections.nCopies(turnCount, "status"));
+        script.add("exit");
+        long[] writeCounts = new long[2];
+
+        for (int i = 0; i < 2; i++) {
+            boolean isBuffered = i == 1;
+
+            try (var countingOutputStream = new CountingOutputStream(
+                    new FileOutputStream(directory.resolve("output" + i + ".txt").toFile()));
+                 // Mirrors System.out, which flushes on every line break.
+                 var printStream = new PrintStream(new BufferedOutputStream(countingOutputStream), true)) {
+                OutputSink consoleSink = printStream::print;
+
+                play(script, isBuffered ? BufferedOutputSink.create(consoleSink) : consoleSink);
+
+                printStream.flush();
+                writeCounts[i] = countingOutputStream.writeCount;
+            }
+        }
+
+        // Unbuffered, each of the nine lines of every 'status' is a write. Buffered, each turn is a single write. The
+        // introduction and the exit message are a write each.
+        assertEquals(turnCount * 9L + 2, writeCounts[0]);
+        assertEquals(turnCount + 2L, writeCounts[1]);
+    }
+}
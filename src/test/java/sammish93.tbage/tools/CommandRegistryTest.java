@@ -0,0 +1,73 @@
+package sammish93.tbage.tools;
+
+import org.junit.jupiter.api.Test;
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.models.CombatEncounter;
+import sammish93.tbage.models.Encounter;
+import sammish93.tbage.models.FixedEncounters;
+import sammish93.tbage.models.NonCombatEncounter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+class CommandRegistryTest {
+
+    GameEngine gameEngine = mock(GameEngine.class);
+
+    @Test
+    void assertsHandlerOfEncounterTypeIsPreferred()
+            throws InvalidValueException, InventoryFullException, InterruptedException {
+        CommandRegistry commandRegistry = CommandRegistry.create();
+        commandRegistry.register(Encounter.class, "shout",
+                (engine, encounter) -> engine.printMessage("Echo from " + encounter.getName()));
+        commandRegistry.register(CombatEncounter.class, "shout",
+                (engine, encounter) -> engine.printMessage("The enemies hear you"));
+
+        assertTrue(commandRegistry.dispatch(gameEngine, NonCombatEncounter.create("Cave"), "SHOUT"));
+        verify(gameEngine).printMessage("Echo from Cave");
+
+        assertTrue(commandRegistry.dispatch(gameEngine, CombatEncounter.create("Arena"), "shout"));
+        verify(gameEngine).printMessage("The enemies hear you");
+
+        assertTrue(commandRegistry.unregister(CombatEncounter.class, "shout"));
+        assertTrue(commandRegistry.dispatch(gameEngine, CombatEncounter.create("Arena"), "shout"));
+        verify(gameEngine).printMessage("Echo from Arena");
+
+        assertFalse(commandRegistry.dispatch(gameEngine, CombatEncounter.create("Arena"), "whisper"));
+        assertNull(commandRegistry.getHandler(CombatEncounter.class, "whisper"));
+        assertThrows(InvalidValueException.class,
+                () -> commandRegistry.register(Encounter.class, "shout loudly", (engine, encounter) -> {}));
+    }
+
+    @Test
+    void assertsCustomCommandIsEnteredInGame()
+            throws InvalidValueException, InventoryFullException, InterruptedException {
+        var encounters = FixedEncounters.create();
+        encounters.addEncounter(NonCombatEncounter.create("CAMP"));
+        GameEngine game = GameEngine.create(encounters);
+        game.addCommand(Encounter.class, "rest", (engine, encounter) -> {
+            engine.printMessage("You rest at " + encounter.getName() + ".");
+            encounter.setDefeated(true);
+        });
+        game.addCommand(NonCombatEncounter.class, "status",
+                (engine, encounter) -> engine.printMessage("All is well."));
+
+        var stepper = game.runStepped();
+        stepper.start();
+
+        var result = stepper.step("status");
+        assertTrue(result.getOutput().contains("All is well."));
+
+        result = stepper.step("Rest");
+        assertTrue(result.getOutput().contains("You rest at CAMP."));
+        assertTrue(game.getContext().getCurrentEncounter().isDefeated());
+        assertTrue(result.getOutput().contains("Would you like to progress to the next encounter?"));
+
+        stepper.step("n");
+        result = stepper.step("help");
+        assertTrue(result.getOutput().contains("Type one of the following commands:"));
+    }
+}
@@ -76,7 +76,7 @@ class EncounterTraversalControllerTest {
 
         EncounterTraversalController etc = new EncounterTraversalController(encounters);
 
-        assertEquals(nCoEncounter, EncounterTraversalController.getCurrentEncounter());
+        assertEquals(nCoEncounter, etc.getCurrentEncounter());
     }
 
     @Test
@@ -93,11 +93,11 @@ class EncounterTraversalControllerTest {
 
         EncounterTraversalController etc = new EncounterTraversalController(encounters);
 
-        assertEquals(nCoEncounter, EncounterTraversalController.getCurrentEncounter());
+        assertEquals(nCoEncounter, etc.getCurrentEncounter());
 
         etc.progressToNextEncounter(eventPrompt);
 
-        assertEquals(nCoEncounter2, EncounterTraversalController.getCurrentEncounter());
+        assertEquals(nCoEncounter2, etc.getCurrentEncounter());
     }
 
     @Test
@@ -116,12 +116,12 @@ class EncounterTraversalControllerTest {
 
         EncounterTraversalController etc = new EncounterTraversalController(encounters);
 
-        assertEquals(nCoEncounter, EncounterTraversalController.getCurrentEncounter());
+        assertEquals(nCoEncounter, etc.getCurrentEncounter());
 
         etc.progressToNextEncounter(incorrectEventPrompt);
 
-        assertNull(EncounterTraversalController.getCurrentEncounter());
-        assertNotEquals(nCoEncounter2, EncounterTraversalController.getCurrentEncounter());
+        assertNull(etc.getCurrentEncounter());
+        assertNotEquals(nCoEncounter2, etc.getCurrentEncounter());
     }
 
     @Test
@@ -138,12 +138,12 @@ class EncounterTraversalControllerTest {
         EncounterTraversalController etc = new EncounterTraversalController(encounters);
 
 
-        if (nCoEncounter2 == EncounterTraversalController.getCurrentEncounter()) {
+        if (nCoEncounter2 == etc.getCurrentEncounter()) {
             etc.progressToNextEncounter("defeated");
-            assertEquals(nCoEncounter, EncounterTraversalController.getCurrentEncounter());
-        } else if (nCoEncounter == EncounterTraversalController.getCurrentEncounter()) {
+            assertEquals(nCoEncounter, etc.getCurrentEncounter());
+        } else if (nCoEncounter == etc.getCurrentEncounter()) {
             etc.progressToNextEncounter("defeated");
-            assertEquals(nCoEncounter2, EncounterTraversalController.getCurrentEncounter());
+            assertEquals(nCoEncounter2, etc.getCurrentEncounter());
         }
     }
 
@@ -165,12 +165,12 @@ class EncounterTraversalControllerTest {
 
         EncounterTraversalController etc = new EncounterTraversalController(encounters);
 
-        if (nCoEncounter2 == EncounterTraversalController.getCurrentEncounter()) {
+        if (nCoEncounter2 == etc.getCurrentEncounter()) {
             etc.progressToNextEncounter(prompt);
-            assertEquals(nCoEncounter, EncounterTraversalController.getCurrentEncounter());
-        } else if (nCoEncounter == EncounterTraversalController.getCurrentEncounter()) {
+            assertEquals(nCoEncounter, etc.getCurrentEncounter());
+        } else if (nCoEncounter == etc.getCurrentEncounter()) {
             etc.progressToNextEncounter(prompt);
-            assertEquals(nCoEncounter2, EncounterTraversalController.getCurrentEncounter());
+            assertEquals(nCoEncounter2, etc.getCurrentEncounter());
         }
     }
 
@@ -237,13 +237,13 @@ class EncounterTraversalControllerTest {
 
         EncounterTraversalController etc = new EncounterTraversalController(encounters);
 
-        assertEquals(encounterNameRetrieved, EncounterTraversalController.getCurrentEncounter().getName());
+        assertEquals(encounterNameRetrieved, etc.getCurrentEncounter().getName());
 
         String anotherEncounterNameRetrieved = encounters.getEncounterOrder().peek();
 
         etc.progressToNextEncounter("defeated");
 
-        assertEquals(anotherEncounterNameRetrieved, EncounterTraversalController.getCurrentEncounter().getName());
+        assertEquals(anotherEncounterNameRetrieved, etc.getCurrentEncounter().getName());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package sammish93.tbage.tools;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectatorFeedTest {
+
+    @Test
+    void assertsOldestTextIsDroppedWhenFull() {
+        var feed = SpectatorFeed.create(10);
+
+        feed.write("12345");
+        feed.write("67890");
+        feed.write("abc");
+
+        assertEquals("67890abc", feed.poll());
+        assertEquals(5, feed.getDroppedCharacterCount());
+        assertEquals("", feed.poll());
+
+        feed.write("This line is longer than the feed.");
+        assertEquals(" the feed.", feed.poll());
+        assertEquals(5 + 24, feed.getDroppedCharacterCount());
+    }
+
+    @Test
+    void assertsPollWaitsForTextAndEndsOnceClosed() throws InterruptedException {
+        var feed = SpectatorFeed.create();
+
+        var writer = new Thread(() -> {
+            feed.write("You have 100 gold.\n");
+            feed.close();
+        });
+        writer.start();
+
+        assertEquals("You have 100 gold.\n", feed.poll(5, TimeUnit.SECONDS));
+        writer.join();
+        assertNull(feed.poll(5, TimeUnit.SECONDS));
+
+        feed.write("Ignored once closed.");
+        assertNull(feed.poll());
+        assertEquals("", SpectatorFeed.create().poll(10, TimeUnit.MILLISECONDS));
+    }
+}
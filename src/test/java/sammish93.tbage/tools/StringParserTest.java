@@ -1,14 +1,16 @@
 package sammish93.tbage.tools;
 
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import sammish93.tbage.GameEngine;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.models.NonCombatEncounter;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.Mockito.*;
 
 
@@ -17,33 +19,225 @@ class StringParserTest {
     GameEngine gameEngine = mock(GameEngine.class);
 
     @Test
-    void assertsValidCommandInput() {
+    void assertsValidCommandInput() throws InvalidValueException, InterruptedException {
         String input = "help";
+        StringParser stringParser = StringParser.create();
+        stringParser.addCommand(input);
 
-        try (MockedStatic<StringParser> stringParser = mockStatic(StringParser.class)) {
-            stringParser.when(() -> StringParser.read(gameEngine, input))
-                    .thenReturn(new TreeMap<String, String>() {{ put("command", input); }});
+        TreeMap<String, String> map = stringParser.read(gameEngine, input);
+        assertEquals(input, map.get("command"));
+    }
+
+    @Test
+    void assertsValidVerbNounInput() throws InvalidValueException, InterruptedException {
+        String input = "climb ladder";
+        StringParser stringParser = StringParser.create();
+        stringParser.addVerb("climb");
+        stringParser.addNoun("ladder");
+
+        TreeMap<String, String> map = stringParser.read(gameEngine, input);
+        assertEquals("climb", map.get("verb"));
+        assertEquals("ladder", map.get("noun"));
+    }
+
+    @Test
+    void assertsVocabularyIsNotSharedBetweenInstances() throws InvalidValueException, InterruptedException {
+        StringParser stringParser = StringParser.create();
+        StringParser anotherStringParser = StringParser.create();
+        stringParser.addCommand("dance");
+
+        assertEquals("dance", stringParser.read(gameEngine, "dance").get("command"));
+        assertTrue(anotherStringParser.read(gameEngine, "dance").isEmpty());
+    }
+
+    @Test
+    void assertsWordsAreRecognisedRegardlessOfCase() throws InvalidValueException, InterruptedException {
+        StringParser stringParser = StringParser.create();
+        stringParser.addVerb("go");
+        stringParser.addNoun("north");
+        stringParser.addNoun("North");
+
+        TreeMap<String, String> map = stringParser.read(gameEngine, "GO North");
+        assertEquals("go", map.get("verb"));
+        assertEquals("north", map.get("noun"));
+        assertEquals(1, stringParser.getNouns().size());
+        assertFalse(stringParser.isCommand("north"));
+
+        stringParser.removeNoun("NORTH");
+        assertFalse(stringParser.isNoun("north"));
+    }
 
-            TreeMap<String, String> map = StringParser.read(gameEngine, input);
-            assertEquals(input, map.get("command"));
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+    @Test
+    void assertsVocabularyGrowsWithDistinctWordsOnly() throws InvalidValueException {
+        StringParser stringParser = StringParser.create();
+        var encounters = new ArrayList<NonCombatEncounter>();
+        for (int i = 0; i < 1000; i++) {
+            NonCombatEncounter encounter = NonCombatEncounter.create("Room" + i);
+            encounter.addNavigationalVerb("go");
+            encounter.addNavigationalNoun("door");
+            encounters.add(encounter);
+            stringParser.addEncounterVocabulary(encounter);
+            stringParser.addEncounterVocabulary(encounter);
         }
+
+        // 'go', 'travel', 'move', and 'door'.
+        assertEquals(4, stringParser.getVocabulary().size());
+        assertEquals(3, encounters.get(0).getNavigationalVerbs().size());
+
+        stringParser.setCurrentEncounter(encounters.get(0));
+        assertEquals(3, stringParser.getVerbs().size());
+        assertEquals(1, stringParser.getNouns().size());
+        stringParser.setCurrentEncounter(null);
+
+        for (NonCombatEncounter encounter : encounters) {
+            stringParser.removeEncounterVocabulary(encounter);
+        }
+
+        assertEquals(0, stringParser.getVocabulary().size());
+        assertFalse(stringParser.isVerb("go"));
     }
 
     @Test
-    void assertsValidVerbNounInput() throws InterruptedException {
-        String input = "climb ladder";
-        String[] splitString = input.split("\\s");
+    void assertsRemovingEncounterKeepsSharedWords() throws InvalidValueException {
+        StringParser stringParser = StringParser.create();
+        stringParser.addVerb("go");
+        NonCombatEncounter cave = NonCombatEncounter.create("Cave");
+        cave.addNavigationalVerb("climb");
+        cave.addNavigationalNoun("ladder");
+        NonCombatEncounter tower = NonCombatEncounter.create("Tower");
+        tower.addNavigationalVerb("climb");
+        tower.addNavigationalNoun("stairs");
+        stringParser.addEncounterVocabulary(cave);
+        stringParser.setCurrentEncounter(tower);
+
+        stringParser.removeEncounterVocabulary(cave);
+
+        assertTrue(stringParser.isVerb("go"));
+        assertTrue(stringParser.isVerb("climb"));
+        assertTrue(stringParser.isNoun("stairs"));
+        assertFalse(stringParser.isNoun("ladder"));
+        assertEquals(-1, stringParser.getVocabulary().getId("ladder"));
+
+        stringParser.removeVerb("go");
+        stringParser.setCurrentEncounter(null);
+
+        assertEquals(0, stringParser.getVocabulary().size());
+    }
+
+    @Test
+    void assertsNavigationIsOnlyRecognisedInItsEncounter() throws InvalidValueException, InterruptedException {
+        StringParser stringParser = StringParser.create();
+        stringParser.addCommand("help");
+        NonCombatEncounter cave = NonCombatEncounter.create("Cave");
+        cave.addNavigationalVerb("climb");
+        cave.addNavigationalNoun("ladder");
+        NonCombatEncounter forest = NonCombatEncounter.create("Forest");
+        forest.addNavigationalNoun("north");
+
+        stringParser.setCurrentEncounter(cave);
+        assertEquals("ladder", stringParser.read(gameEngine, "climb ladder").get("noun"));
+        assertTrue(stringParser.read(gameEngine, "go north").isEmpty());
+
+        stringParser.setCurrentEncounter(forest);
+        assertEquals("north", stringParser.read(gameEngine, "go north").get("noun"));
+        assertTrue(stringParser.read(gameEngine, "climb ladder").isEmpty());
+        assertEquals("help", stringParser.read(gameEngine, "help").get("command"));
+        assertEquals(-1, stringParser.getVocabulary().getId("ladder"));
+    }
+
+    @Test
+    void assertsCommandIsReadWithoutTrimmingOrSplitting() throws InvalidValueException, InterruptedException {
+        StringParser stringParser = StringParser.create();
+        stringParser.addCommand("help");
+        stringParser.addVerb("climb");
+        stringParser.addNoun("ladder");
+
+        ParsedCommand parsedCommand = stringParser.readCommand(gameEngine, " \tHELP \n");
+        assertTrue(parsedCommand.isCommand());
+        assertEquals("help", parsedCommand.getCommand());
+        assertEquals(stringParser.getVocabulary().getId("help"), parsedCommand.getCommandId());
+
+        assertSame(parsedCommand, stringParser.readCommand(gameEngine, "climb   ladder"));
+        assertFalse(parsedCommand.isCommand());
+        assertEquals("climb", parsedCommand.getVerb());
+        assertEquals("ladder", parsedCommand.getNoun());
+
+        assertFalse(stringParser.readCommand(gameEngine, "climb ladder now").isValid());
+        assertFalse(stringParser.readCommand(gameEngine, "ladder climb").isValid());
+        assertFalse(stringParser.readCommand(gameEngine, "   ").isValid());
+        assertFalse(stringParser.readCommand(gameEngine, "").isValid());
+        assertNull(parsedCommand.getVerb());
+    }
+
+    @Test
+    void assertsReadCommandReusesTheSameResult() throws InvalidValueException, InterruptedException {
+        StringParser stringParser = StringParser.create();
+        stringParser.addCommand("inventory");
+        stringParser.addVerb("go");
+        stringParser.addNoun("north");
+        String[] inputs = {"inventory", "  go North ", "GO north", "go south"};
+
+        ParsedCommand parsedCommand = stringParser.readCommand(gameEngine, inputs[0]);
+        for (int i = 0; i < 100; i++) {
+            String input = inputs[i % inputs.length];
+            assertSame(parsedCommand, stringParser.readCommand(gameEngine, input));
+            assertEquals(!input.equals("go south"), parsedCommand.isValid());
+        }
+    }
+
+    @Test
+    void assertsReadCommandAllocatesNothingOnceWarm() throws InvalidValueException, InterruptedException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        int parseCount = 100000;
+        StringParser stringParser = StringParser.create();
+        stringParser.addCommand("inventory");
+        stringParser.addVerb("go");
+        stringParser.addNoun("north");
+        String[] inputs = {"inventory", "  go North ", "GO north"};
+        long threadId = Thread.currentThread().getId();
+
+        // Warms up the parser so that class loading and compilation are not counted.
+        int found = 0;
+        for (int i = 0; i < parseCount; i++) {
+            found += stringParser.readCommand(gameEngine, inputs[i % inputs.length]).isValid() ? 1 : 0;
+        }
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < parseCount; i++) {
+            found += stringParser.readCommand(gameEngine, inputs[i % inputs.length]).isValid() ? 1 : 0;
+        }
+        long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(parseCount * 2, found);
+        // Leaves room for the bookkeeping of the measurement itself, which is far less than a byte per parse.
+        assertTrue(allocatedBytes < parseCount / 10);
+    }
+
+    @Test
+    void assertsLookupCostStaysConstantAsVocabularyGrows() throws InvalidValueException {
+        StringParser stringParser = StringParser.create();
+        var words = new ArrayList<String>();
+
+        for (int wordCount : new int[] {100, 1000, 20000}) {
+            while (words.size() < wordCount) {
+                words.add("word" + words.size());
+            }
+            stringParser.setNouns(words);
+            Vocabulary vocabulary = stringParser.getVocabulary();
 
-        try (MockedStatic<StringParser> stringParser = mockStatic(StringParser.class)) {
-            stringParser.when(() -> StringParser.read(gameEngine, input))
-                    .thenReturn(new TreeMap<String, String>()
-                    {{ put("verb", splitString[0]); put("noun", splitString[1]); }});
+            long probeCount = 0;
+            for (String word : words) {
+                assertTrue(stringParser.isNoun(word.toUpperCase()));
+                probeCount += vocabulary.getProbeCount(word);
+            }
 
-            TreeMap<String, String> map = StringParser.read(gameEngine, input);
-            assertEquals("climb", map.get("verb"));
-            assertEquals("ladder", map.get("noun"));
+            // A list would be scanned half way on average, whereas each word is found within a few slots.
+            assertTrue((double) probeCount / wordCount < 2, "Average probes with " + wordCount + " words");
+            assertTrue(vocabulary.getProbeCount("missing") < 16);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package sammish93.tbage;
+
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.host.GameHost;
+import sammish93.tbage.interfaces.OutputSink;
+import sammish93.tbage.models.Encounter;
+import sammish93.tbage.models.FixedEncounters;
+import sammish93.tbage.models.NonCombatEncounter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Builds the one-encounter game shared by the tests, and plays games from a script of input.
+ */
+public final class TestGames {
+
+    private TestGames() {
+    }
+
+    /**
+     *
+     * @return Returns a new encounter named 'ENCOUNTER 1', which welcomes the player to the camp.
+     */
+    public static NonCombatEncounter createCamp() throws InvalidValueException {
+        var encounter = NonCombatEncounter.create("ENCOUNTER 1");
+        encounter.setIntroductoryMessage("Welcome to the camp.");
+
+        return encounter;
+    }
+
+    /**
+     *
+     * @param encounter The only encounter of the game.
+     * @return Returns a new game made up of the given encounter.
+     */
+    public static GameEngine createGame(Encounter encounter) throws InvalidValueException {
+        var encounters = FixedEncounters.create();
+        encounters.addEncounter(encounter);
+
+        return GameEngine.create(encounters);
+    }
+
+    /**
+     *
+     * @return Returns a new game made up of the encounter returned by createCamp().
+     */
+    public static GameEngine createGame() throws InvalidValueException {
+        return createGame(createCamp());
+    }
+
+    /**
+     *
+     * @return Returns a new GameHost of the game returned by createGame().
+     */
+    public static GameHost createHost() throws IOException, InvalidValueException {
+        return GameHost.create(createGame());
+    }
+
+    /**
+     * Sets the game to read its input from a script, and to exit once the script has run out.
+     * @param gameEngine The game to be played.
+     * @param script The lines of input, in order.
+     * @param outputSink Receives all text that the game prints.
+     */
+    public static void setScript(GameEngine gameEngine, List<String> script, OutputSink outputSink) {
+        Iterator<String> iterator = script.iterator();
+        gameEngine.setPlatformToHeadless(() -> iterator.hasNext() ? iterator.next() : null, outputSink);
+    }
+}
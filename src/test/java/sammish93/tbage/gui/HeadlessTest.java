@@ -0,0 +1,62 @@
+package sammish93.tbage.gui;
+
+import org.junit.jupiter.api.Test;
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.TestGames;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.models.Prop;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadlessTest {
+
+    private GameEngine createGame(List<String> script, StringBuilder transcript) throws InvalidValueException {
+        var encounter = TestGames.createCamp();
+        encounter.addPropToProps(Prop.create("Barrel"));
+
+        var gameEngine = TestGames.createGame(encounter);
+        TestGames.setScript(gameEngine, script, transcript::append);
+
+        return gameEngine;
+    }
+
+    @Test
+    void assertsScriptedInputIsPlayedWithoutConsole() throws InvalidValueException, InventoryFullException {
+        var transcript = new StringBuilder();
+        var gameEngine = createGame(List.of("help", "investigate", "1", "exit"), transcript);
+
+        assertTrue(gameEngine.run() instanceof Headless);
+        assertTrue(transcript.toString().contains("Type one of the following commands"));
+        assertTrue(transcript.toString().contains("Interacting with this object does nothing."));
+        assertTrue(transcript.toString().endsWith("Game is exiting...\n\n"));
+    }
+
+    @Test
+    void assertsGameExitsWhenScriptRunsOut() throws InvalidValueException, InventoryFullException {
+        var transcript = new StringBuilder();
+        var gameEngine = createGame(List.of("inventory"), transcript);
+
+        gameEngine.run();
+
+        assertTrue(transcript.toString().contains("You have 100 gold."));
+        assertTrue(transcript.toString().endsWith("Game is exiting...\n\n"));
+    }
+
+    @Test
+    void assertsGamesDoNotShareVocabulary() throws InvalidValueException, InventoryFullException {
+        var transcript = new StringBuilder();
+        var anotherTranscript = new StringBuilder();
+        var gameEngine = createGame(List.of("dance", "exit"), transcript);
+        var anotherGameEngine = createGame(List.of("dance", "exit"), anotherTranscript);
+        gameEngine.getContext().getStringParser().addCommand("dance");
+
+        gameEngine.run();
+        anotherGameEngine.run();
+
+        assertFalse(transcript.toString().contains("Sorry, I don't understand."));
+        assertTrue(anotherTranscript.toString().contains("Sorry, I don't understand."));
+    }
+}
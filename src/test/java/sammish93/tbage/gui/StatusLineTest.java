@@ -0,0 +1,50 @@
+package sammish93.tbage.gui;
+
+import org.junit.jupiter.api.Test;
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.models.CombatEncounter;
+import sammish93.tbage.models.Enemy;
+import sammish93.tbage.models.FixedEncounters;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusLineTest {
+
+    @Test
+    void assertsOnlyChangedCharactersAreRedrawn() throws Exception {
+        var encounter = CombatEncounter.create("Cave");
+        var enemy = Enemy.create("Orc");
+        encounter.addEnemyToEnemies(enemy);
+        var encounters = FixedEncounters.create();
+        encounters.addEncounter(encounter);
+        var gameEngine = GameEngine.create(encounters);
+        gameEngine.runStepped().start();
+
+        var transcript = new StringBuilder();
+        gameEngine.setOutputSink(transcript::append);
+        var statusLine = StatusLine.create(gameEngine, 40);
+
+        statusLine.open();
+        assertTrue(transcript.toString().contains("\u001b[4;r"));
+        assertTrue(transcript.toString().contains("HP 10/10 | Gold 100 | Cave"));
+        assertTrue(transcript.toString().contains("Enemies: Orc (Full Health)"));
+
+        transcript.setLength(0);
+        statusLine.redraw();
+        assertEquals("", transcript.toString());
+
+        gameEngine.getPlayer().setCurrencyAmount(150);
+        statusLine.redraw();
+        assertEquals("\u001b7\u001b[1;18H5\u001b8", transcript.toString());
+
+        transcript.setLength(0);
+        enemy.setCurrentHealth(0);
+        statusLine.redraw();
+        assertTrue(transcript.toString().startsWith("\u001b7\u001b[2;1H" + " ".repeat(26)));
+        assertFalse(transcript.toString().contains("Orc"));
+
+        transcript.setLength(0);
+        statusLine.close();
+        assertEquals("\u001b7\u001b[r\u001b8", transcript.toString());
+    }
+}
@@ -0,0 +1,156 @@
+package sammish93.tbage.gui;
+
+import org.junit.jupiter.api.Test;
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.enums.InputKind;
+import sammish93.tbage.events.CurrencyReceived;
+import sammish93.tbage.events.DamageDealt;
+import sammish93.tbage.events.PromptChoices;
+import sammish93.tbage.exceptions.InvalidValueException;
+import sammish93.tbage.exceptions.InventoryFullException;
+import sammish93.tbage.models.CombatEncounter;
+import sammish93.tbage.models.Enemy;
+import sammish93.tbage.models.FixedEncounters;
+import sammish93.tbage.models.NonCombatEncounter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StepperTest {
+
+    private GameEngine createGame() throws InvalidValueException {
+        var combatEncounter = CombatEncounter.create("ARENA");
+        combatEncounter.addEnemyToEnemies(Enemy.create("Rat", 1, 1, 1, 10,
+                null, null, null, true, 1.0));
+        var nonCombatEncounter = NonCombatEncounter.create("CAMP");
+
+        var encounters = FixedEncounters.create();
+        encounters.addEncounter(combatEncounter);
+        encounters.addEncounter(combatEncounter, nonCombatEncounter);
+
+        return GameEngine.create(encounters);
+    }
+
+    @Test
+    void assertsGameIsAdvancedOneInputAtATime()
+            throws InvalidValueException, InventoryFullException, InterruptedException {
+        var stepper = createGame().runStepped();
+
+        var result = stepper.start();
+        assertTrue(result.getOutput().contains("You face an enemy!"));
+        assertEquals(InputKind.COMMAND, result.getExpectedInputKind());
+
+        result = stepper.step("attack");
+        assertTrue(result.getOutput().contains("Choose a target to attack:"));
+        assertEquals(InputKind.CHOICE, result.getExpectedInputKind());
+
+        result = stepper.step("7");
+        assertTrue(result.getOutput().contains("'7' is not a valid choice."));
+        assertEquals(InputKind.CHOICE, result.getExpectedInputKind());
+
+        result = stepper.step("1");
+        assertTrue(result.getOutput().contains("Rat has died!"));
+        assertTrue(result.getOutput().contains("Would you like to use an item?"));
+        assertEquals(InputKind.CONFIRMATION, result.getExpectedInputKind());
+
+        result = stepper.step("n");
+        assertTrue(result.getOutput().contains("You received 10 gold."));
+        assertTrue(result.getOutput().contains("Would you like to progress to the next encounter?"));
+        assertEquals(InputKind.CONFIRMATION, result.getExpectedInputKind());
+
+        result = stepper.step("y");
+        assertEquals(InputKind.COMMAND, result.getExpectedInputKind());
+
+        result = stepper.step("exit");
+        assertTrue(result.getOutput().endsWith("Game is exiting...\n\n"));
+        assertTrue(result.isFinished());
+    }
+
+    @Test
+    void assertsGameWaitingOnPromptIsSerialisable()
+            throws InvalidValueException, InventoryFullException, InterruptedException, IOException {
+        var gameEngine = createGame();
+        var stepper = gameEngine.runStepped();
+        stepper.start();
+        stepper.step("attack");
+
+        var objectOutputStream = new ObjectOutputStream(new ByteArrayOutputStream());
+        assertDoesNotThrow(() -> objectOutputStream.writeObject(gameEngine));
+        objectOutputStream.close();
+    }
+
+    @Test
+    void assertsResumedGameContinuesFromPrompt() throws Exception {
+        var gameEngine = createGame();
+        var stepper = gameEngine.runStepped();
+        stepper.start();
+        stepper.step("attack");
+
+        var byteArrayOutputStream = new ByteArrayOutputStream();
+        try (var objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            objectOutputStream.writeObject(gameEngine);
+        }
+        GameEngine restoredGameEngine;
+        try (var objectInputStream = new ObjectInputStream(
+                new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))) {
+            restoredGameEngine = (GameEngine) objectInputStream.readObject();
+        }
+
+        var resumedStepper = restoredGameEngine.resumeStepped();
+        assertEquals(InputKind.CHOICE, resumedStepper.getExpectedInputKind());
+
+        var result = resumedStepper.step("1");
+        assertTrue(result.getOutput().contains("Rat has died!"));
+        assertFalse(result.getOutput().contains("You face an enemy!"));
+        assertThrows(IllegalStateException.class, () -> createGame().resumeStepped());
+    }
+
+    @Test
+    void assertsEventsAreEmittedWithoutText() throws Exception {
+        var gameEngine = createGame();
+        gameEngine.setTextRendered(false);
+        var stepper = gameEngine.runStepped();
+        stepper.start();
+
+        var result = stepper.step("attack");
+        assertEquals("", result.getOutput());
+        var promptChoices = (PromptChoices) result.getEvents().get(1);
+        assertEquals("Choose a target to attack:", promptChoices.getQuestion());
+        assertEquals("Rat", promptChoices.getChoices().get(1));
+
+        result = stepper.step("1");
+        var damageDealt = (DamageDealt) result.getEvents().get(0);
+        assertTrue(damageDealt.isDealtByPlayer());
+        assertEquals("Rat", damageDealt.getTargetName());
+        assertEquals("EnemyDied", result.getEvents().get(1).getType());
+
+        result = stepper.step("n");
+        assertTrue(result.getEvents().stream().anyMatch(event -> event instanceof CurrencyReceived currencyReceived
+                && currencyReceived.getAmount() == 10));
+        assertEquals("", result.getOutput());
+    }
+
+    @Test
+    void assertsInputIsRejectedBeforeStart() throws InvalidValueException {
+        var stepper = createGame().runStepped();
+
+        assertThrows(IllegalStateException.class, () -> stepper.step("help"));
+    }
+
+    @Test
+    void assertsOnlyLatestStepperCollectsEvents()
+            throws InvalidValueException, InventoryFullException, InterruptedException {
+        var gameEngine = createGame();
+        var stepper = gameEngine.runStepped();
+        stepper.start();
+        var anotherStepper = gameEngine.resumeStepped();
+
+        assertFalse(anotherStepper.step("help").getEvents().isEmpty());
+        assertTrue(stepper.step("help").getEvents().isEmpty());
+    }
+}
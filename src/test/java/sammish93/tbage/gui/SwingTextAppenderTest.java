@@ -0,0 +1,89 @@
+package sammish93.tbage.gui;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwingTextAppenderTest {
+
+    private String awaitText(JTextArea textArea, String expectedText) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String[] text = new String[1];
+
+        do {
+            Thread.sleep(10);
+            SwingUtilities.invokeAndWait(() -> text[0] = textArea.getText());
+        } while (!text[0].equals(expectedText) && System.nanoTime() < deadline);
+
+        return text[0];
+    }
+
+    @Test
+    void assertsManyWritesAreAppendedInFewUpdates() throws Exception {
+        var textArea = new JTextArea();
+        var updateCount = new AtomicInteger();
+        textArea.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                assertTrue(SwingUtilities.isEventDispatchThread());
+                updateCount.incrementAndGet();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        var textAppender = new SwingTextAppender(textArea);
+        var expectedText = new StringBuilder();
+
+        for (int i = 0; i < 5000; i++) {
+            textAppender.write("Line " + i + "\n");
+            expectedText.append("Line ").append(i).append("\n");
+        }
+
+        assertEquals(expectedText.toString(), awaitText(textArea, expectedText.toString()));
+        assertTrue(updateCount.get() < 10);
+    }
+
+    @Test
+    void assertsOldestLinesAreTrimmedToTranscript() throws Exception {
+        var textArea = new JTextArea();
+        var transcript = new StringWriter();
+        var textAppender = new SwingTextAppender(textArea, 3, transcript);
+
+        textAppender.write("Line 1\nLine 2\n");
+        awaitText(textArea, "Line 1\nLine 2\n");
+        textAppender.write("Line 3\nLine 4\nLine 5\nLine ");
+
+        assertEquals("Line 3\nLine 4\nLine 5\nLine ", awaitText(textArea, "Line 3\nLine 4\nLine 5\nLine "));
+        assertEquals("Line 1\nLine 2\n", transcript.toString());
+
+        textAppender.write("6\n");
+        assertEquals("Line 4\nLine 5\nLine 6\n", awaitText(textArea, "Line 4\nLine 5\nLine 6\n"));
+        assertEquals("Line 1\nLine 2\nLine 3\n", transcript.toString());
+    }
+
+    @Test
+    void assertsSystemOutIsRedirectedAsText() throws Exception {
+        var textArea = new JTextArea();
+        var printStream = new PrintStream(new SwingOutputStream(new SwingTextAppender(textArea)), true,
+                StandardCharsets.UTF_8);
+
+        printStream.println("Sverd – 5 gull");
+
+        String expectedText = "Sverd – 5 gull" + System.lineSeparator();
+        assertEquals(expectedText, awaitText(textArea, expectedText));
+    }
+}
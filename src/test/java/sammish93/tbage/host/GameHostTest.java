@@ -0,0 +1,311 @@
+package sammish93.tbage.host;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sammish93.tbage.TestGames;
+import sammish93.tbage.enums.OverflowPolicy;
+import sammish93.tbage.enums.SessionStatus;
+import sammish93.tbage.models.NonCombatEncounter;
+import sammish93.tbage.tools.SpectatorFeed;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameHostTest {
+
+    // Read by a command handler, which has to be serialisable along with the game, so it cannot capture the latch.
+    private static CountDownLatch busyLatch;
+
+    @Test
+    void assertsManySessionsRunIndependently() throws Exception {
+        var host = TestGames.createHost();
+        int sessionCount = 200;
+        var finished = new CountDownLatch(sessionCount);
+        Map<String, StringBuffer> transcripts = new ConcurrentHashMap<>();
+        var sessions = new ArrayList<GameSession>();
+
+        for (int i = 0; i < sessionCount; i++) {
+            var session = host.createSession();
+            transcripts.put(session.getId(), new StringBuffer());
+            host.attach(session.getId(), (sessionId, result) -> {
+                transcripts.get(sessionId).append(result.getOutput());
+                if (result.isFinished()) {
+                    finished.countDown();
+                }
+            });
+            sessions.add(session);
+        }
+
+        sessions.get(0).getGameEngine().getPlayer().setCurrencyAmount(5);
+        for (GameSession session : sessions) {
+            session.submit("inventory");
+            session.submit("exit");
+        }
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertTrue(transcripts.get(sessions.get(0).getId()).toString().contains("You have 5 gold."));
+        for (GameSession session : sessions.subList(1, sessionCount)) {
+            String transcript = transcripts.get(session.getId()).toString();
+            assertTrue(transcript.startsWith("Welcome to the camp."));
+            assertTrue(transcript.contains("You have 100 gold."));
+            assertEquals(SessionStatus.FINISHED, session.getStatus());
+        }
+
+        assertEquals(sessionCount, host.removeFinishedSessions());
+        host.shutdown();
+    }
+
+    @Test
+    void assertsHibernatedGameIsKeptWhenItCannotBeRead(@TempDir Path directory) throws Exception {
+        var host = TestGames.createHost();
+        var session = host.createSession();
+        session.getGameEngine().getPlayer().setCurrencyAmount(5);
+        host.enableHibernation(directory, Duration.ofMillis(50));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!session.isHibernated() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(session.isHibernated());
+
+        Path file = directory.resolve(session.getId() + ".ser");
+        byte[] game = Files.readAllBytes(file);
+        Files.write(file, new byte[] {1, 2, 3});
+
+        var future = session.submit("inventory", (gameEngine, result) -> result.getOutput());
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(SessionStatus.ACTIVE, session.getStatus());
+        assertTrue(session.isHibernated());
+        assertTrue(Files.exists(file));
+        assertEquals(1, host.getHibernationMetrics().getFailureCount());
+
+        Files.write(file, game);
+        String output = session.submit("inventory", (gameEngine, result) -> result.getOutput())
+                .get(5, TimeUnit.SECONDS);
+        assertTrue(output.contains("You have 5 gold."));
+        host.shutdown();
+    }
+
+    @Test
+    void assertsSessionThatThrowsIsRemoved() throws Exception {
+        var gameEngine = TestGames.createGame();
+        gameEngine.addCommand(NonCombatEncounter.class, "explode", (engine, encounter) -> {
+            throw new IllegalStateException("The game has crashed.");
+        });
+        var host = GameHost.create(gameEngine);
+        var session = host.createSession();
+
+        var future = session.submit("explode", (engine, result) -> result);
+
+        assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertEquals(SessionStatus.TERMINATED, session.getStatus());
+        assertNull(host.getSession(session.getId()));
+        host.shutdown();
+    }
+
+    @Test
+    void assertsIdleSessionsAreHibernatedAndRestored(@TempDir Path directory) throws Exception {
+        var host = TestGames.createHost();
+        var session = host.createSession();
+        session.getGameEngine().getPlayer().setCurrencyAmount(5);
+        host.enableHibernation(directory, Duration.ofMillis(50));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!session.isHibernated() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(session.isHibernated());
+        assertNull(session.getGameEngine());
+        assertTrue(Files.exists(directory.resolve(session.getId() + ".ser")));
+
+        int gold = session.read(gameEngine -> (int) gameEngine.getPlayer().getCurrencyAmount())
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(5, gold);
+        String output = session.submit("inventory", (gameEngine, result) -> result.getOutput())
+                .get(5, TimeUnit.SECONDS);
+        assertTrue(output.contains("You have 5 gold."));
+        assertFalse(output.contains("Welcome to the camp."));
+
+        var metrics = host.getHibernationMetrics();
+        assertTrue(metrics.getHibernationCount() >= 1);
+        assertEquals(1, metrics.getRestoreCount());
+        assertEquals(0, metrics.getFailureCount());
+
+        host.shutdown();
+        assertEquals(0, metrics.getHibernatedSessionCount());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void assertsFullInputQueueIsHandledByPolicy() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+        var host = GameHost.create(TestGames.createGame(), executor);
+        var limits = SessionLimits.create();
+        limits.setQueueCapacity(2);
+        host.setSessionLimits(limits);
+        var rejectingSession = host.createSession();
+        limits.setOverflowPolicy(OverflowPolicy.DROP);
+        host.setSessionLimits(limits);
+        var droppingSession = host.createSession();
+
+        // Keeps the executor busy, so that submitted input stays queued.
+        var isBusy = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                isBusy.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(rejectingSession.submit("status"));
+        assertTrue(rejectingSession.submit("status"));
+        assertFalse(rejectingSession.submit("status"));
+        assertEquals(2, rejectingSession.getInputMetrics().getQueuedCount());
+        assertEquals(1, rejectingSession.getInputMetrics().getRejectedCount());
+
+        var dropped = droppingSession.submit("status", (gameEngine, result) -> result.getOutput());
+        droppingSession.submit("status");
+        var kept = droppingSession.submit("inventory", (gameEngine, result) -> result.getOutput());
+        var ex = assertThrows(ExecutionException.class, () -> dropped.get(5, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        assertEquals(1, droppingSession.getInputMetrics().getDroppedCount());
+
+        isBusy.countDown();
+        assertTrue(kept.get(5, TimeUnit.SECONDS).contains("You have 100 gold."));
+        assertEquals(1, host.getInputMetrics().getRejectedCount());
+        assertEquals(1, host.getInputMetrics().getDroppedCount());
+        host.shutdown();
+    }
+
+    @Test
+    void assertsCommandsAreRateLimited() throws Exception {
+        var host = TestGames.createHost();
+        var limits = SessionLimits.create();
+        limits.setCommandRate(0.01, 2);
+        host.setSessionLimits(limits);
+        var session = host.createSession();
+
+        assertTrue(session.submit("status"));
+        assertTrue(session.submit("status"));
+        assertFalse(session.submit("status"));
+        assertEquals(2, session.getInputMetrics().getAcceptedCount());
+        assertEquals(1, session.getInputMetrics().getRateLimitedCount());
+        host.shutdown();
+    }
+
+    @Test
+    void assertsSessionsAreSavedOnShutdownAndRestored(@TempDir Path directory) throws Exception {
+        var host = TestGames.createHost();
+        var session = host.createSession();
+        var anotherSession = host.createSession();
+        var finishedSession = host.createSession();
+        session.getGameEngine().getPlayer().setCurrencyAmount(5);
+        finishedSession.submit("exit", (gameEngine, result) -> result).get(5, TimeUnit.SECONDS);
+        assertTrue(session.submit("status"));
+
+        var report = host.shutdown(directory, Duration.ofSeconds(10));
+
+        assertTrue(report.isComplete());
+        assertEquals(2, report.getSavedSessionIds().size());
+        assertTrue(report.getSavedSessionIds().contains(session.getId()));
+        assertFalse(report.getSavedSessionIds().contains(finishedSession.getId()));
+        assertFalse(session.submit("help"));
+        assertThrows(IllegalStateException.class, host::createSession);
+
+        var restartedHost = TestGames.createHost();
+        assertEquals(2, restartedHost.restoreSessions(directory).size());
+        var restoredSession = restartedHost.getSession(session.getId());
+        String output = restoredSession.submit("inventory", (gameEngine, result) -> result.getOutput())
+                .get(5, TimeUnit.SECONDS);
+        assertTrue(output.contains("You have 5 gold."));
+        assertNotNull(restartedHost.getSession(anotherSession.getId()));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        restartedHost.shutdown();
+    }
+
+    @Test
+    void assertsSessionBusyAtDeadlineIsTimedOut(@TempDir Path directory) throws Exception {
+        busyLatch = new CountDownLatch(1);
+        var gameEngine = TestGames.createGame();
+        gameEngine.addCommand(NonCombatEncounter.class, "wait", (engine, encounter) -> busyLatch.await());
+        var host = GameHost.create(gameEngine);
+        var session = host.createSession();
+        assertTrue(session.submit("wait"));
+
+        var report = host.shutdown(directory, Duration.ofMillis(200));
+        busyLatch.countDown();
+
+        assertEquals(List.of(session.getId()), report.getTimedOutSessionIds());
+        assertTrue(report.getFailedSessionIds().isEmpty());
+    }
+
+    @Test
+    void assertsSpectatorsDoNotHoldUpSession() throws Exception {
+        var host = TestGames.createHost();
+        var session = host.createSession();
+        var finished = new CountDownLatch(1);
+        host.attach(session.getId(), (sessionId, result) -> {
+            if (result.isFinished()) {
+                finished.countDown();
+            }
+        });
+
+        var spectator = host.spectate(session.getId());
+        var slowSpectator = SpectatorFeed.create(16);
+        session.spectate(slowSpectator);
+        assertNull(host.spectate("missing"));
+
+        for (int i = 0; i < 50; i++) {
+            session.submit("inventory");
+        }
+        session.submit("exit");
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+        var transcript = new StringBuilder();
+        String text;
+        while ((text = spectator.poll(5, TimeUnit.SECONDS)) != null) {
+            transcript.append(text);
+        }
+
+        assertTrue(transcript.toString().contains("You have 100 gold."));
+        assertTrue(transcript.toString().strip().endsWith("Game is exiting..."));
+        assertEquals(0, spectator.getDroppedCharacterCount());
+        assertTrue(slowSpectator.isClosed());
+        assertTrue(slowSpectator.getDroppedCharacterCount() > 0);
+        assertTrue(slowSpectator.poll().length() <= 16);
+        host.shutdown();
+    }
+
+    @Test
+    void assertsOutputIsKeptUntilAttached() throws Exception {
+        var host = TestGames.createHost();
+        var session = host.createSession();
+        var transcript = new StringBuffer();
+
+        assertTrue(host.attach(session.getId(), (sessionId, result) -> transcript.append(result.getOutput())));
+        assertTrue(transcript.toString().contains("Welcome to the camp."));
+
+        assertTrue(host.terminate(session.getId()));
+        assertFalse(host.submit(session.getId(), "help"));
+        assertEquals(SessionStatus.TERMINATED, session.getStatus());
+        host.shutdown();
+    }
+}
@@ -0,0 +1,79 @@
+package sammish93.tbage.host;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sammish93.tbage.TestGames;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranscriptRecorderTest {
+
+    @Test
+    void assertsSingleTurnIsReadFromIndexedBlocks(@TempDir Path directory) throws Exception {
+        var recorder = TranscriptRecorder.create(directory, 256);
+        recorder.record("session", null, "Welcome to the camp.\n");
+        for (int i = 1; i <= 1000; i++) {
+            recorder.record("session", "status " + i, "You have " + i + " gold.\n");
+        }
+        recorder.close();
+        assertFalse(recorder.record("session", "help", "Help\n"));
+
+        var reader = TranscriptReader.open(directory, "session");
+        assertTrue(reader.getBlockCount() > 10);
+        assertEquals(0, reader.getFirstTurn());
+        assertEquals(1000, reader.getLastTurn());
+        assertNull(reader.readTurn(0).getInput());
+        assertEquals("status 537", reader.readTurn(537).getInput());
+        assertEquals("You have 537 gold.\n", reader.readTurn(537).getOutput());
+        assertNull(reader.readTurn(1001));
+        assertEquals(1001, reader.readAll().size());
+        assertTrue(Files.size(directory.resolve("session.transcript")) < 20_000);
+
+        // Turns recorded by a new recorder carry on from the turns already written.
+        recorder = TranscriptRecorder.create(directory, 256);
+        recorder.record("session", "exit", "Game is exiting...\n");
+        recorder.close();
+        assertEquals("exit", TranscriptReader.open(directory, "session").readTurn(1001).getInput());
+    }
+
+    @Test
+    void assertsBlockThatCannotBeWrittenIsKept(@TempDir Path directory) throws Exception {
+        // A directory in place of the transcript file makes every write fail until it is removed.
+        Files.createDirectory(directory.resolve("session.transcript"));
+        var recorder = TranscriptRecorder.create(directory, 256);
+        recorder.record("session", "inventory", "You have 100 gold.\n");
+        recorder.endSession("session");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (recorder.getFailedWriteCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(recorder.getFailedWriteCount() > 0);
+
+        Files.delete(directory.resolve("session.transcript"));
+        recorder.close();
+        assertEquals("inventory", TranscriptReader.open(directory, "session").readTurn(0).getInput());
+    }
+
+    @Test
+    void assertsHostedSessionsAreRecorded(@TempDir Path directory) throws Exception {
+        var host = TestGames.createHost();
+        host.enableTranscripts(directory);
+        assertThrows(IllegalStateException.class, () -> host.enableTranscripts(directory));
+        var session = host.createSession();
+        session.submit("inventory", (gameEngine, result) -> result).get(5, TimeUnit.SECONDS);
+        session.submit("exit", (gameEngine, result) -> result).get(5, TimeUnit.SECONDS);
+        host.shutdown();
+
+        var reader = TranscriptReader.open(directory, session.getId());
+        assertEquals(2, reader.getLastTurn());
+        assertTrue(reader.readTurn(0).getOutput().startsWith("Welcome to the camp."));
+        assertEquals("inventory", reader.readTurn(1).getInput());
+        assertTrue(reader.readTurn(1).getOutput().contains("You have 100 gold."));
+        assertTrue(reader.readTurn(2).getOutput().contains("Game is exiting..."));
+    }
+}
@@ -58,4 +58,32 @@ class EncounterTest {
         assertNotNull(encounter.getEnemyFromEnemies(enemyName + " 2"));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void assertsCachedListingsFollowChangesInState() throws Exception {
+        var encounter = CombatEncounter.create("ARENA");
+        encounter.addEnemyToEnemies(Enemy.create("Rat", 10, 1, 1, 10, null, null, null, true, 1.0));
+        var encounters = FixedEncounters.create();
+        encounters.addEncounter(encounter);
+        var gameEngine = GameEngine.create(encounters);
+        var stepper = gameEngine.runStepped();
+        stepper.start();
+
+        String help = stepper.step("help").getOutput();
+        assertTrue(help.contains("Attack"));
+        assertEquals(help, stepper.step("help").getOutput());
+
+        assertTrue(stepper.step("inventory").getOutput().contains("You have 100 gold."));
+        gameEngine.getPlayer().addItemToInventory(Item.create("Sword"));
+        String inventory = stepper.step("inventory").getOutput();
+        assertTrue(inventory.contains("Your inventory (100 gold): \n\n1: Sword\n\n"));
+        gameEngine.getPlayer().getInventory().put("Sword", Item.create("Axe"));
+        assertTrue(stepper.step("inventory").getOutput().contains("1: Axe"));
+
+        assertTrue(stepper.step("status").getOutput().contains("Rat, Status: Full Health"));
+        encounter.getEnemyFromEnemies("Rat").subtractFromCurrentHealth(10);
+        assertTrue(stepper.step("status").getOutput().contains("Rat, Status: Dead"));
+        encounter.getEnemies().put("Rat", Enemy.create("Rat", 10, 1, 1, 10, null, null, null, true, 1.0));
+        assertTrue(stepper.step("status").getOutput().contains("Rat, Status: Full Health"));
+    }
+}
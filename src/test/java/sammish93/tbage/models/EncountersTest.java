@@ -0,0 +1,103 @@
+package sammish93.tbage.models;
+
+import org.junit.jupiter.api.Test;
+import sammish93.tbage.exceptions.InvalidValueException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncountersTest {
+
+    @Test
+    void assertsDescriptionWrittenToWriterMatchesToString() throws InvalidValueException, IOException {
+        var fixedEncounters = createWorld();
+        var writer = new StringWriter();
+
+        fixedEncounters.describeTo(writer);
+
+        assertEquals(fixedEncounters.toString(), writer.toString());
+        assertTrue(writer.toString().startsWith("Fixed Encounters:\nEncounter Type: Combat, Encounter Name: Cave"));
+        assertTrue(writer.toString().contains("\n\tEnemy Name: 'Orc', "));
+        assertTrue(writer.toString().contains("\n\t\tItem Name: 'Sword', Value: 5, Drop Chance: 25%, Is Useable: false"));
+    }
+
+    @Test
+    void assertsJsonLinesHoldOneEncounterPerLine() throws InvalidValueException, IOException {
+        var writer = new StringWriter();
+
+        createWorld().writeJsonLines(writer);
+        String[] lines = writer.toString().split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"type\":\"CombatEncounter\",\"name\":\"Cave\",\"isDefeated\":false,"));
+        assertTrue(lines[0].contains("\"introductoryMessage\":\"You enter \\\"the\\\" cave.\\nIt is dark.\""));
+        assertTrue(lines[0].contains("\"navigationOptions\":{\"north\":\"Village\"}"));
+        assertTrue(lines[0].contains("\"featChecks\":[{\"name\":\"Brave\",\"isSecret\":false}]"));
+        assertTrue(lines[0].endsWith("\"enemies\":[{\"name\":\"Orc\",\"enemyType\":null,\"isMelee\":true," +
+                "\"meleeChancePerTurn\":1,\"currencyDroppedOnDeath\":0,\"currentHealth\":10,\"maxHealth\":10," +
+                "\"minDamage\":1,\"maxDamage\":3,\"items\":[{\"name\":\"Sword\",\"value\":5,\"dropChance\":0.25," +
+                "\"isUseable\":false}],\"abilities\":[]}]}"));
+        assertTrue(lines[1].startsWith("{\"type\":\"NonCombatEncounter\",\"name\":\"Village\","));
+        assertTrue(lines[1].endsWith("\"allies\":[{\"name\":\"Bob\",\"hasCustomInteraction\":false," +
+                "\"isInteracted\":false,\"items\":[],\"abilities\":[]}]}"));
+    }
+
+    @Test
+    void assertsLargeWorldIsWrittenOneEncounterAtATime() throws InvalidValueException, IOException {
+        var fixedEncounters = FixedEncounters.create();
+        int encounterCount = 10000;
+        for (int i = 0; i < encounterCount; i++) {
+            var encounter = CombatEncounter.create("Encounter " + i);
+            encounter.addEnemyToEnemies(Enemy.create("Enemy " + i));
+            fixedEncounters.addEncounter(encounter);
+        }
+
+        var writer = new LineCountingWriter();
+        fixedEncounters.writeJsonLines(writer);
+
+        assertEquals(encounterCount, writer.lineCount);
+    }
+
+    private static FixedEncounters createWorld() throws InvalidValueException {
+        var cave = CombatEncounter.create("Cave");
+        cave.setIntroductoryMessage("You enter \"the\" cave.\nIt is dark.");
+        cave.addFeatToFeatChecks(Feat.create("Brave"));
+        var orc = Enemy.create("Orc");
+        orc.addItemToItemTable(Item.create("Sword", 5, 0.25));
+        cave.addEnemyToEnemies(orc);
+
+        var village = NonCombatEncounter.create("Village");
+        village.addAllyToAllies(Ally.create("Bob"));
+
+        var fixedEncounters = FixedEncounters.create();
+        fixedEncounters.addEncounter(cave);
+        fixedEncounters.addEncounter(cave, village, "north");
+        return fixedEncounters;
+    }
+
+    private static class LineCountingWriter extends Writer {
+
+        private int lineCount;
+
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lineCount++;
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
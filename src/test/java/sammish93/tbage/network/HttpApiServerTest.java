@@ -0,0 +1,144 @@
+package sammish93.tbage.network;
+
+import org.junit.jupiter.api.Test;
+import sammish93.tbage.GameEngine;
+import sammish93.tbage.TestGames;
+import sammish93.tbage.host.GameHost;
+import sammish93.tbage.models.FixedEncounters;
+import sammish93.tbage.models.NonCombatEncounter;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpApiServerTest {
+
+    private static final Pattern SESSION_ID = Pattern.compile("\"sessionId\":\"([^\"]+)\"");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpApiServer createServer() throws Exception {
+        var camp = NonCombatEncounter.create("CAMP");
+        camp.setIntroductoryMessage("Welcome to the \"camp\".");
+        var forest = NonCombatEncounter.create("FOREST");
+
+        var encounters = FixedEncounters.create();
+        encounters.addEncounter(camp);
+        encounters.addEncounter(camp, forest, "north");
+
+        var server = HttpApiServer.create(GameHost.create(GameEngine.create(encounters)),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+
+        return server;
+    }
+
+    private HttpResponse<String> post(HttpApiServer server, String path, String body) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String getSessionId(HttpResponse<String> response) {
+        Matcher matcher = SESSION_ID.matcher(response.body());
+        assertTrue(matcher.find());
+
+        return matcher.group(1);
+    }
+
+    @Test
+    void assertsTurnsAreAnsweredWithOutputAndStatus() throws Exception {
+        var server = createServer();
+
+        var created = post(server, "/sessions", "");
+        assertEquals(201, created.statusCode());
+        assertTrue(created.body().contains("\"output\":[\"Welcome to the \\\"camp\\\".\"]"));
+        assertTrue(created.body().contains("\"encounter\":{\"name\":\"CAMP\",\"navigationOptions\":[\"north\"]}"));
+        String sessionId = getSessionId(created);
+
+        var inventory = post(server, "/sessions/" + sessionId + "/input", "inventory");
+        assertEquals(200, inventory.statusCode());
+        assertTrue(inventory.body().contains("\"You have 100 gold.\""));
+        assertTrue(inventory.body().contains("\"expectedInputKind\":\"COMMAND\""));
+        assertTrue(inventory.body().contains("\"player\":{\"health\":10,\"maxHealth\":10}"));
+
+        var exit = post(server, "/sessions/" + sessionId + "/input", "exit");
+        assertTrue(exit.body().contains("\"finished\":true"));
+        assertEquals(404, post(server, "/sessions/" + sessionId + "/input", "help").statusCode());
+        assertEquals(404, post(server, "/sessions/unknown/input", "help").statusCode());
+
+        server.close(0);
+    }
+
+    @Test
+    void assertsManyRequestsAreServedConcurrently() throws Exception {
+        var server = createServer();
+        var sessionIds = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            sessionIds.add(getSessionId(post(server, "/sessions", "")));
+        }
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String sessionId = sessionIds.get(i % sessionIds.size());
+            var request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + server.getPort() + "/sessions/" + sessionId + "/input"))
+                    .POST(HttpRequest.BodyPublishers.ofString("status"))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode());
+            assertTrue(response.get().body().contains("Your current health is 10/10"));
+            assertTrue(response.get().body().contains(
+                    "\"events\":[{\"type\":\"PlayerHealth\",\"health\":10,\"maxHealth\":10}]"));
+        }
+
+        server.close(0);
+    }
+
+    @Test
+    void assertsFailedRequestIsAnsweredWithError() throws Exception {
+        var host = TestGames.createHost();
+        var server = HttpApiServer.create(host, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        host.shutdown();
+
+        var created = post(server, "/sessions", "");
+
+        assertEquals(500, created.statusCode());
+        assertEquals("{\"error\":\"The request could not be handled.\"}", created.body());
+        server.close(0);
+    }
+
+    @Test
+    void assertsDefaultTraversalIsNotListedAsDirection() throws Exception {
+        var camp = TestGames.createCamp();
+        var encounters = FixedEncounters.create();
+        encounters.addEncounter(camp);
+        encounters.addEncounter(camp, NonCombatEncounter.create("FOREST"));
+        var server = HttpApiServer.create(GameHost.create(GameEngine.create(encounters)),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+
+        var created = post(server, "/sessions", "");
+
+        assertEquals(201, created.statusCode());
+        assertTrue(created.body().contains(
+                "\"encounter\":{\"name\":\"ENCOUNTER 1\",\"navigationOptions\":[]}"));
+        server.close(0);
+    }
+}
@@ -0,0 +1,127 @@
+package sammish93.tbage.network;
+
+import org.junit.jupiter.api.Test;
+import sammish93.tbage.TestGames;
+import sammish93.tbage.host.GameHost;
+import sammish93.tbage.models.NonCombatEncounter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineServerTest {
+
+    private LineServer createServer(GameHost host) throws Exception {
+        var server = LineServer.create(host, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+
+        return server;
+    }
+
+    private String play(int port, byte[] script) throws Exception {
+        try (var socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setSoTimeout(10000);
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(script);
+            outputStream.flush();
+
+            InputStream inputStream = socket.getInputStream();
+            var transcript = new ByteArrayOutputStream();
+            inputStream.transferTo(transcript);
+
+            return transcript.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void assertsManyClientsArePlayedConcurrently() throws Exception {
+        var host = TestGames.createHost();
+        var server = createServer(host);
+        int clientCount = 100;
+        ExecutorService loadGenerator = Executors.newFixedThreadPool(20);
+        List<Future<String>> transcripts = new ArrayList<>();
+        byte[] script = "inventory\r\nexit\r\n".getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < clientCount; i++) {
+            Callable<String> client = () -> play(server.getPort(), script);
+            transcripts.add(loadGenerator.submit(client));
+        }
+
+        for (Future<String> transcript : transcripts) {
+            String output = transcript.get(20, TimeUnit.SECONDS);
+            assertTrue(output.startsWith("Welcome to the camp."));
+            assertTrue(output.contains("You have 100 gold."));
+            assertTrue(output.endsWith("Game is exiting...\n\n"));
+        }
+
+        loadGenerator.shutdown();
+        server.close();
+        assertEquals(0, host.getSessionCount());
+        host.shutdown();
+    }
+
+    @Test
+    void assertsTelnetNegotiationIsIgnored() throws Exception {
+        var host = TestGames.createHost();
+        var server = createServer(host);
+        // IAC WILL NAWS, followed by an ordinary line.
+        byte[] script = {(byte) 0xFF, (byte) 0xFB, 0x1F, 'e', 'x', 'i', 't', '\r', '\n'};
+
+        String output = play(server.getPort(), script);
+
+        assertFalse(output.contains("Sorry, I don't understand."));
+        assertTrue(output.endsWith("Game is exiting...\n\n"));
+        server.close();
+        host.shutdown();
+    }
+
+    @Test
+    void assertsTelnetSubnegotiationAndEscapedBytesAreHandled() throws Exception {
+        var host = TestGames.createHost();
+        var server = createServer(host);
+        byte iac = (byte) 0xFF;
+        // A window size of 255 by 24, in which the 255 is escaped as IAC IAC, and then IAC NOP, which is two bytes
+        // long. Each is followed by an ordinary line.
+        byte[] script = {iac, (byte) 0xFA, 0x1F, 0, iac, iac, 0, 24, iac, (byte) 0xF0,
+                'h', 'e', 'l', 'p', '\r', '\n',
+                iac, (byte) 0xF1, 'e', 'x', 'i', 't', '\r', '\n'};
+
+        String output = play(server.getPort(), script);
+
+        assertFalse(output.contains("Sorry, I don't understand."));
+        assertTrue(output.contains("Type one of the following commands"));
+        assertTrue(output.endsWith("Game is exiting...\n\n"));
+        server.close();
+        host.shutdown();
+    }
+
+    @Test
+    void assertsConnectionIsClosedWhenGameThrows() throws Exception {
+        var gameEngine = TestGames.createGame();
+        gameEngine.addCommand(NonCombatEncounter.class, "explode", (engine, encounter) -> {
+            throw new IllegalStateException("The game has crashed.");
+        });
+        var host = GameHost.create(gameEngine);
+        var server = createServer(host);
+
+        String output = play(server.getPort(), "explode\r\n".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(output.endsWith("The game has ended.\n"));
+        assertEquals(0, host.getSessionCount());
+        server.close();
+        host.shutdown();
+    }
+}